@@ -5,6 +5,8 @@
 package main;
 
 import main.boundary.UIEntry;
+import main.controller.project.ProjectManager;
+import main.controller.request.ReservationExpiry;
 
 /**
  * The Main class is the entry point of the program.
@@ -13,11 +15,15 @@ public class Main {
 
     /**
      * The main method is the entry point of the program.
-     * It initializes the UI and starts the program by invoking the start method of the UIEntry class.
+     * It brings the availability of the projects up to date with the workload of their supervisors,
+     * rejects the registrations that expired while the program was not running,
+     * initializes the UI and starts the program by invoking the start method of the UIEntry class.
      *
      * @param args The command line arguments passed to the program (not used in this implementation).
      */
     public static void main(String[] args) {
+        ProjectManager.updateProjectsStatus();
+        ReservationExpiry.expireReservations();
         UIEntry.start();
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package main.boundary.account;
 
 import main.boundary.welcome.Welcome;
+import main.utils.iocontrol.GroupCommit;
 
 /**
  * This class provides a UI for the user to logout.
@@ -10,6 +11,7 @@ public class Logout {
      * Displays a logout page.
      */
     public static void logout() {
+        GroupCommit.flush();
         Welcome.welcome();
         System.exit(0);
     }
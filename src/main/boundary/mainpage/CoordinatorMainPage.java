@@ -5,12 +5,15 @@ import main.boundary.account.Logout;
 import main.boundary.account.ViewUserProfile;
 import main.boundary.modelviewer.ModelViewer;
 import main.boundary.modelviewer.ProjectViewer;
+import main.controller.project.AllocationEngine;
+import main.controller.project.ProjectManager;
 import main.controller.request.CoordinatorManager;
 import main.controller.request.RequestManager;
 import main.model.request.Request;
 import main.model.request.RequestStatus;
 import main.model.request.RequestType;
 import main.model.user.Coordinator;
+import main.model.user.Student;
 import main.model.user.User;
 import main.model.user.UserType;
 import main.repository.user.CoordinatorRepository;
@@ -21,6 +24,11 @@ import main.utils.iocontrol.IntGetter;
 import main.utils.ui.BoundaryStrings;
 import main.utils.ui.ChangePage;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
 
@@ -61,7 +69,7 @@ public class CoordinatorMainPage {
         System.out.println();
         System.out.println("Here are all the requests:");
         System.out.println();
-        ModelViewer.displayListOfDisplayable(CoordinatorManager.getAllRequests());
+        ModelViewer.displayPages(CoordinatorManager.getAllRequestPages());
         System.out.println();
         System.out.println("Press enter to go back.");
         new Scanner(System.in).nextLine();
@@ -85,13 +93,15 @@ public class CoordinatorMainPage {
             System.out.println("\t3. View all projects");
             System.out.println("\t4. View pending requests");
             System.out.println("\t5. View all requests' history and status");
-            if (CoordinatorManager.getAllPendingRequestsCoordinatorCanManage().size() > 0) {
+            if (CoordinatorManager.countPendingRequestsCoordinatorCanManage() > 0) {
                 System.out.println("\t6. Accept or reject requests " + BoundaryStrings.NEW);
             } else {
                 System.out.println("\t6. Accept or reject requests");
             }
-            System.out.println("\t7. Generate project details");
-            System.out.println("\t8. Logout");
+            System.out.println("\t7. Accept or reject requests in bulk");
+            System.out.println("\t8. Allocate projects by students' preferences");
+            System.out.println("\t9. Generate project details");
+            System.out.println("\t10. Logout");
             System.out.println(BoundaryStrings.separator);
 
             System.out.println();
@@ -113,8 +123,10 @@ public class CoordinatorMainPage {
                     case 4 -> viewPendingRequests();
                     case 5 -> viewAllRequests();
                     case 6 -> acceptOrRejectRequest();
-                    case 7 -> generateProjectDetails();
-                    case 8 -> Logout.logout();
+                    case 7 -> acceptOrRejectRequestsInBulk();
+                    case 8 -> allocateProjectsByPreferences();
+                    case 9 -> generateProjectDetails();
+                    case 10 -> Logout.logout();
                     default -> {
                         System.out.println("Invalid choice. Please press <enter> to try again.");
                         new Scanner(System.in).nextLine();
@@ -140,7 +152,7 @@ public class CoordinatorMainPage {
 //        System.out.println(BoundaryStrings.separator);
         System.out.println("Accept or Reject Requests");
         ModelViewer.displayListOfDisplayable(CoordinatorManager.getPendingRequests());
-        System.out.println("Please enter the ID of the request you want to accept or reject. (Enter 0 to go back.)");
+        System.out.println("Please enter the ID of the request you want to accept or reject. (Enter 0 to go back, or [n] for the first request above.)");
 //        System.out.println(BoundaryStrings.separator);
         System.out.print("Please enter your choice: ");
 
@@ -148,7 +160,26 @@ public class CoordinatorMainPage {
         if (requestID.equals("0")) {
             throw new PageBackException();
         }
+        if (requestID.equalsIgnoreCase("n")) {
+            Request first = CoordinatorManager.getNextPendingRequest(null);
+            if (first == null) {
+                System.out.println("There are no pending requests.");
+                System.out.println("Press enter to go back.");
+                new Scanner(System.in).nextLine();
+                throw new PageBackException();
+            }
+            requestID = first.getID();
+        }
+        acceptOrRejectRequest(requestID);
+    }
 
+    /**
+     * Allows the coordinator to accept or reject one request, and then to go on to the next pending request.
+     *
+     * @param requestID the ID of the request.
+     * @throws PageBackException if the user chooses to go back to the previous page.
+     */
+    private static void acceptOrRejectRequest(String requestID) throws PageBackException {
         Request request;
         try {
             request = RequestManager.getRequest(requestID);
@@ -233,9 +264,156 @@ public class CoordinatorMainPage {
         }
         System.out.println("Here is the updated request:");
         ModelViewer.displaySingleDisplayable(request);
+        Request next = CoordinatorManager.getNextPendingRequest(requestID);
+        if (next == null) {
+            System.out.println("Press enter to go back.");
+        } else {
+            System.out.println("Press enter to go back, or enter [n] to go to the next pending request.");
+        }
+        String nextChoice = new Scanner(System.in).nextLine();
+        if (next != null && nextChoice.equalsIgnoreCase("n")) {
+            acceptOrRejectRequest(next.getID());
+        }
+        throw new PageBackException();
+    }
+
+    /**
+     * Allows the coordinator to accept or reject several requests at once.
+     *
+     * @throws PageBackException if the user chooses to go back to the previous page.
+     */
+    private static void acceptOrRejectRequestsInBulk() throws PageBackException {
+        ChangePage.changePage();
+        System.out.println("Accept or Reject Requests in Bulk");
+        List<Request> pendingRequests = CoordinatorManager.getPendingRequests();
+        ModelViewer.displayListOfDisplayable(pendingRequests);
+        System.out.println("Please enter the IDs of the requests you want to accept or reject, separated by spaces or commas.");
+        System.out.println("Enter [all] to select all the pending requests above. (Enter 0 to go back.)");
+        System.out.print("Please enter your choice: ");
+
+        String input = new Scanner(System.in).nextLine().trim();
+        if (input.equals("0") || input.isEmpty()) {
+            throw new PageBackException();
+        }
+
+        List<String> requestIDs = new ArrayList<>();
+        if (input.equalsIgnoreCase("all")) {
+            for (Request request : pendingRequests) {
+                requestIDs.add(request.getID());
+            }
+        } else {
+            for (String requestID : input.split("[\\s,]+")) {
+                if (requestID.isEmpty()) {
+                    continue;
+                }
+                try {
+                    if (RequestManager.getRequest(requestID).getRequestType() == RequestType.STUDENT_CHANGE_TITLE) {
+                        System.out.println(requestID + ": You do not have permission to accept or reject this request.");
+                        continue;
+                    }
+                } catch (ModelNotFoundException e) {
+                    System.out.println(requestID + ": Request not found.");
+                    continue;
+                }
+                requestIDs.add(requestID);
+            }
+        }
+        if (requestIDs.isEmpty()) {
+            System.out.println("No requests selected.");
+            System.out.println("Press enter to go back.");
+            new Scanner(System.in).nextLine();
+            throw new PageBackException();
+        }
+
+        System.out.println(requestIDs.size() + " request(s) selected.");
+        System.out.println("\t1. Approve all selected");
+        System.out.println("\t2. Reject all selected");
+        System.out.println("\t3. Go back");
+        System.out.println("Please enter your choice: ");
+        int choice = IntGetter.readInt();
+        List<RequestManager.RequestOutcome> outcomes = switch (choice) {
+            case 1 -> RequestManager.approveRequests(requestIDs);
+            case 2 -> RequestManager.rejectRequests(requestIDs);
+            default -> throw new PageBackException();
+        };
+
+        ChangePage.changePage();
+        System.out.println("Here are the outcomes:");
+        int succeeded = 0;
+        for (RequestManager.RequestOutcome outcome : outcomes) {
+            if (outcome.succeeded()) {
+                succeeded++;
+            }
+            System.out.println("\t" + outcome.requestID() + ": " + (outcome.succeeded() ? "" : "Failed. ") + outcome.message());
+        }
+        System.out.println(succeeded + " of " + outcomes.size() + " request(s) " + (choice == 1 ? "approved." : "rejected."));
         System.out.println("Press enter to go back.");
         new Scanner(System.in).nextLine();
         throw new PageBackException();
     }
 
+    /**
+     * Allows the coordinator to allocate the available projects to the unregistered students at once,
+     * from the projects each student wants, in order of priority.
+     *
+     * @throws PageBackException if the user chooses to go back to the previous page.
+     */
+    private static void allocateProjectsByPreferences() throws PageBackException {
+        ChangePage.changePage();
+        System.out.println("Allocate Projects by Students' Preferences");
+        System.out.println();
+        System.out.println("Here are the available projects:");
+        ModelViewer.displayListOfDisplayable(ProjectManager.getAllAvailableProject());
+        System.out.println("Here are the unregistered students:");
+        for (Student student : AllocationEngine.getUnregisteredStudents()) {
+            System.out.println("\t" + student.getID() + "\t" + student.getUserName());
+        }
+        System.out.println();
+        System.out.println("Please enter the preferences of one student on each line, in order of priority:");
+        System.out.println("the ID of the student, then the IDs of the projects, most wanted first, separated by spaces or commas.");
+        System.out.println("Enter an empty line when done. (Enter 0 to go back.)");
+
+        Scanner scanner = new Scanner(System.in);
+        Map<String, List<String>> preferencesByStudentID = new LinkedHashMap<>();
+        while (scanner.hasNextLine()) {
+            String line = scanner.nextLine().trim();
+            if (line.equals("0")) {
+                throw new PageBackException();
+            }
+            if (line.isEmpty()) {
+                break;
+            }
+            String[] ids = line.split("[\\s,]+");
+            if (preferencesByStudentID.putIfAbsent(ids[0], Arrays.asList(ids).subList(1, ids.length)) != null) {
+                System.out.println(ids[0] + ": Preferences already entered, this line is ignored.");
+            }
+        }
+        if (preferencesByStudentID.isEmpty()) {
+            throw new PageBackException();
+        }
+
+        Map<String, String> allocation = AllocationEngine.computeAllocation(preferencesByStudentID);
+        System.out.println("Here is the allocation:");
+        for (Map.Entry<String, String> entry : allocation.entrySet()) {
+            System.out.println("\t" + entry.getKey() + ": " + entry.getValue());
+        }
+        System.out.println(allocation.size() + " of " + preferencesByStudentID.size() + " student(s) get a project.");
+        if (allocation.isEmpty()) {
+            System.out.println("Press enter to go back.");
+            new Scanner(System.in).nextLine();
+            throw new PageBackException();
+        }
+        System.out.println("\t1. Allocate");
+        System.out.println("\t2. Go back");
+        System.out.println("Please enter your choice: ");
+        if (IntGetter.readInt() != 1) {
+            throw new PageBackException();
+        }
+
+        allocation = AllocationEngine.allocate(preferencesByStudentID);
+        System.out.println(allocation.size() + " project(s) allocated.");
+        System.out.println("Press enter to go back.");
+        new Scanner(System.in).nextLine();
+        throw new PageBackException();
+    }
 }
@@ -92,7 +92,7 @@ public class StudentMainPage {
     private static void viewHistoryAndStatusOfMyRequest(Student student) throws PageBackException {
         ChangePage.changePage();
         System.out.println("Here is the history and status of your request: ");
-        ModelViewer.displayListOfDisplayable(StudentManager.getStudentRequestHistory(student.getID()));
+        ModelViewer.displayPages(StudentManager.getStudentRequestHistoryPages(student.getID()));
         System.out.println("Press Enter to go back.");
         new Scanner(System.in).nextLine();
         throw new PageBackException();
@@ -241,7 +241,7 @@ public class StudentMainPage {
     private static void viewHistoryAndStatusOfMyProject(Student student) throws PageBackException {
         ChangePage.changePage();
         System.out.println("Here is the history and status of your project: ");
-        ModelViewer.displayListOfDisplayable(StudentManager.getStudentRequestHistory(student.getID()));
+        ModelViewer.displayPages(StudentManager.getStudentRequestHistoryPages(student.getID()));
         System.out.println("Press Enter to go back.");
         new Scanner(System.in).nextLine();
         throw new PageBackException();
@@ -262,7 +262,7 @@ public class StudentMainPage {
             throw new PageBackException();
         }
         System.out.println("Here is the list of available projects: ");
-        ModelViewer.displayListOfDisplayable(ProjectManager.getAllAvailableProject());
+        ProjectViewer.displayListOfProjects(ProjectManager.getAllAvailableProject());
         System.out.print("Please enter the project ID: ");
         String projectID = new Scanner(System.in).nextLine();
         if (ProjectManager.notContainsProjectByID(projectID)) {
@@ -4,6 +4,7 @@ import main.boundary.account.ChangeAccountPassword;
 import main.boundary.account.Logout;
 import main.boundary.account.ViewUserProfile;
 import main.boundary.modelviewer.ModelViewer;
+import main.boundary.modelviewer.ProjectViewer;
 import main.controller.project.ProjectManager;
 import main.controller.request.RequestManager;
 import main.controller.request.SupervisorManager;
@@ -15,6 +16,7 @@ import main.model.request.RequestType;
 import main.model.user.Supervisor;
 import main.model.user.User;
 import main.model.user.UserType;
+import main.repository.Criterion;
 import main.repository.project.ProjectRepository;
 import main.repository.request.RequestRepository;
 import main.repository.user.FacultyRepository;
@@ -52,7 +54,7 @@ public class SupervisorMainPage {
             System.out.println("\t4. View all my projects");
             System.out.println("\t5. Modify title of projects");
             System.out.println("\t6. View all pending student requests");
-            if (SupervisorManager.getPendingRequestsBySupervisor(supervisor.getID()).size() > 0) {
+            if (SupervisorManager.countPendingRequestsBySupervisor(supervisor.getID()) > 0) {
                 System.out.println("\t7. Approve/Reject student requests " + BoundaryStrings.NEW);
             } else {
                 System.out.println("\t7. Approve/Reject student requests");
@@ -107,7 +109,7 @@ public class SupervisorMainPage {
         ChangePage.changePage();
         System.out.println("Viewing all projects....");
         List<Project> projects = ProjectManager.getAllProjectsBySupervisor(supervisor.getID());
-        ModelViewer.displayListOfDisplayable(projects);
+        ProjectViewer.displayListOfProjects(projects);
         System.out.println("Enter enter to go back");
         new Scanner(System.in).nextLine();
         throw new PageBackException();
@@ -260,11 +262,9 @@ public class SupervisorMainPage {
     private static void supervisorChangeProjectTitle(Supervisor supervisor) throws ModelAlreadyExistsException, ModelNotFoundException, PageBackException {
         ChangePage.changePage();
         System.out.println("Changing the title of project....");
-        List<Project> projects = ProjectRepository.getInstance().findByRules(
-                project -> Objects.equals(project.getSupervisorID(), supervisor.getID())
-        );
+        List<Project> projects = ProjectRepository.getInstance().findByIndex(ProjectRepository.SUPERVISOR_ID, supervisor.getID());
         System.out.println("Here are all your projects:");
-        ModelViewer.displayListOfDisplayable(projects);
+        ProjectViewer.displayListOfProjects(projects);
         System.out.print("Enter the project ID to change: ");
         String projectID = new Scanner(System.in).nextLine();
         Project p = ProjectRepository.getInstance().getByID(projectID);
@@ -316,9 +316,9 @@ public class SupervisorMainPage {
         ChangePage.changePage();
         System.out.println("Processing to transfer....");
         System.out.println("Below are all your projects ready for transfer:");
-        List<Project> projects = ProjectRepository.getInstance().findByRules(
-                project -> Objects.equals(project.getSupervisorID(), supervisor.getID()),
-                project -> project.getStatus() == ProjectStatus.ALLOCATED
+        List<Project> projects = ProjectRepository.getInstance().findByCriteria(
+                Criterion.equalTo(ProjectRepository.SUPERVISOR_ID, supervisor.getID()),
+                Criterion.is(ProjectRepository.STATUS, ProjectStatus.ALLOCATED)
         );
         if (projects.isEmpty()) {
             System.out.println("No project available for transfer!");
@@ -326,7 +326,7 @@ public class SupervisorMainPage {
             new Scanner(System.in).nextLine();
             throw new PageBackException();
         }
-        ModelViewer.displayListOfDisplayable(projects);
+        ProjectViewer.displayListOfProjects(projects);
         System.out.println("Enter the project ID to transfer: ");
         Scanner scanner = new Scanner(System.in);
         String projectID = scanner.nextLine();
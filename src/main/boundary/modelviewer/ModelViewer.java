@@ -1,22 +1,45 @@
 package main.boundary.modelviewer;
 
 import main.model.Displayable;
+import main.repository.Repository.Page;
+import main.repository.Repository.PageSource;
+import main.utils.config.Paging;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Scanner;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  The ModelViewer class is responsible for displaying single or lists of objects that implement the Displayable interface.
+ <p>
+ The objects are written into one buffer that is reused across calls, and the buffer is written to the output in large chunks
+ rather than once for each object and splitter.
  */
 public class ModelViewer {
+    /**
+     * The number of characters collected in the buffer before it is written to the output.
+     */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * The buffer that the objects are written into before they are written to the output.
+     */
+    private static final StringBuilder buffer = new StringBuilder(CHUNK_SIZE);
+
     /**
      * Displays a single Displayable object.
      * @param displayable The Displayable object to be displayed.
      */
-    public static void displaySingleDisplayable(Displayable displayable) {
-        System.out.println(displayable.getSplitter());
-        System.out.print(displayable.getDisplayableString());
-        System.out.println(displayable.getSplitter());
+    public static synchronized void displaySingleDisplayable(Displayable displayable) {
+        try {
+            buffer.append(displayable.getSplitter()).append(System.lineSeparator());
+            displayable.appendDisplayableString(buffer);
+            buffer.append(displayable.getSplitter()).append(System.lineSeparator());
+        } finally {
+            flush();
+        }
     }
 
     /**
@@ -24,14 +47,81 @@ public class ModelViewer {
      * @param displayableList The list of Displayable objects to be displayed.
      */
     public static void displayListOfDisplayable(List<? extends Displayable> displayableList) {
+        displayListOfDisplayable(displayableList, (builder, displayable) -> displayable.appendDisplayableString(builder));
+    }
+
+    /**
+     * Displays a list of Displayable objects, each written by the given writer.
+     * @param displayableList The list of Displayable objects to be displayed.
+     * @param writer The writer that appends the formatted string of an object to the buffer.
+     * @param <T> The type of the objects.
+     */
+    public static synchronized <T extends Displayable> void displayListOfDisplayable(List<? extends T> displayableList, BiConsumer<StringBuilder, ? super T> writer) {
         if (Objects.isNull(displayableList) || displayableList.isEmpty()) {
             System.out.println("Nothing found");
             return;
         }
-        System.out.println(displayableList.get(0).getSplitter());
-        for (Displayable displayable : displayableList) {
-            System.out.print(displayable.getDisplayableString());
-            System.out.println(displayable.getSplitter());
+        try {
+            buffer.append(displayableList.get(0).getSplitter()).append(System.lineSeparator());
+            for (T displayable : displayableList) {
+                writer.accept(buffer, displayable);
+                buffer.append(displayable.getSplitter()).append(System.lineSeparator());
+                if (buffer.length() >= CHUNK_SIZE) {
+                    flush();
+                }
+            }
+        } finally {
+            flush();
         }
     }
+
+    /**
+     * Displays a list of Displayable objects one page at a time, and lets the user move to the next or previous page or jump to a page.
+     * Only the page on screen is fetched, so each page takes the same time however long the list is.
+     * @param pageSource The source of the pages of the list.
+     * @param <T> The type of the objects.
+     */
+    public static <T extends Displayable> void displayPages(PageSource<T> pageSource) {
+        displayPages(pageSource, ModelViewer::displayListOfDisplayable);
+    }
+
+    /**
+     * Displays a list of Displayable objects one page at a time, each page displayed by the given displayer.
+     * @param pageSource The source of the pages of the list.
+     * @param pageDisplayer The displayer of the objects on a page.
+     * @param <T> The type of the objects.
+     */
+    public static <T extends Displayable> void displayPages(PageSource<T> pageSource, Consumer<List<T>> pageDisplayer) {
+        int cursor = 0;
+        while (true) {
+            Page<T> page = pageSource.getPage(cursor, Paging.PAGE_SIZE);
+            pageDisplayer.accept(page.items());
+            if (page.pageCount() <= 1) {
+                return;
+            }
+            System.out.println("Page " + (page.number() + 1) + " of " + page.pageCount());
+            System.out.println("Enter [n] for the next page, [p] for the previous page, or a page number to jump to it. (Press enter to stop browsing.)");
+            String input = new Scanner(System.in).nextLine().trim();
+            if (input.isEmpty()) {
+                return;
+            }
+            cursor = page.cursor();
+            if (input.equalsIgnoreCase("n") && page.hasNext()) {
+                cursor = page.nextCursor();
+            } else if (input.equalsIgnoreCase("p") && page.hasPrevious()) {
+                cursor = page.previousCursor();
+            } else if (input.matches("\\d{1,9}")) {
+                cursor = pageSource.getPageCursor(Integer.parseInt(input) - 1, Paging.PAGE_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Writes the buffer to the output and empties it, including what was written before an object failed to display.
+     */
+    private static void flush() {
+        System.out.append(buffer);
+        System.out.flush();
+        buffer.setLength(0);
+    }
 }
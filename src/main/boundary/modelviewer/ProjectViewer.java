@@ -5,23 +5,55 @@ import main.model.project.Project;
 import main.model.project.ProjectStatus;
 import main.model.user.Student;
 import main.model.user.StudentStatus;
+import main.model.user.Supervisor;
 import main.repository.project.ProjectRepository;
 import main.repository.user.FacultyRepository;
+import main.repository.user.StudentRepository;
 import main.utils.exception.ModelNotFoundException;
 import main.utils.exception.PageBackException;
 import main.utils.iocontrol.IntGetter;
 import main.utils.ui.BoundaryStrings;
 import main.utils.ui.ChangePage;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.Set;
 
 /**
  * Displays the project details.
  */
 public class ProjectViewer {
 
+    /**
+     * Displays a list of projects.
+     * The supervisors and students of all the projects are looked up together before any project is displayed.
+     *
+     * @param projects the projects to be displayed.
+     */
+    public static void displayListOfProjects(List<Project> projects) {
+        if (Objects.isNull(projects) || projects.isEmpty()) {
+            System.out.println("Nothing found");
+            return;
+        }
+        Set<String> supervisorIDs = new HashSet<>();
+        Set<String> studentIDs = new HashSet<>();
+        for (Project project : projects) {
+            if (project.getSupervisorID() != null) {
+                supervisorIDs.add(project.getSupervisorID());
+            }
+            if (project.getStudentID() != null) {
+                studentIDs.add(project.getStudentID());
+            }
+        }
+        Map<String, Supervisor> supervisorsByID = FacultyRepository.getInstance().getByIDs(supervisorIDs);
+        Map<String, Student> studentsByID = StudentRepository.getInstance().getByIDs(studentIDs);
+        ModelViewer.displayListOfDisplayable(projects, (builder, project) -> project.appendDisplayableString(builder,
+                supervisorsByID.get(project.getSupervisorID()), studentsByID.get(project.getStudentID())));
+    }
+
     /**
      * Displays a menu to the user to select a project status and returns the selected ProjectStatus enum value. If an invalid option is selected, it prompts the user to retry or go back, and throws a PageBackException if the user chooses to go back.
      *
@@ -97,8 +129,8 @@ public class ProjectViewer {
                 return;
             }
         }
-        List<Project> projectList = ProjectRepository.getInstance().findByRules(p -> p.getSupervisorID().equalsIgnoreCase(s1));
-        ModelViewer.displayListOfDisplayable(projectList);
+        List<Project> projectList = ProjectRepository.getInstance().findByIndex(ProjectRepository.SUPERVISOR_ID, s1);
+        displayListOfProjects(projectList);
         System.out.println("Enter <Enter> to continue");
         new Scanner(System.in).nextLine();
         throw new PageBackException();
@@ -112,7 +144,7 @@ public class ProjectViewer {
     public static void generateDetailsByStudentID() throws PageBackException {
         System.out.println("Enter the StudentID to search");
         String s1 = new Scanner(System.in).nextLine();
-        ModelViewer.displayListOfDisplayable(ProjectRepository.getInstance().findByRules(p -> Objects.equals(p.getStudentID(), s1)));
+        displayListOfProjects(ProjectRepository.getInstance().findByIndex(ProjectRepository.STUDENT_ID, s1));
         System.out.println("Enter <Enter> to continue");
         new Scanner(System.in).nextLine();
         throw new PageBackException();
@@ -125,7 +157,7 @@ public class ProjectViewer {
      */
     public static void generateDetailsByStatus() throws PageBackException {
         ProjectStatus status = getProjectStatus();
-        ModelViewer.displayListOfDisplayable(ProjectRepository.getInstance().findByRules(p -> Objects.equals(p.getStatus(), status)));
+        displayListOfProjects(ProjectManager.getAllProjectByStatus(status));
         System.out.println("Enter <Enter> to continue");
         new Scanner(System.in).nextLine();
         throw new PageBackException();
@@ -180,7 +212,7 @@ public class ProjectViewer {
             System.out.println("You are not allowed to view available projects as you are registered to a project.");
         } else {
             System.out.println("View Available Project List");
-            ModelViewer.displayListOfDisplayable(ProjectManager.viewAvailableProjects());
+            displayListOfProjects(ProjectManager.viewAvailableProjects());
         }
         System.out.println("Press Enter to go back.");
         new Scanner(System.in).nextLine();
@@ -195,7 +227,7 @@ public class ProjectViewer {
     public static void viewAllProject() throws PageBackException {
         ChangePage.changePage();
         System.out.println("View All Project List");
-        ModelViewer.displayListOfDisplayable(ProjectManager.viewAllProject());
+        ModelViewer.displayPages(ProjectManager.getAllProjectPages(), ProjectViewer::displayListOfProjects);
         System.out.println("Press Enter to go back.");
         new Scanner(System.in).nextLine();
         throw new PageBackException();
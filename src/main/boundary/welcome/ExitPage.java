@@ -1,5 +1,6 @@
 package main.boundary.welcome;
 
+import main.utils.iocontrol.GroupCommit;
 import main.utils.ui.ChangePage;
 
 import static main.utils.ui.BoundaryStrings.BYE_LOGO;
@@ -15,6 +16,7 @@ public class ExitPage {
         ChangePage.changePage();
         System.out.println("Thank you for using our system!");
         System.out.println(BYE_LOGO);
+        GroupCommit.flush();
         System.exit(0);
     }
 }
@@ -4,6 +4,7 @@ import main.controller.account.password.PasswordManager;
 import main.controller.account.user.UserAdder;
 import main.controller.account.user.UserFinder;
 import main.controller.account.user.UserUpdater;
+import main.controller.request.ReservationExpiry;
 import main.model.user.*;
 import main.repository.user.CoordinatorRepository;
 import main.repository.user.FacultyRepository;
@@ -27,6 +28,8 @@ public class AccountManager {
      * @param userType the type of the user to be added
      * @param userID   the ID of the user to be added
      * @param password the password of the user to be added
+     * The registrations that have expired are rejected once the password is checked, whatever the type of the user.
+     *
      * @return the user that is added
      * @throws PasswordIncorrectException if the password is incorrect
      * @throws ModelNotFoundException     if the user is not found
@@ -36,6 +39,7 @@ public class AccountManager {
         User user = UserFinder.findUser(userID, userType);
 //        System.err.println("User found: " + user.getUserName() + " " + user.getID());
         if (PasswordManager.checkPassword(user, password)) {
+            ReservationExpiry.expireReservations();
             return user;
         } else {
             throw new PasswordIncorrectException();
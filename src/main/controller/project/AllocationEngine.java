@@ -0,0 +1,120 @@
+package main.controller.project;
+
+import main.controller.request.SupervisorManager;
+import main.model.project.Project;
+import main.model.user.Student;
+import main.model.user.StudentStatus;
+import main.repository.UnitOfWork;
+import main.repository.project.ProjectRepository;
+import main.repository.project.SupervisorWorkload;
+import main.repository.user.FacultyRepository;
+import main.repository.user.StudentRepository;
+import main.utils.exception.ModelNotFoundException;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A class that allocates projects to a whole cohort of students at once
+ * <p>
+ * Each student ranks the projects they want, and the students are given in order of priority. The engine goes
+ * through the students in that order and gives each the first project on their list that is still available and
+ * whose supervisor can still take a student, keeping to {@link SupervisorManager#MAX_NUM_OF_STUDENTS_PER_SUPERVISOR}.
+ * With one order of priority for all projects, this is the only stable allocation: no student prefers a project
+ * that went to a student of lower priority, or that was left free while its supervisor could still take a student.
+ * It takes time proportional to the total length of the lists of preferences.
+ */
+public class AllocationEngine {
+
+    /**
+     * compute the allocation of projects to students without saving it
+     * Only unregistered students, as found by the status index of the students, and available projects are allocated.
+     *
+     * @param preferencesByStudentID the IDs of the projects each student wants, most wanted first,
+     *                               keyed by the ID of the student, in order of priority
+     * @return the ID of the project allocated to each student that gets one, keyed by the ID of the student,
+     * in order of priority
+     */
+    public static Map<String, String> computeAllocation(Map<String, List<String>> preferencesByStudentID) {
+        StudentRepository studentRepository = StudentRepository.getInstance();
+        FacultyRepository facultyRepository = FacultyRepository.getInstance();
+        SupervisorWorkload workload = ProjectRepository.getInstance().getSupervisorWorkload();
+        Map<String, Project> availableProjectsByID = new HashMap<>();
+        for (Project project : ProjectManager.getAllAvailableProject()) {
+            availableProjectsByID.put(project.getID().toLowerCase(Locale.ROOT), project);
+        }
+        BitSet unregisteredPositions = studentRepository.getPositions(StudentRepository.STATUS, StudentStatus.UNREGISTERED);
+        Map<String, Integer> roomBySupervisorID = new HashMap<>();
+        Map<String, String> allocation = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : preferencesByStudentID.entrySet()) {
+            int position = studentRepository.indexOf(entry.getKey());
+            if (position < 0 || !unregisteredPositions.get(position)) {
+                continue;
+            }
+            String studentID;
+            try {
+                studentID = studentRepository.getByID(entry.getKey()).getID();
+            } catch (ModelNotFoundException e) {
+                continue;
+            }
+            for (String projectID : entry.getValue()) {
+                Project project = projectID == null ? null : availableProjectsByID.get(projectID.toLowerCase(Locale.ROOT));
+                if (project == null || project.getSupervisorID() == null) {
+                    continue;
+                }
+                String supervisorID = project.getSupervisorID();
+                int room = roomBySupervisorID.computeIfAbsent(supervisorID.toLowerCase(Locale.ROOT), k ->
+                        facultyRepository.contains(k) ? SupervisorManager.MAX_NUM_OF_STUDENTS_PER_SUPERVISOR - workload.getCount(k) : 0);
+                if (room <= 0) {
+                    continue;
+                }
+                roomBySupervisorID.put(supervisorID.toLowerCase(Locale.ROOT), room - 1);
+                availableProjectsByID.remove(projectID.toLowerCase(Locale.ROOT));
+                allocation.put(studentID, project.getID());
+                unregisteredPositions.clear(position);
+                break;
+            }
+        }
+        return allocation;
+    }
+
+    /**
+     * compute the allocation of projects to students and save it as one batch
+     * Each allocated project is allocated to its student by {@link ProjectManager#allocateProject(String, String)},
+     * and all of them are saved in one unit of work.
+     *
+     * @param preferencesByStudentID the IDs of the projects each student wants, most wanted first,
+     *                               keyed by the ID of the student, in order of priority
+     * @return the ID of the project allocated to each student that gets one, keyed by the ID of the student,
+     * in order of priority
+     * @throws IllegalStateException if a project or student of the allocation was changed by someone else meanwhile
+     */
+    public static Map<String, String> allocate(Map<String, List<String>> preferencesByStudentID) {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Map<String, String> allocation = computeAllocation(preferencesByStudentID);
+            for (Map.Entry<String, String> entry : allocation.entrySet()) {
+                try {
+                    ProjectManager.allocateProject(entry.getValue(), entry.getKey());
+                } catch (ModelNotFoundException e) {
+                    throw new IllegalStateException("Project " + entry.getValue() + " is no longer in the repository");
+                }
+            }
+            unitOfWork.commit();
+            return allocation;
+        }
+    }
+
+    /**
+     * get the students that can be allocated a project
+     *
+     * @return the unregistered students, as found by the status index of the students
+     */
+    public static List<Student> getUnregisteredStudents() {
+        StudentRepository studentRepository = StudentRepository.getInstance();
+        return studentRepository.findByPositions(studentRepository.getPositions(StudentRepository.STATUS, StudentStatus.UNREGISTERED));
+    }
+}
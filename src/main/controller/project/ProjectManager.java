@@ -6,7 +6,11 @@ import main.model.project.ProjectStatus;
 import main.model.user.Student;
 import main.model.user.StudentStatus;
 import main.model.user.Supervisor;
+import main.repository.Repository;
+import main.repository.SequenceAllocator;
+import main.repository.UnitOfWork;
 import main.repository.project.ProjectRepository;
+import main.repository.project.SupervisorWorkload;
 import main.repository.user.FacultyRepository;
 import main.repository.user.StudentRepository;
 import main.utils.config.Location;
@@ -15,15 +19,22 @@ import main.utils.exception.ModelNotFoundException;
 import main.utils.iocontrol.CSVReader;
 import main.utils.parameters.EmptyID;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * A class manages the project
  */
 public class ProjectManager {
 
+    /**
+     * The sequence of the IDs of new projects.
+     */
+    private static final SequenceAllocator PROJECT_IDS = new SequenceAllocator("project", "P", ProjectRepository::getInstance);
+
     /**
      * Change the title of a project
      *
@@ -32,10 +43,13 @@ public class ProjectManager {
      * @throws ModelNotFoundException if the project is not found
      */
     public static void changeProjectTitle(String projectID, String newTitle) throws ModelNotFoundException {
-        Project p1 = ProjectRepository.getInstance().getByID(projectID);
-        p1.setProjectTitle(newTitle);
-        ProjectRepository.getInstance().update(p1);
-        ProjectManager.updateProjectsStatus();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Project p1 = ProjectRepository.getInstance().getByID(projectID);
+            p1.setProjectTitle(newTitle);
+            ProjectRepository.getInstance().update(p1);
+            ProjectManager.updateProjectsStatus();
+            unitOfWork.commit();
+        }
     }
 
     /**
@@ -47,13 +61,23 @@ public class ProjectManager {
         return ProjectRepository.getInstance().getList();
     }
 
+    /**
+     * View the pages of all the projects
+     *
+     * @return the source of the pages of all the projects
+     */
+    public static Repository.PageSource<Project> getAllProjectPages() {
+        return ProjectRepository.getInstance().pages();
+    }
+
     /**
      * View all the projects that are available
      *
      * @return the list of available projects
      */
     public static List<Project> viewAvailableProjects() {
-        return ProjectRepository.getInstance().findByRules(p -> p.getStatus() == ProjectStatus.AVAILABLE);
+        ProjectRepository projectRepository = ProjectRepository.getInstance();
+        return projectRepository.findByPositions(projectRepository.getPositions(ProjectRepository.STATUS, ProjectStatus.AVAILABLE));
     }
 
     /**
@@ -102,23 +126,17 @@ public class ProjectManager {
      * @return the list of all projects
      */
     public static List<Project> getAllProjectByStatus(ProjectStatus projectStatus) {
-        return ProjectRepository.getInstance().findByRules(project -> project.getStatus().equals(projectStatus));
+        ProjectRepository projectRepository = ProjectRepository.getInstance();
+        return projectRepository.findByPositions(projectRepository.getPositions(ProjectRepository.STATUS, projectStatus));
     }
 
     /**
-     * get the list of all projects by supervisor
+     * get the ID of the next project
      *
-     * @return the list of all projects
+     * @return the ID of the next project
      */
     public static String getNewProjectID() {
-        int max = 0;
-        for (Project p : ProjectRepository.getInstance()) {
-            int id = Integer.parseInt(p.getID().substring(1));
-            if (id > max) {
-                max = id;
-            }
-        }
-        return "P" + (max + 1);
+        return PROJECT_IDS.nextID();
     }
 
     /**
@@ -129,20 +147,23 @@ public class ProjectManager {
      * @throws ModelNotFoundException if the project is not found
      */
     public static void transferToNewSupervisor(String projectID, String supervisorID) throws ModelNotFoundException {
-        Project p1 = ProjectRepository.getInstance().getByID(projectID);
-        if (!FacultyRepository.getInstance().contains(supervisorID)) {
-            throw new IllegalStateException("Supervisor Not Found!");
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Project p1 = ProjectRepository.getInstance().getByID(projectID);
+            if (!FacultyRepository.getInstance().contains(supervisorID)) {
+                throw new IllegalStateException("Supervisor Not Found!");
+            }
+            Supervisor oldsupervisor = FacultyRepository.getInstance().getByID(p1.getSupervisorID());
+            Supervisor newsupervisor = FacultyRepository.getInstance().getByID(supervisorID);
+            Student student = StudentRepository.getInstance().getByID(p1.getStudentID());
+            student.setSupervisorID(supervisorID);
+            p1.setSupervisorID(supervisorID);
+            ProjectRepository.getInstance().update(p1);
+            FacultyRepository.getInstance().update(oldsupervisor);
+            FacultyRepository.getInstance().update(newsupervisor);
+            StudentRepository.getInstance().update(student);
+            ProjectManager.updateProjectsStatus();
+            unitOfWork.commit();
         }
-        Supervisor oldsupervisor = FacultyRepository.getInstance().getByID(p1.getSupervisorID());
-        Supervisor newsupervisor = FacultyRepository.getInstance().getByID(supervisorID);
-        Student student = StudentRepository.getInstance().getByID(p1.getStudentID());
-        student.setSupervisorID(supervisorID);
-        p1.setSupervisorID(supervisorID);
-        ProjectRepository.getInstance().update(p1);
-        FacultyRepository.getInstance().update(oldsupervisor);
-        FacultyRepository.getInstance().update(newsupervisor);
-        StudentRepository.getInstance().update(student);
-        ProjectManager.updateProjectsStatus();
     }
 
 
@@ -153,83 +174,103 @@ public class ProjectManager {
      * @throws ModelNotFoundException if the project is not found
      */
     public static void deallocateProject(String projectID) throws ModelNotFoundException {
-        Project p1 = ProjectRepository.getInstance().getByID(projectID);
-        if (p1.getStatus() != ProjectStatus.ALLOCATED) {
-            throw new IllegalStateException("The project status is not ALLOCATED");
-        }
-        Student student;
-        try {
-            student = StudentRepository.getInstance().getByID(p1.getStudentID());
-        } catch (ModelNotFoundException e) {
-            throw new IllegalStateException("Student not found");
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Project p1 = ProjectRepository.getInstance().getByID(projectID);
+            if (p1.getStatus() != ProjectStatus.ALLOCATED) {
+                throw new IllegalStateException("The project status is not ALLOCATED");
+            }
+            Student student;
+            try {
+                student = StudentRepository.getInstance().getByID(p1.getStudentID());
+            } catch (ModelNotFoundException e) {
+                throw new IllegalStateException("Student not found");
+            }
+            String supervisorID = p1.getSupervisorID();
+            Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
+            student.setProjectID(EmptyID.EMPTY_ID);
+            student.setSupervisorID(EmptyID.EMPTY_ID);
+            student.setStatus(StudentStatus.DEREGISTERED);
+            p1.setStudentID(EmptyID.EMPTY_ID);
+            p1.setStatus(ProjectStatus.AVAILABLE);
+            ProjectRepository.getInstance().update(p1);
+            StudentRepository.getInstance().update(student);
+            FacultyRepository.getInstance().update(supervisor);
+            ProjectManager.updateProjectsStatus();
+            unitOfWork.commit();
         }
-        String supervisorID = p1.getSupervisorID();
-        Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
-        student.setProjectID(EmptyID.EMPTY_ID);
-        student.setSupervisorID(EmptyID.EMPTY_ID);
-        student.setStatus(StudentStatus.DEREGISTERED);
-        p1.setStudentID(EmptyID.EMPTY_ID);
-        p1.setStatus(ProjectStatus.AVAILABLE);
-        ProjectRepository.getInstance().update(p1);
-        StudentRepository.getInstance().update(student);
-        FacultyRepository.getInstance().update(supervisor);
-        ProjectManager.updateProjectsStatus();
     }
 
     /**
      * allocate a project
+     * The status of the project is changed only if no one else has changed it since it was read.
      *
      * @param projectID the ID of the project
      * @param studentID the ID of the student
      * @throws ModelNotFoundException if the project is not found
      */
     public static void allocateProject(String projectID, String studentID) throws ModelNotFoundException {
-        Project p1 = ProjectRepository.getInstance().getByID(projectID);
-        Student student;
-        try {
-            student = StudentRepository.getInstance().getByID(studentID);
-        } catch (ModelNotFoundException e) {
-            throw new IllegalStateException("Student not found");
-        }
-        if (p1.getStatus() == ProjectStatus.ALLOCATED) {
-            throw new IllegalStateException("Project is already allocated");
-        }
-        if (student.getStatus() == StudentStatus.REGISTERED) {
-            throw new IllegalStateException("Student is already registered");
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Project p1 = ProjectRepository.getInstance().getByID(projectID);
+            Student student;
+            try {
+                student = StudentRepository.getInstance().getByID(studentID);
+            } catch (ModelNotFoundException e) {
+                throw new IllegalStateException("Student not found");
+            }
+            ProjectStatus status = p1.getStatus();
+            if (status == ProjectStatus.ALLOCATED) {
+                throw new IllegalStateException("Project is already allocated");
+            }
+            if (student.getStatus() == StudentStatus.REGISTERED) {
+                throw new IllegalStateException("Student is already registered");
+            }
+            if (!ProjectRepository.getInstance().compareAndSetStatus(projectID, status, ProjectStatus.ALLOCATED)) {
+                throw new IllegalStateException("Project is already allocated");
+            }
+            p1 = ProjectRepository.getInstance().getByID(projectID);
+            p1.setStudentID(studentID);
+            student.setProjectID(projectID);
+            student.setSupervisorID(p1.getSupervisorID());
+            student.setStatus(StudentStatus.REGISTERED);
+            String supervisorID = p1.getSupervisorID();
+            Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
+            ProjectRepository.getInstance().update(p1);
+            StudentRepository.getInstance().update(student);
+            FacultyRepository.getInstance().update(supervisor);
+            ProjectManager.updateProjectsStatus();
+            unitOfWork.commit();
         }
-        p1.setStatus(ProjectStatus.ALLOCATED);
-        p1.setStudentID(studentID);
-        student.setProjectID(projectID);
-        student.setSupervisorID(p1.getSupervisorID());
-        student.setStatus(StudentStatus.REGISTERED);
-        String supervisorID = p1.getSupervisorID();
-        Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
-        ProjectRepository.getInstance().update(p1);
-        StudentRepository.getInstance().update(student);
-        FacultyRepository.getInstance().update(supervisor);
-        ProjectManager.updateProjectsStatus();
     }
 
     /**
      * load projects from csv resource file
+     * The projects are added together and the statuses of the projects are updated once at the end.
      */
     public static void loadProjects() {
         List<List<String>> projects = CSVReader.read(Location.RESOURCE_LOCATION + "/resources/ProjectList.csv", true);
-        for (List<String> project : projects) {
-            try {
-                String supervisorName = project.get(0);
-                String projectName = project.get(1);
-                List<Supervisor> supervisors = FacultyRepository.getInstance().findByRules(s -> s.checkUsername(supervisorName));
-                if (supervisors.size() == 0) {
-                    System.out.println("Load project " + projectName + " failed: supervisor " + supervisorName + " not found");
-                } else if (supervisors.size() == 1) {
-                    ProjectManager.createProject(projectName, supervisors.get(0).getID());
-                } else {
-                    System.out.println("Load project " + projectName + " failed: multiple supervisors found");
+        Map<String, List<Supervisor>> supervisorsByName = new HashMap<>();
+        for (Supervisor supervisor : FacultyRepository.getInstance()) {
+            supervisorsByName.computeIfAbsent(supervisor.getUserName().toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(supervisor);
+        }
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            for (List<String> project : projects) {
+                try {
+                    String supervisorName = project.get(0);
+                    String projectName = project.get(1);
+                    List<Supervisor> supervisors = supervisorsByName.getOrDefault(supervisorName.toLowerCase(Locale.ROOT), List.of());
+                    if (supervisors.size() == 0) {
+                        System.out.println("Load project " + projectName + " failed: supervisor " + supervisorName + " not found");
+                    } else if (supervisors.size() == 1) {
+                        ProjectRepository.getInstance().add(new Project(getNewProjectID(), projectName, supervisors.get(0).getID()));
+                    } else {
+                        System.out.println("Load project " + projectName + " failed: multiple supervisors found");
+                    }
+                } catch (ModelAlreadyExistsException e) {
+                    e.printStackTrace();
                 }
-            } catch (ModelAlreadyExistsException e) {
-                e.printStackTrace();
             }
+            ProjectManager.updateProjectsStatus();
+            unitOfWork.commit();
         }
     }
 
@@ -297,7 +338,8 @@ public class ProjectManager {
      * @return all available projects
      */
     public static List<Project> getAllAvailableProject() {
-        return ProjectRepository.getInstance().findByRules(p -> p.getStatus() == ProjectStatus.AVAILABLE);
+        ProjectRepository projectRepository = ProjectRepository.getInstance();
+        return projectRepository.findByPositions(projectRepository.getPositions(ProjectRepository.STATUS, ProjectStatus.AVAILABLE));
     }
 
     /**
@@ -317,27 +359,59 @@ public class ProjectManager {
      * @return all projects by supervisor
      */
     public static List<Project> getAllProjectsBySupervisor(String supervisorID) {
-        return ProjectRepository.getInstance().findByRules(p -> p.getSupervisorID().equalsIgnoreCase(supervisorID));
+        return ProjectRepository.getInstance().findByIndex(ProjectRepository.SUPERVISOR_ID, supervisorID);
     }
 
     /**
-     * update the status of all projects
+     * update the status of the projects whose supervisor has changed
+     * A project is unavailable when its supervisor supervises the maximum number of students, and available otherwise.
+     * Only the projects of the supervisors whose workload has changed since the last update are looked at,
+     * and only the projects whose status changes are saved.
+     * If the update fails, the supervisors are remembered as changed, so that the next update looks at them again.
      */
     public static void updateProjectsStatus() {
-        List<Supervisor> supervisors = SupervisorManager.getAllUnavailableSupervisors();
-        Set<String> supervisorIDs = new HashSet<>();
-        for (Supervisor supervisor : supervisors) {
-            supervisorIDs.add(supervisor.getID());
-        }
-        List<Project> projects = ProjectRepository.getInstance().getList();
-        for (Project project : projects) {
-            if (supervisorIDs.contains(project.getSupervisorID()) && project.getStatus() == ProjectStatus.AVAILABLE) {
-                project.setStatus(ProjectStatus.UNAVAILABLE);
+        ProjectRepository projectRepository = ProjectRepository.getInstance();
+        FacultyRepository facultyRepository = FacultyRepository.getInstance();
+        SupervisorWorkload workload = projectRepository.getSupervisorWorkload();
+        List<String> supervisorIDs = workload.takeChangedSupervisorIDs();
+        boolean updated = false;
+        try {
+            updateProjectsStatus(projectRepository, facultyRepository, workload, supervisorIDs);
+            updated = true;
+        } finally {
+            if (!updated) {
+                workload.putBackChangedSupervisorIDs(supervisorIDs);
             }
-            if (!supervisorIDs.contains(project.getSupervisorID()) && project.getStatus() == ProjectStatus.UNAVAILABLE) {
-                project.setStatus(ProjectStatus.AVAILABLE);
+        }
+    }
+
+    /**
+     * update the status of the projects of some supervisors
+     *
+     * @param projectRepository the repository of the projects
+     * @param facultyRepository the repository of the supervisors
+     * @param workload          the workload of the supervisors
+     * @param supervisorIDs     the IDs of the supervisors in lower case
+     */
+    private static void updateProjectsStatus(ProjectRepository projectRepository, FacultyRepository facultyRepository,
+                                             SupervisorWorkload workload, List<String> supervisorIDs) {
+        for (String supervisorID : supervisorIDs) {
+            boolean unavailable = facultyRepository.contains(supervisorID) &&
+                    workload.getCount(supervisorID) >= SupervisorManager.MAX_NUM_OF_STUDENTS_PER_SUPERVISOR;
+            for (Project project : projectRepository.findByIndex(ProjectRepository.SUPERVISOR_ID, supervisorID)) {
+                if (unavailable && project.getStatus() == ProjectStatus.AVAILABLE) {
+                    project.setStatus(ProjectStatus.UNAVAILABLE);
+                } else if (!unavailable && project.getStatus() == ProjectStatus.UNAVAILABLE) {
+                    project.setStatus(ProjectStatus.AVAILABLE);
+                } else {
+                    continue;
+                }
+                try {
+                    projectRepository.update(project);
+                } catch (ModelNotFoundException e) {
+                    throw new IllegalStateException("Project " + project.getID() + " is no longer in the repository");
+                }
             }
         }
-        ProjectRepository.getInstance().updateAll(projects);
     }
 }
@@ -5,10 +5,11 @@ import main.model.project.Project;
 import main.model.project.ProjectStatus;
 import main.model.request.Request;
 import main.model.request.RequestStatus;
-import main.model.request.RequestType;
 import main.model.user.Student;
 import main.model.user.StudentStatus;
 import main.model.user.Supervisor;
+import main.repository.Repository;
+import main.repository.UnitOfWork;
 import main.repository.project.ProjectRepository;
 import main.repository.request.RequestRepository;
 import main.repository.user.FacultyRepository;
@@ -34,22 +35,25 @@ public class CoordinatorManager {
      * @throws StudentStatusException if the student is not registered
      */
     public static void approveDeregisterStudent(String studentID, String projectID, String supervisorID) throws ModelNotFoundException, IllegalStateException, StudentStatusException {
-        Student student = StudentRepository.getInstance().getByID(studentID);
-        Project project = ProjectRepository.getInstance().getByID(projectID);
-        Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
-        if (student.getStatus() != StudentStatus.REGISTERED) {
-            throw new StudentStatusException(student.getStatus());
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Student student = StudentRepository.getInstance().getByID(studentID);
+            Project project = ProjectRepository.getInstance().getByID(projectID);
+            Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
+            if (student.getStatus() != StudentStatus.REGISTERED) {
+                throw new StudentStatusException(student.getStatus());
+            }
+            if (project.getStatus() != ProjectStatus.ALLOCATED) {
+                throw new IllegalStateException("Project has not been allocated to a student yet");
+            }
+            student.setStatus(StudentStatus.DEREGISTERED);
+            project.setStudentID(null);
+            project.setSupervisorID(null);
+            project.setStatus(ProjectStatus.AVAILABLE);
+            ProjectRepository.getInstance().update(project);
+            StudentRepository.getInstance().update(student);
+            ProjectManager.updateProjectsStatus();
+            unitOfWork.commit();
         }
-        if (project.getStatus() != ProjectStatus.ALLOCATED) {
-            throw new IllegalStateException("Project has not been allocated to a student yet");
-        }
-        student.setStatus(StudentStatus.DEREGISTERED);
-        project.setStudentID(null);
-        project.setSupervisorID(null);
-        project.setStatus(ProjectStatus.AVAILABLE);
-        ProjectRepository.getInstance().update(project);
-        StudentRepository.getInstance().update(student);
-        ProjectManager.updateProjectsStatus();
     }
 
     /**
@@ -61,16 +65,19 @@ public class CoordinatorManager {
      * @throws ModelNotFoundException if the student, project or supervisor is not found
      */
     public static void approveRegisterStudent(String studentID, String projectID, String supervisorID) throws ModelNotFoundException {
-        Student student = StudentRepository.getInstance().getByID(studentID);
-        Project project = ProjectRepository.getInstance().getByID(projectID);
-        Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
-        student.setStatus(StudentStatus.REGISTERED);
-        project.setStudentID(studentID);
-        project.setSupervisorID(supervisorID);
-        project.setStatus(ProjectStatus.ALLOCATED);
-        ProjectRepository.getInstance().update(project);
-        StudentRepository.getInstance().update(student);
-        ProjectManager.updateProjectsStatus();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Student student = StudentRepository.getInstance().getByID(studentID);
+            Project project = ProjectRepository.getInstance().getByID(projectID);
+            Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
+            student.setStatus(StudentStatus.REGISTERED);
+            project.setStudentID(studentID);
+            project.setSupervisorID(supervisorID);
+            project.setStatus(ProjectStatus.ALLOCATED);
+            ProjectRepository.getInstance().update(project);
+            StudentRepository.getInstance().update(student);
+            ProjectManager.updateProjectsStatus();
+            unitOfWork.commit();
+        }
     }
 
     /**
@@ -82,16 +89,19 @@ public class CoordinatorManager {
      * @throws ModelNotFoundException if the student, project or supervisor is not found
      */
     public static void rejectRegisterStudent(String studentID, String projectID, String supervisorID) throws ModelNotFoundException {
-        Student student = StudentRepository.getInstance().getByID(studentID);
-        Project project = ProjectRepository.getInstance().getByID(projectID);
-        Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
-        student.setStatus(StudentStatus.UNREGISTERED);
-        project.setStudentID(null);
-        project.setSupervisorID(null);
-        project.setStatus(ProjectStatus.AVAILABLE);
-        ProjectRepository.getInstance().update(project);
-        StudentRepository.getInstance().update(student);
-        ProjectManager.updateProjectsStatus();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Student student = StudentRepository.getInstance().getByID(studentID);
+            Project project = ProjectRepository.getInstance().getByID(projectID);
+            Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
+            student.setStatus(StudentStatus.UNREGISTERED);
+            project.setStudentID(null);
+            project.setSupervisorID(null);
+            project.setStatus(ProjectStatus.AVAILABLE);
+            ProjectRepository.getInstance().update(project);
+            StudentRepository.getInstance().update(student);
+            ProjectManager.updateProjectsStatus();
+            unitOfWork.commit();
+        }
     }
 
     /**
@@ -119,23 +129,54 @@ public class CoordinatorManager {
         return RequestRepository.getInstance().getList();
     }
 
+    /**
+     * get the pages of all the requests
+     *
+     * @return the source of the pages of all the requests
+     */
+    public static Repository.PageSource<Request> getAllRequestPages() {
+        return RequestRepository.getInstance().pages();
+    }
+
     /**
      * get all the pending requests
      *
      * @return a list of pending requests
      */
     public static List<Request> getPendingRequests() {
-        return RequestRepository.getInstance().findByRules(request -> request.getStatus() == RequestStatus.PENDING && request.getRequestType() != RequestType.STUDENT_CHANGE_TITLE);
+        return getAllPendingRequestsCoordinatorCanManage();
     }
 
     /**
      * get all the pending requests that the coordinator can manage
+     * The requests are ordered by type and then by age, oldest first.
      *
      * @return a list of pending requests
      */
     public static List<Request> getAllPendingRequestsCoordinatorCanManage() {
-        return RequestRepository.getInstance().findByRules(
-                request -> request.getStatus() == RequestStatus.PENDING,
-                request -> request.getRequestType() != RequestType.STUDENT_CHANGE_TITLE);
+        RequestRepository requestRepository = RequestRepository.getInstance();
+        return requestRepository.findByPositions(requestRepository.getPendingQueues().getCoordinatorQueue());
+    }
+
+    /**
+     * count the pending requests that the coordinator can manage
+     * The count is kept as requests are made and decided, so this takes constant time.
+     *
+     * @return the number of pending requests
+     */
+    public static int countPendingRequestsCoordinatorCanManage() {
+        return RequestRepository.getInstance().getPendingQueues().getCoordinatorCount();
+    }
+
+    /**
+     * get the pending request that the coordinator can manage after a request, in the order of the pending requests
+     *
+     * @param requestID the ID of the current request, or null to get the first pending request
+     * @return the next pending request, or null if there is none
+     */
+    public static Request getNextPendingRequest(String requestID) {
+        RequestRepository requestRepository = RequestRepository.getInstance();
+        int position = requestRepository.getPendingQueues().getNextInCoordinatorQueue(requestRepository.indexOf(requestID));
+        return position < 0 ? null : requestRepository.findByPositions(List.of(position)).get(0);
     }
 }
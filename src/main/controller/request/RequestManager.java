@@ -6,15 +6,20 @@ import main.model.project.ProjectStatus;
 import main.model.request.*;
 import main.model.user.Student;
 import main.model.user.StudentStatus;
-import main.model.user.Supervisor;
+import main.repository.SequenceAllocator;
+import main.repository.UnitOfWork;
 import main.repository.project.ProjectRepository;
 import main.repository.request.RequestRepository;
-import main.repository.user.FacultyRepository;
 import main.repository.user.StudentRepository;
 import main.utils.exception.ModelNotFoundException;
 import main.utils.exception.PageBackException;
 import main.utils.exception.SupervisorStudentsLimitExceedException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
 
@@ -22,20 +27,18 @@ import java.util.Scanner;
  * RequestManager class
  */
 public class RequestManager {
+    /**
+     * The sequence of the IDs of new requests.
+     */
+    private static final SequenceAllocator REQUEST_IDS = new SequenceAllocator("request", "R", RequestRepository::getInstance);
+
     /**
      * get the request ID of the next request
      *
      * @return the request ID of the next request
      */
     public static String getNewRequestID() {
-        int max = 0;
-        for (Request p : RequestRepository.getInstance()) {
-            int id = Integer.parseInt(p.getID().substring(1));
-            if (id > max) {
-                max = id;
-            }
-        }
-        return "R" + (max + 1);
+        return REQUEST_IDS.nextID();
     }
 
     /**
@@ -45,12 +48,8 @@ public class RequestManager {
      */
     public static void approveRequestForStatus(String requestID) throws ModelNotFoundException {
         Request r1 = RequestRepository.getInstance().getByID(requestID);
-        try {
-            r1.setStatus(RequestStatus.APPROVED);
-            RequestRepository.getInstance().update(r1);
-        } catch (ModelNotFoundException e) {
-            e.printStackTrace();
-        }
+        r1.setStatus(RequestStatus.APPROVED);
+        RequestRepository.getInstance().update(r1);
     }
 
     /**
@@ -60,29 +59,22 @@ public class RequestManager {
      */
     public static void rejectRequestForStatus(String requestID) throws ModelNotFoundException {
         Request r1 = RequestRepository.getInstance().getByID(requestID);
-        try {
-            r1.setStatus(RequestStatus.DENIED);
-            RequestRepository.getInstance().update(r1);
-        } catch (ModelNotFoundException e) {
-            e.printStackTrace();
-        }
+        r1.setStatus(RequestStatus.DENIED);
+        RequestRepository.getInstance().update(r1);
     }
 
     /**
      * approve the request of student change title
      *
      * @param request the request of student change title
+     * @throws ModelNotFoundException   if the project is not found
      * @throws IllegalArgumentException if the request is not a StudentChangeTitleRequest
      */
-    private static void approveStudentChangeTitleRequest(Request request) {
+    private static void approveStudentChangeTitleRequest(Request request) throws ModelNotFoundException {
         if (request instanceof StudentChangeTitleRequest studentChangeTitleRequest) {
             String projectID = studentChangeTitleRequest.getProjectID();
             String newTitle = studentChangeTitleRequest.getNewTitle();
-            try {
-                ProjectManager.changeProjectTitle(projectID, newTitle);
-            } catch (ModelNotFoundException e) {
-                e.printStackTrace();
-            }
+            ProjectManager.changeProjectTitle(projectID, newTitle);
         } else {
             throw new IllegalArgumentException("Request is not a StudentChangeTitleRequest");
         }
@@ -92,21 +84,18 @@ public class RequestManager {
      * approve the request of supervisor to transfer student
      * @param request the request of supervisor to transfer student
      *
+     * @throws ModelNotFoundException if the project, student or a supervisor is not found
      * @throws SupervisorStudentsLimitExceedException if the supervisor has reached the maximum number of students
      * @throws IllegalArgumentException if the request is not a TransferStudentRequest
      */
-    private static void approveTransferStudentRequest(Request request) throws SupervisorStudentsLimitExceedException {
+    private static void approveTransferStudentRequest(Request request) throws ModelNotFoundException, SupervisorStudentsLimitExceedException {
         if (request instanceof TransferStudentRequest transferStudentRequest) {
             String projectID = transferStudentRequest.getProjectID();
             String newSupervisorID = transferStudentRequest.getNewSupervisorID();
             if (SupervisorManager.getNumOfStudents(newSupervisorID) >= SupervisorManager.MAX_NUM_OF_STUDENTS_PER_SUPERVISOR) {
                 throw new SupervisorStudentsLimitExceedException();
             }
-            try {
-                ProjectManager.transferToNewSupervisor(projectID, newSupervisorID);
-            } catch (ModelNotFoundException e) {
-                e.printStackTrace();
-            }
+            ProjectManager.transferToNewSupervisor(projectID, newSupervisorID);
         } else {
             throw new IllegalArgumentException("Request is not a TransferStudentRequest");
         }
@@ -116,16 +105,13 @@ public class RequestManager {
      * approve the request of student deregistration
      *
      * @param request the request of student deregistration
+     * @throws ModelNotFoundException   if the project or its supervisor is not found
      * @throws IllegalArgumentException if the request is not a StudentDeregistrationRequest
      */
-    private static void approveStudentDeregistrationRequest(Request request) {
+    private static void approveStudentDeregistrationRequest(Request request) throws ModelNotFoundException {
         if (request instanceof StudentDeregistrationRequest studentDeregistrationRequest) {
             String projectID = studentDeregistrationRequest.getProjectID();
-            try {
-                ProjectManager.deallocateProject(projectID);
-            } catch (ModelNotFoundException e) {
-                e.printStackTrace();
-            }
+            ProjectManager.deallocateProject(projectID);
         } else {
             throw new IllegalArgumentException("Request is not a StudentDeregistrationRequest");
         }
@@ -135,21 +121,16 @@ public class RequestManager {
      * approve the request of student registration
      * @param request the request of student registration
      *
-     * @throws ModelNotFoundException if the project or supervisor is not found
+     * The project is allocated to the student with the supervisor of the project.
+     *
+     * @throws ModelNotFoundException if the project or its supervisor is not found
      * @throws IllegalArgumentException if the request is not a StudentRegistrationRequest
      */
     private static void approveStudentRegistrationRequest(Request request) throws ModelNotFoundException {
         if (request instanceof StudentRegistrationRequest studentRegistrationRequest) {
             String projectID = studentRegistrationRequest.getProjectID();
             String studentID = studentRegistrationRequest.getStudentID();
-            String supervisorID = studentRegistrationRequest.getSupervisorID();
-            Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
-            try {
-                ProjectManager.allocateProject(projectID, studentID);
-            } catch (ModelNotFoundException e) {
-                e.printStackTrace();
-            }
-
+            ProjectManager.allocateProject(projectID, studentID);
         } else {
             throw new IllegalArgumentException("Request is not a StudentRegistrationRequest");
         }
@@ -191,22 +172,19 @@ public class RequestManager {
      * reject the request of student registration
      * @param request the request of student registration
      *
+     * @throws ModelNotFoundException if the student or project is not found
      */
-    private static void rejectStudentRegistrationRequest(Request request) {
+    private static void rejectStudentRegistrationRequest(Request request) throws ModelNotFoundException {
         if (request instanceof StudentRegistrationRequest studentRegistrationRequest) {
             String projectID = studentRegistrationRequest.getProjectID();
             String studentID = studentRegistrationRequest.getStudentID();
-            try {
-                Student student = StudentManager.getByID(studentID);
-                student.setStatus(StudentStatus.UNREGISTERED);
-                StudentRepository.getInstance().update(student);
-                Project project = ProjectManager.getByID(projectID);
-                project.setStatus(ProjectStatus.AVAILABLE);
-                ProjectRepository.getInstance().update(project);
-                ProjectManager.updateProjectsStatus();
-            } catch (ModelNotFoundException e) {
-                e.printStackTrace();
-            }
+            Student student = StudentManager.getByID(studentID);
+            student.setStatus(StudentStatus.UNREGISTERED);
+            StudentRepository.getInstance().update(student);
+            Project project = ProjectManager.getByID(projectID);
+            project.setStatus(ProjectStatus.AVAILABLE);
+            ProjectRepository.getInstance().update(project);
+            ProjectManager.updateProjectsStatus();
         } else {
             throw new IllegalArgumentException("Request is not a StudentRegistrationRequest");
         }
@@ -235,6 +213,91 @@ public class RequestManager {
         }
     }
 
+    /**
+     * approve a batch of requests
+     * The requests are approved together and saved in one unit of work. A request that cannot be approved is
+     * left as it is and reported, and does not keep the other requests from being approved.
+     *
+     * @param requestIDs the IDs of the requests
+     * @return the outcome of each request, in the order of the IDs, with a repeated ID reported once
+     */
+    public static List<RequestOutcome> approveRequests(Collection<String> requestIDs) {
+        return decideRequests(requestIDs, request -> {
+            approveRequest(request);
+            approveRequestForStatus(request.getID());
+        });
+    }
+
+    /**
+     * reject a batch of requests
+     * The requests are rejected together and saved in one unit of work. A request that cannot be rejected is
+     * left as it is and reported, and does not keep the other requests from being rejected.
+     *
+     * @param requestIDs the IDs of the requests
+     * @return the outcome of each request, in the order of the IDs, with a repeated ID reported once
+     */
+    public static List<RequestOutcome> rejectRequests(Collection<String> requestIDs) {
+        return decideRequests(requestIDs, request -> {
+            if (request.getRequestType() == RequestType.STUDENT_REGISTRATION) {
+                rejectStudentRegistrationRequest(request);
+            }
+            rejectRequestForStatus(request.getID());
+        });
+    }
+
+    /**
+     * decide a batch of pending requests in one unit of work
+     * Each request is decided in a savepoint of the unit of work, against the repositories as the requests before it
+     * left them. A request that cannot be decided, for whatever reason, has its savepoint rolled back and is reported
+     * with the reason, and the other requests are still decided and saved.
+     *
+     * @param requestIDs the IDs of the requests
+     * @param decision   the decision to apply to each request
+     * @return the outcome of each request, in the order of the IDs, with a repeated ID reported once
+     */
+    private static List<RequestOutcome> decideRequests(Collection<String> requestIDs, RequestDecision decision) {
+        Map<String, RequestOutcome> outcomes = new LinkedHashMap<>();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            for (String requestID : requestIDs) {
+                if (outcomes.containsKey(requestID)) {
+                    continue;
+                }
+                Request request;
+                try {
+                    request = RequestRepository.getInstance().getByID(requestID);
+                } catch (ModelNotFoundException e) {
+                    outcomes.put(requestID, new RequestOutcome(requestID, false, "Request not found."));
+                    continue;
+                }
+                if (request.getStatus() != RequestStatus.PENDING) {
+                    outcomes.put(requestID, new RequestOutcome(requestID, false, "Request is not pending."));
+                    continue;
+                }
+                outcomes.put(requestID, decideRequest(request, decision));
+            }
+            unitOfWork.commit();
+        }
+        return new ArrayList<>(outcomes.values());
+    }
+
+    /**
+     * decide one pending request of a batch in its own savepoint
+     *
+     * @param request  the request
+     * @param decision the decision to apply to the request
+     * @return the outcome of the request
+     */
+    private static RequestOutcome decideRequest(Request request, RequestDecision decision) {
+        try (UnitOfWork savepoint = UnitOfWork.savepoint()) {
+            decision.decide(request);
+            savepoint.commit();
+            return new RequestOutcome(request.getID(), true, "Done.");
+        } catch (ModelNotFoundException | SupervisorStudentsLimitExceedException | RuntimeException e) {
+            String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            return new RequestOutcome(request.getID(), false, message);
+        }
+    }
+
     /**
      * get a request by ID
      * @param requestID the request ID
@@ -244,4 +307,28 @@ public class RequestManager {
     public static Request getRequest(String requestID) throws ModelNotFoundException {
         return RequestRepository.getInstance().getByID(requestID);
     }
+
+    /**
+     * The outcome of deciding one request of a batch.
+     *
+     * @param requestID the ID of the request
+     * @param succeeded whether the request was decided
+     * @param message   what happened to the request
+     */
+    public record RequestOutcome(String requestID, boolean succeeded, String message) {
+    }
+
+    /**
+     * A decision applied to each request of a batch.
+     */
+    private interface RequestDecision {
+        /**
+         * Applies the decision to a pending request.
+         *
+         * @param request the request
+         * @throws ModelNotFoundException                 if a model object that the request names is not found
+         * @throws SupervisorStudentsLimitExceedException if the supervisor has reached the maximum number of students
+         */
+        void decide(Request request) throws ModelNotFoundException, SupervisorStudentsLimitExceedException;
+    }
 }
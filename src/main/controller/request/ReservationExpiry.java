@@ -0,0 +1,42 @@
+package main.controller.request;
+
+import main.repository.request.RequestRepository;
+import main.utils.config.Reservation;
+
+import java.util.List;
+
+/**
+ * ReservationExpiry class
+ * <p>
+ * A registration request reserves its project and keeps its student pending until it is approved or rejected.
+ * A registration that is still pending {@link Reservation#TIMEOUT_MILLIS} milliseconds after it was made is rejected
+ * as by {@link RequestManager#rejectRequests}, which releases its project and student. The deadlines are kept by
+ * the {@link RequestRepository}, and are checked on the thread of the console when the program starts and each time
+ * a user of any type logs in, so the rejections never run at the same time as a change made by the user.
+ */
+public class ReservationExpiry {
+    /**
+     * reject the registrations whose deadline has passed by now
+     *
+     * @return the outcome of each registration rejected, in order of deadline
+     * @throws RuntimeException if the rejections could not be saved
+     */
+    public static List<RequestManager.RequestOutcome> expireReservations() {
+        return expireReservations(System.currentTimeMillis());
+    }
+
+    /**
+     * reject the registrations whose deadline has passed
+     * This takes time proportional to the number of registrations rejected.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @return the outcome of each registration rejected, in order of deadline
+     */
+    public static List<RequestManager.RequestOutcome> expireReservations(long nowMillis) {
+        List<String> requestIDs = RequestRepository.getInstance().getReservationDeadlines().takeExpired(nowMillis);
+        if (requestIDs.isEmpty()) {
+            return List.of();
+        }
+        return RequestManager.rejectRequests(requestIDs);
+    }
+}
@@ -9,6 +9,8 @@ import main.model.request.StudentDeregistrationRequest;
 import main.model.request.StudentRegistrationRequest;
 import main.model.user.Student;
 import main.model.user.StudentStatus;
+import main.repository.Repository;
+import main.repository.UnitOfWork;
 import main.repository.project.ProjectRepository;
 import main.repository.request.RequestRepository;
 import main.repository.user.StudentRepository;
@@ -40,7 +42,7 @@ public class StudentManager {
         if (project.getStatus() != ProjectStatus.ALLOCATED) {
             throw new IllegalStateException("Project is not allocated");
         }
-        if (!project.getStudentID().equals(studentID)) {
+        if (!studentID.equals(project.getStudentID())) {
             throw new IllegalStateException("Student is not allocated to this project");
         }
         if (student.getStatus() == StudentStatus.UNREGISTERED) {
@@ -65,28 +67,31 @@ public class StudentManager {
      * @throws ModelAlreadyExistsException if the request already exists
      */
     public static String registerStudent(String projectID, String studentID) throws ModelNotFoundException, StudentStatusException, IllegalStateException, ModelAlreadyExistsException {
-
-        Project project = ProjectRepository.getInstance().getByID(projectID);
-        Student student = StudentRepository.getInstance().getByID(studentID);
-        if (project.getStatus() != ProjectStatus.AVAILABLE) {
-            throw new IllegalStateException("Project is not available");
-        }
-        if (student.getStatus() == StudentStatus.REGISTERED) {
-            throw new StudentStatusException(student.getStatus());
-        }
-        if (student.getStatus() == StudentStatus.DEREGISTERED) {
-            throw new StudentStatusException(student.getStatus());
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Project project = ProjectRepository.getInstance().getByID(projectID);
+            Student student = StudentRepository.getInstance().getByID(studentID);
+            if (project.getStatus() != ProjectStatus.AVAILABLE) {
+                throw new IllegalStateException("Project is not available");
+            }
+            if (student.getStatus() == StudentStatus.REGISTERED) {
+                throw new StudentStatusException(student.getStatus());
+            }
+            if (student.getStatus() == StudentStatus.DEREGISTERED) {
+                throw new StudentStatusException(student.getStatus());
+            }
+            if (!ProjectRepository.getInstance().compareAndSetStatus(projectID, ProjectStatus.AVAILABLE, ProjectStatus.RESERVED)) {
+                throw new IllegalStateException("Project is not available");
+            }
+            String requestID = RequestManager.getNewRequestID();
+            String supervisorID = project.getSupervisorID();
+            Request request = new StudentRegistrationRequest(requestID, studentID, supervisorID, projectID);
+            student.setStatus(StudentStatus.PENDING);
+            StudentRepository.getInstance().update(student);
+            RequestRepository.getInstance().add(request);
+            ProjectManager.updateProjectsStatus();
+            unitOfWork.commit();
+            return requestID;
         }
-        String requestID = RequestManager.getNewRequestID();
-        String supervisorID = project.getSupervisorID();
-        Request request = new StudentRegistrationRequest(requestID, studentID, supervisorID, projectID);
-        project.setStatus(ProjectStatus.RESERVED);
-        ProjectRepository.getInstance().update(project);
-        student.setStatus(StudentStatus.PENDING);
-        StudentRepository.getInstance().update(student);
-        RequestRepository.getInstance().add(request);
-        ProjectManager.updateProjectsStatus();
-        return requestID;
     }
 
     /**
@@ -114,7 +119,16 @@ public class StudentManager {
      */
     public static List<Request> getStudentRequestHistory(String studentID) {
 //        System.err.println("StudentRequestManager.getStudentRequestHistory studentID = " + studentID);
-        return RequestRepository.getInstance().findByRules(request -> request.getStudentID().equals(studentID));
+        return RequestRepository.getInstance().findByIndex(RequestRepository.STUDENT_ID, studentID);
+    }
+
+    /**
+     * get the pages of the request history of a student
+     * @param studentID the student ID
+     * @return the source of the pages of the requests of the student
+     */
+    public static Repository.PageSource<Request> getStudentRequestHistoryPages(String studentID) {
+        return RequestRepository.getInstance().pagesByIndex(RequestRepository.STUDENT_ID, studentID);
     }
 
     /**
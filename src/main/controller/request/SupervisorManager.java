@@ -1,19 +1,19 @@
 package main.controller.request;
 
-import main.model.project.ProjectStatus;
 import main.model.request.Request;
-import main.model.request.RequestStatus;
 import main.model.request.RequestType;
 import main.model.request.TransferStudentRequest;
 import main.model.user.Supervisor;
+import main.repository.Criterion;
 import main.repository.project.ProjectRepository;
+import main.repository.project.SupervisorWorkload;
 import main.repository.request.RequestRepository;
 import main.repository.user.FacultyRepository;
 import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.exception.ModelNotFoundException;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * SupervisorManager class
@@ -53,6 +53,7 @@ public class SupervisorManager {
 
     /**
      * get all pending requests by supervisor
+     * The requests are ordered by type and then by age, oldest first.
      * @param supervisorID the supervisor ID of the supervisor that is going to view all pending requests
      * @return list of pending requests
      */
@@ -60,11 +61,31 @@ public class SupervisorManager {
         if (!FacultyRepository.getInstance().contains(supervisorID)) {
             throw new IllegalArgumentException("Supervisor does not exist");
         }
-        return RequestRepository.getInstance().findByRules(
-                request -> request.getSupervisorID().equals(supervisorID),
-                request -> request.getStatus() == RequestStatus.PENDING,
-                request -> request.getRequestType() != RequestType.SUPERVISOR_TRANSFER_STUDENT
-        );
+        RequestRepository requestRepository = RequestRepository.getInstance();
+        return requestRepository.findByPositions(requestRepository.getPendingQueues().getSupervisorQueue(supervisorID));
+    }
+
+    /**
+     * count the pending requests by supervisor
+     * The count is kept as requests are made and decided, so this takes constant time.
+     * @param supervisorID the supervisor ID of the supervisor
+     * @return the number of pending requests
+     */
+    public static int countPendingRequestsBySupervisor(String supervisorID) {
+        return RequestRepository.getInstance().getPendingQueues().getSupervisorCount(supervisorID);
+    }
+
+    /**
+     * get the pending request of a supervisor after a request, in the order of the pending requests
+     *
+     * @param supervisorID the supervisor ID of the supervisor
+     * @param requestID    the ID of the current request, or null to get the first pending request
+     * @return the next pending request, or null if there is none
+     */
+    public static Request getNextPendingRequest(String supervisorID, String requestID) {
+        RequestRepository requestRepository = RequestRepository.getInstance();
+        int position = requestRepository.getPendingQueues().getNextInSupervisorQueue(supervisorID, requestRepository.indexOf(requestID));
+        return position < 0 ? null : requestRepository.findByPositions(List.of(position)).get(0);
     }
 
     /**
@@ -74,10 +95,9 @@ public class SupervisorManager {
      * @return list of request history
      */
     public static List<Request> getAllRequestHistory(Supervisor supervisor) {
-        return RequestRepository.getInstance().findByRules(
-                request -> Objects.equals(request.getSupervisorID(), supervisor.getID()),
-                request -> request.getRequestType() != RequestType.STUDENT_REGISTRATION,
-                request -> request.getRequestType() != RequestType.STUDENT_DEREGISTRATION
+        return RequestRepository.getInstance().findByCriteria(
+                Criterion.equalTo(RequestRepository.SUPERVISOR_ID, supervisor.getID()),
+                Criterion.not(Criterion.is(RequestRepository.REQUEST_TYPE, RequestType.STUDENT_REGISTRATION, RequestType.STUDENT_DEREGISTRATION))
         );
     }
 
@@ -88,23 +108,27 @@ public class SupervisorManager {
      * @return number of students that a supervisor is supervising
      */
     public static int getNumOfStudents(String supervisorID) {
-        return ProjectRepository.getInstance().findByRules(
-                project -> project.getSupervisorID().equalsIgnoreCase(supervisorID),
-                project -> project.getStatus() == ProjectStatus.ALLOCATED ||
-                        project.getStatus() == ProjectStatus.RESERVED
-        ).size();
+        return ProjectRepository.getInstance().getSupervisorWorkload().getCount(supervisorID);
     }
 
     /**
      * get all supervisors that are not available
+     * Only the supervisors with allocated or reserved projects are looked at, through the workload of the supervisors.
      *
      * @return list of supervisors that are not available
      */
     public static List<Supervisor> getAllUnavailableSupervisors() {
+        FacultyRepository facultyRepository = FacultyRepository.getInstance();
+        if (MAX_NUM_OF_STUDENTS_PER_SUPERVISOR <= 0) {
+            return facultyRepository.getList();
+        }
         List<Supervisor> supervisors = new ArrayList<>();
-        for (Supervisor supervisor : FacultyRepository.getInstance()) {
-            if (getNumOfStudents(supervisor.getID()) >= MAX_NUM_OF_STUDENTS_PER_SUPERVISOR) {
-                supervisors.add(supervisor);
+        SupervisorWorkload workload = ProjectRepository.getInstance().getSupervisorWorkload();
+        for (String supervisorID : workload.getSupervisorIDsAtLeast(MAX_NUM_OF_STUDENTS_PER_SUPERVISOR)) {
+            try {
+                supervisors.add(facultyRepository.getByID(supervisorID));
+            } catch (ModelNotFoundException e) {
+                // projects of a supervisor who is no longer in the faculty do not make anyone unavailable
             }
         }
         return supervisors;
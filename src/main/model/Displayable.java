@@ -11,6 +11,14 @@ public interface Displayable {
      */
     String getDisplayableString();
 
+    /**
+     Appends the formatted string representation of the object to a builder, so that a list of objects can be written into one buffer.
+     @param builder the builder to append to.
+     */
+    default void appendDisplayableString(StringBuilder builder) {
+        builder.append(getDisplayableString());
+    }
+
     /**
      Returns the splitter used to separate different fields of the object in the formatted string representation.
      @return the splitter used to separate different fields of the object in the formatted string representation.
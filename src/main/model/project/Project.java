@@ -8,17 +8,44 @@ import main.repository.user.FacultyRepository;
 import main.repository.user.StudentRepository;
 import main.utils.exception.ModelNotFoundException;
 import main.utils.parameters.EmptyID;
+import main.utils.ui.RowTemplate;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Map;
 
 /**
  * The class of the project
  */
 public class Project implements Model, Displayable {
+    /**
+     * Reads and writes the status of a project atomically.
+     */
+    private static final VarHandle STATUS;
+
+    /**
+     * The template of the rows of a project when it is displayed.
+     */
+    private static final RowTemplate ROW_TEMPLATE = new RowTemplate(27, 30);
+
+    /**
+     * The template of the status row of a project when it is displayed, which is wider to hold the colour codes.
+     */
+    private static final RowTemplate STATUS_ROW_TEMPLATE = new RowTemplate(27, 39);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            STATUS = lookup.findVarHandle(Project.class, "status", ProjectStatus.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     /**
      * the status of the project
      */
-    ProjectStatus status;
+    volatile ProjectStatus status;
 
     /**
      * The ID of the project
@@ -61,6 +88,17 @@ public class Project implements Model, Displayable {
         fromMap(map);
     }
 
+    /**
+     * the default constructor of the project, whose fields are then read from the project file
+     */
+    public Project() {
+        this.projectID = EmptyID.EMPTY_ID;
+        this.projectTitle = EmptyID.EMPTY_ID;
+        this.supervisorID = EmptyID.EMPTY_ID;
+        this.studentID = EmptyID.EMPTY_ID;
+        this.status = ProjectStatus.AVAILABLE;
+    }
+
     /**
      * Display the information of the supervisor
      */
@@ -198,6 +236,18 @@ public class Project implements Model, Displayable {
         this.status = status;
     }
 
+    /**
+     * Set the status of the project only if it still has the expected status, as one atomic step.
+     * Of several threads that try to change the status of this object at the same time, exactly one succeeds.
+     *
+     * @param expectedStatus the status that the project must have
+     * @param newStatus      the new status of the project
+     * @return true if the status was changed, false if the project did not have the expected status
+     */
+    public boolean compareAndSetStatus(ProjectStatus expectedStatus, ProjectStatus newStatus) {
+        return STATUS.compareAndSet(this, expectedStatus, newStatus);
+    }
+
     /**
      * Get the ID of the project
      *
@@ -210,64 +260,85 @@ public class Project implements Model, Displayable {
 
     /**
      * Display the information of the supervisor.
+     *
+     * @param builder    the builder to append to
+     * @param supervisor the supervisor of the project, or null if it cannot be found
      */
-    private String getProjectSupervisorInformationString() {
-        try {
-            Supervisor supervisor = FacultyRepository.getInstance().getByID(supervisorID);
-            return String.format("| Supervisor Name             | %-30s |\n", supervisor.getUserName()) +
-                    String.format("| Supervisor Email Address    | %-30s |\n", supervisor.getEmail());
-        } catch (ModelNotFoundException e) {
-            return "No Supervisor Yet";
+    private void appendProjectSupervisorInformation(StringBuilder builder, Supervisor supervisor) {
+        if (supervisor == null) {
+            builder.append("No Supervisor Yet");
+            return;
         }
+        ROW_TEMPLATE.appendTo(builder, "Supervisor Name", supervisor.getUserName());
+        ROW_TEMPLATE.appendTo(builder, "Supervisor Email Address", supervisor.getEmail());
     }
 
     /**
      * Display the information of the student.
+     *
+     * @param builder the builder to append to
+     * @param student the student of the project, or null if it cannot be found
      */
-    private String getProjectStudentInformationString() {
+    private void appendProjectStudentInformation(StringBuilder builder, Student student) {
         if (EmptyID.isEmptyID(studentID)) {
-            return "";
+            return;
         }
-        try {
-            Student student = StudentRepository.getInstance().getByID(studentID);
-            return String.format("| Student Name                | %-30s |\n", student.getUserName()) +
-                    String.format("| Student Email Address       | %-30s |\n", student.getEmail());
-        } catch (ModelNotFoundException e) {
+        if (student == null) {
             throw new IllegalStateException("Cannot find the student.");
         }
+        ROW_TEMPLATE.appendTo(builder, "Student Name", student.getUserName());
+        ROW_TEMPLATE.appendTo(builder, "Student Email Address", student.getEmail());
     }
 
     /**
      * Display the information of the project.
+     *
+     * @param builder the builder to append to
+     */
+    private void appendProjectInformation(StringBuilder builder) {
+        STATUS_ROW_TEMPLATE.appendTo(builder, "Project Status", getStatus().showColorfulString());
+    }
+
+    /**
+     * Display a line of the title of the project, centred between the borders.
+     *
+     * @param builder      the builder to append to
+     * @param leftPadding  the number of spaces before the text
+     * @param text         the text of the line
+     * @param width        the width of the text, which is padded with spaces up to it
+     * @param rightPadding the number of spaces after the text
      */
-    private String getProjectInformationString() {
-        return String.format("| Project Status              | %-39s |\n", getStatus().showColorfulString());
+    private static void appendTitleLine(StringBuilder builder, int leftPadding, String text, int width, int rightPadding) {
+        builder.append("| ");
+        RowTemplate.appendSpaces(builder, leftPadding);
+        RowTemplate.appendPadded(builder, text, width);
+        RowTemplate.appendSpaces(builder, rightPadding);
+        builder.append(" |\n");
     }
 
     /**
      * Display the complete information of the project.
+     *
+     * @param builder    the builder to append to
+     * @param supervisor the supervisor of the project, or null if it cannot be found
+     * @param student    the student of the project, or null if it has none or it cannot be found
      */
-    private String getSingleProjectString() {
+    private void appendSingleProject(StringBuilder builder, Supervisor supervisor, Student student) {
         String projectTitle = getProjectTitle();
         int maxTitleLength = 60;
-        String titleLine1;
-        String titleLine2;
 
         if (projectTitle.length() <= maxTitleLength) {
             int leftPadding = (maxTitleLength - projectTitle.length()) / 2;
             int rightPadding = maxTitleLength - projectTitle.length() - leftPadding;
-            titleLine1 = String.format("| %-" + leftPadding + "s%-" + projectTitle.length() + "s%-" + rightPadding + "s |\n", "", projectTitle, "");
-            titleLine2 = "";
+            appendTitleLine(builder, leftPadding, projectTitle, projectTitle.length(), rightPadding);
         } else {
             String[] words = projectTitle.split("\\s+");
-            String firstLine = "";
-            String secondLine = "";
-            int remainingLength = maxTitleLength;
+            StringBuilder firstLine = new StringBuilder();
+            StringBuilder secondLine = new StringBuilder();
             int i = 0;
             while (i < words.length) {
                 if (firstLine.length() + words[i].length() + 1 <= maxTitleLength) {
-                    firstLine += words[i] + " ";
-                    remainingLength = maxTitleLength - firstLine.length();
+                    firstLine.append(words[i]).append(' ');
                     i++;
                 } else {
                     break;
@@ -275,7 +346,7 @@ public class Project implements Model, Displayable {
             }
             for (; i < words.length; i++) {
                 if (secondLine.length() + words[i].length() + 1 <= maxTitleLength) {
-                    secondLine += words[i] + " ";
+                    secondLine.append(words[i]).append(' ');
                 } else {
                     break;
                 }
@@ -284,21 +355,56 @@ public class Project implements Model, Displayable {
             int leftPadding2 = (maxTitleLength - secondLine.length()) / 2;
             int rightPadding1 = maxTitleLength - firstLine.length() - leftPadding1;
             int rightPadding2 = maxTitleLength - secondLine.length() - leftPadding2;
-            titleLine1 = String.format("| %-" + leftPadding1 + "s%-" + firstLine.length() + "s%-" + rightPadding1 + "s |\n", "", firstLine.trim(), "");
-            titleLine2 = String.format("| %-" + leftPadding2 + "s%-" + secondLine.length() + "s%-" + rightPadding2 + "s |\n", "", secondLine.trim(), "");
+            appendTitleLine(builder, leftPadding1, firstLine.toString().trim(), firstLine.length(), rightPadding1);
+            appendTitleLine(builder, leftPadding2, secondLine.toString().trim(), secondLine.length(), rightPadding2);
         }
 
-        return titleLine1 + titleLine2 +
-                "|--------------------------------------------------------------|\n" +
-                String.format("| Project ID                  | %-30s |\n", getID()) +
-                getProjectSupervisorInformationString() +
-                getProjectStudentInformationString() +
-                getProjectInformationString();
+        builder.append("|--------------------------------------------------------------|\n");
+        ROW_TEMPLATE.appendTo(builder, "Project ID", getID());
+        appendProjectSupervisorInformation(builder, supervisor);
+        appendProjectStudentInformation(builder, student);
+        appendProjectInformation(builder);
     }
 
     @Override
     public String getDisplayableString() {
-        return getSingleProjectString();
+        StringBuilder builder = new StringBuilder();
+        appendDisplayableString(builder);
+        return builder.toString();
+    }
+
+    /**
+     * Appends the formatted string of the project to a builder, looking up its supervisor and student.
+     *
+     * @param builder the builder to append to
+     */
+    @Override
+    public void appendDisplayableString(StringBuilder builder) {
+        Supervisor supervisor;
+        try {
+            supervisor = FacultyRepository.getInstance().getByID(supervisorID);
+        } catch (ModelNotFoundException e) {
+            supervisor = null;
+        }
+        Student student;
+        try {
+            student = EmptyID.isEmptyID(studentID) ? null : StudentRepository.getInstance().getByID(studentID);
+        } catch (ModelNotFoundException e) {
+            student = null;
+        }
+        appendSingleProject(builder, supervisor, student);
+    }
+
+    /**
+     * Appends the formatted string of the project to a builder with its supervisor and student already looked up,
+     * so that a list of projects can be displayed without looking them up for each project.
+     *
+     * @param builder    the builder to append to
+     * @param supervisor the supervisor of the project, or null if it cannot be found
+     * @param student    the student of the project, or null if it has none or it cannot be found
+     */
+    public void appendDisplayableString(StringBuilder builder, Supervisor supervisor, Student student) {
+        appendSingleProject(builder, supervisor, student);
     }
 
     @Override
@@ -2,11 +2,22 @@ package main.model.request;
 
 import main.model.Displayable;
 import main.model.Model;
+import main.utils.ui.RowTemplate;
 
 /**
  * This interface represents a request.
  */
 public interface Request extends Model, Displayable {
+    /**
+     * The template of the rows of a request when it is displayed.
+     */
+    RowTemplate ROW_TEMPLATE = new RowTemplate(18, 27);
+
+    /**
+     * The template of the status row of a request when it is displayed, which is wider to hold the colour codes.
+     */
+    RowTemplate STATUS_ROW_TEMPLATE = new RowTemplate(18, 36);
+
     /**
      * Get the ID of the request.
      */
@@ -56,4 +67,42 @@ public interface Request extends Model, Displayable {
     default String getSplitter() {
         return "====================================================";
     }
+
+    /**
+     * Returns the formatted string of the request, as a table of its fields.
+     *
+     * @return the formatted string of the request.
+     */
+    @Override
+    default String getDisplayableString() {
+        StringBuilder builder = new StringBuilder();
+        appendDisplayableString(builder);
+        return builder.toString();
+    }
+
+    /**
+     * Appends the formatted string of the request to a builder, one row at a time.
+     * The rows shared by all requests come first, followed by the detail rows of the request.
+     *
+     * @param builder the builder to append to.
+     */
+    @Override
+    default void appendDisplayableString(StringBuilder builder) {
+        ROW_TEMPLATE.appendTo(builder, "Request ID", getID());
+        ROW_TEMPLATE.appendTo(builder, "Request Type", getRequestType());
+        STATUS_ROW_TEMPLATE.appendTo(builder, "Request Status", getStatus().showColorfulStatus());
+        ROW_TEMPLATE.appendTo(builder, "Project ID", getProjectID());
+        ROW_TEMPLATE.appendTo(builder, "Supervisor ID", getSupervisorID());
+        appendDetailRows(builder);
+    }
+
+    /**
+     * Appends the rows that follow the supervisor ID when the request is displayed,
+     * which are the student ID unless the request has more to show.
+     *
+     * @param builder the builder to append to.
+     */
+    default void appendDetailRows(StringBuilder builder) {
+        ROW_TEMPLATE.appendTo(builder, "Student ID", getStudentID());
+    }
 }
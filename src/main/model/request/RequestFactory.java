@@ -22,4 +22,19 @@ public class RequestFactory {
             case STUDENT_CHANGE_TITLE -> new StudentChangeTitleRequest(map);
         };
     }
+
+    /**
+     * Creates an empty Request object of a type, whose fields are then set by the caller.
+     *
+     * @param requestType the type of the Request
+     * @return an empty Request object of the specified type
+     */
+    public static Request createRequest(RequestType requestType) {
+        return switch (requestType) {
+            case SUPERVISOR_TRANSFER_STUDENT -> new TransferStudentRequest();
+            case STUDENT_REGISTRATION -> new StudentRegistrationRequest();
+            case STUDENT_DEREGISTRATION -> new StudentDeregistrationRequest();
+            case STUDENT_CHANGE_TITLE -> new StudentChangeTitleRequest();
+        };
+    }
 }
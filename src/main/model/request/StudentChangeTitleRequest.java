@@ -61,6 +61,12 @@ public class StudentChangeTitleRequest implements Request {
         fromMap(map);
     }
 
+    /**
+     * Default constructor, for a request whose fields are then read from the request file
+     */
+    public StudentChangeTitleRequest() {
+    }
+
     /**
      * Get the id of the student
      * @return the id of the student
@@ -164,21 +170,13 @@ public class StudentChangeTitleRequest implements Request {
         this.requestStatus = status;
     }
 
-
     /**
-     Returns a string representation of the object suitable for display purposes.
-     The string includes the request ID, request type, request status (with colorful formatting),
-     project ID, supervisor ID, student ID, and new title.
-     @return a formatted string representing the object for display purposes.
+     Appends the student ID and the new title of the request to a builder, after the rows shared by all requests.
+     @param builder the builder to append to.
      */
     @Override
-    public String getDisplayableString() {
-        return String.format("| %-18s | %-27s |\n", "Request ID", requestID) +
-                String.format("| %-18s | %-27s |\n", "Request Type", requestType) +
-                String.format("| %-18s | %-36s |\n", "Request Status", requestStatus.showColorfulStatus()) +
-                String.format("| %-18s | %-27s |\n", "Project ID", projectID) +
-                String.format("| %-18s | %-27s |\n", "Supervisor ID", supervisorID) +
-                String.format("| %-18s | %-27s |\n", "Student ID", studentID) +
-                String.format("| %-18s | %-27s |\n", "New Title", newTitle);
+    public void appendDetailRows(StringBuilder builder) {
+        ROW_TEMPLATE.appendTo(builder, "Student ID", studentID);
+        ROW_TEMPLATE.appendTo(builder, "New Title", newTitle);
     }
 }
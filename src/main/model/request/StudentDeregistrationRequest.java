@@ -59,6 +59,12 @@ public class StudentDeregistrationRequest implements Request {
         fromMap(map);
     }
 
+    /**
+     * Default constructor, for a request whose fields are then read from the request file
+     */
+    public StudentDeregistrationRequest() {
+    }
+
     /**
      * Get the ID of the student.
      *
@@ -142,18 +148,4 @@ public class StudentDeregistrationRequest implements Request {
     public void setStatus(RequestStatus status) {
         this.requestStatus = status;
     }
-
-    /**
-     This method returns a formatted string representation of the request's information.
-     @return a string with all request information formatted in a table
-     */
-    @Override
-    public String getDisplayableString() {
-        return String.format("| %-18s | %-27s |\n", "Request ID", requestID) +
-                String.format("| %-18s | %-27s |\n", "Request Type", requestType) +
-                String.format("| %-18s | %-36s |\n", "Request Status", requestStatus.showColorfulStatus()) +
-                String.format("| %-18s | %-27s |\n", "Project ID", projectID) +
-                String.format("| %-18s | %-27s |\n", "Supervisor ID", supervisorID) +
-                String.format("| %-18s | %-27s |\n", "Student ID", studentID);
-    }
 }
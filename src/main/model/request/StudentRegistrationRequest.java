@@ -1,5 +1,7 @@
 package main.model.request;
 
+import main.utils.config.Reservation;
+
 import java.util.Map;
 
 /**
@@ -34,6 +36,10 @@ public class StudentRegistrationRequest implements Request {
      * The ID of the coordinator who deals with the request
      */
     private String coordinatorID = null;
+    /**
+     * The time in milliseconds at which the request is rejected if it is still pending, or 0 if none has been given
+     */
+    private long expiryTime;
 
     /**
      * Constructor
@@ -48,6 +54,7 @@ public class StudentRegistrationRequest implements Request {
         this.studentID = studentID;
         this.supervisorID = supervisorID;
         this.projectID = projectID;
+        this.expiryTime = System.currentTimeMillis() + Reservation.TIMEOUT_MILLIS;
     }
 
     /**
@@ -59,6 +66,12 @@ public class StudentRegistrationRequest implements Request {
         fromMap(map);
     }
 
+    /**
+     * Default constructor, for a request whose fields are then read from the request file
+     */
+    public StudentRegistrationRequest() {
+    }
+
     /**
      * Get the ID of the student.
      *
@@ -114,6 +127,24 @@ public class StudentRegistrationRequest implements Request {
         this.coordinatorID = coordinatorID;
     }
 
+    /**
+     * Get the time at which the request is rejected if it is still pending.
+     *
+     * @return the time in milliseconds, or 0 if the request has not been given one.
+     */
+    public long getExpiryTime() {
+        return expiryTime;
+    }
+
+    /**
+     * Set the time at which the request is rejected if it is still pending.
+     *
+     * @param expiryTime the time in milliseconds.
+     */
+    public void setExpiryTime(long expiryTime) {
+        this.expiryTime = expiryTime;
+    }
+
     /**
      * Get the ID of the request.
      */
@@ -141,19 +172,4 @@ public class StudentRegistrationRequest implements Request {
     public void setStatus(RequestStatus status) {
         this.requestStatus = status;
     }
-
-    /**
-
-     Returns a formatted string representation of the request's information.
-     @return a string with all request information formatted in a table
-     */
-    @Override
-    public String getDisplayableString() {
-        return String.format("| %-18s | %-27s |\n", "Request ID", requestID) +
-                String.format("| %-18s | %-27s |\n", "Request Type", requestType) +
-                String.format("| %-18s | %-36s |\n", "Request Status", requestStatus.showColorfulStatus()) +
-                String.format("| %-18s | %-27s |\n", "Project ID", projectID) +
-                String.format("| %-18s | %-27s |\n", "Supervisor ID", supervisorID) +
-                String.format("| %-18s | %-27s |\n", "Student ID", studentID);
-    }
 }
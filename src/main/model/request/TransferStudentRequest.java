@@ -65,6 +65,12 @@ public class TransferStudentRequest implements Request {
         fromMap(map);
     }
 
+    /**
+     * Default constructor, for a request whose fields are then read from the request file
+     */
+    public TransferStudentRequest() {
+    }
+
     /**
      * Get the ID of the project
      *
@@ -170,19 +176,12 @@ public class TransferStudentRequest implements Request {
     }
 
     /**
-
-     Returns a formatted string representation of the request details for display purposes.
-     @return a string with formatted request details
+     Appends the new supervisor ID and the student ID of the request to a builder, after the rows shared by all requests.
+     @param builder the builder to append to.
      */
     @Override
-    public String getDisplayableString() {
-        return String.format("| %-18s | %-27s |\n", "Request ID", requestID) +
-                String.format("| %-18s | %-27s |\n", "Request Type", requestType) +
-                String.format("| %-18s | %-36s |\n", "Request Status", requestStatus.showColorfulStatus()) +
-                String.format("| %-18s | %-27s |\n", "Project ID", projectID) +
-                String.format("| %-18s | %-27s |\n", "Supervisor ID", supervisorID) +
-                String.format("| %-18s | %-27s |\n", "New Supervisor ID", newSupervisorID) +
-                String.format("| %-18s | %-27s |\n", "Student ID", studentID);
-//                String.format("| %-18s | %-27s |\n", "Coordinator ID", EmptyID.isEmptyID(coordinatorID) ? "N/A" : coordinatorID);
+    public void appendDetailRows(StringBuilder builder) {
+        ROW_TEMPLATE.appendTo(builder, "New Supervisor ID", newSupervisorID);
+        ROW_TEMPLATE.appendTo(builder, "Student ID", studentID);
     }
 }
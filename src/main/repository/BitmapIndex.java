@@ -0,0 +1,182 @@
+package main.repository;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The BitmapIndex class indexes the model objects of a repository by the value of one of their enum fields,
+ * such as the status of a request.
+ * <p>
+ * The index keeps one bitset per enum constant, in which bit {@code i} is set if the model object at position
+ * {@code i} has that constant. Conditions on several enum fields can then be combined with the word-wide
+ * {@link BitSet#and(BitSet)}, {@link BitSet#or(BitSet)} and {@link BitSet#andNot(BitSet)} operations instead of
+ * checking every model object.
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ * @param <E>           the type of the indexed enum
+ */
+public class BitmapIndex<ModelObject, E extends Enum<E>> implements RepositoryIndex<ModelObject> {
+
+    /**
+     * The name of the index.
+     */
+    private final String name;
+
+    /**
+     * The class of the indexed enum.
+     */
+    private final Class<E> enumClass;
+
+    /**
+     * Gets the indexed value of a model object.
+     */
+    private final ValueExtractor<ModelObject, E> valueExtractor;
+
+    /**
+     * The positions of the model objects with each enum constant, indexed by the ordinal of the constant.
+     */
+    private final BitSet[] positionsByValue;
+
+    /**
+     * The value indexed for the model object at each position.
+     */
+    private final List<E> valueByPosition;
+
+    /**
+     * Creates a new instance of the BitmapIndex class.
+     *
+     * @param name           the name of the index
+     * @param enumClass      the class of the indexed enum
+     * @param valueExtractor gets the indexed value of a model object
+     */
+    public BitmapIndex(String name, Class<E> enumClass, ValueExtractor<ModelObject, E> valueExtractor) {
+        this.name = name;
+        this.enumClass = enumClass;
+        this.valueExtractor = valueExtractor;
+        this.positionsByValue = new BitSet[enumClass.getEnumConstants().length];
+        for (int ordinal = 0; ordinal < positionsByValue.length; ordinal++) {
+            positionsByValue[ordinal] = new BitSet();
+        }
+        this.valueByPosition = new ArrayList<>();
+    }
+
+    /**
+     * Gets the name of the index.
+     *
+     * @return the name of the index
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Rebuilds the index from a list of model objects.
+     *
+     * @param modelObjects the model objects stored in the repository, in order
+     */
+    @Override
+    public void rebuild(List<ModelObject> modelObjects) {
+        for (BitSet positions : positionsByValue) {
+            positions.clear();
+        }
+        valueByPosition.clear();
+        for (int position = 0; position < modelObjects.size(); position++) {
+            add(position, modelObjects.get(position));
+        }
+    }
+
+    /**
+     * Adds a model object that has been appended to the list of the repository.
+     * A model object whose value is null is not found under any constant.
+     *
+     * @param position    the position of the model object in the list
+     * @param modelObject the model object
+     */
+    @Override
+    public void add(int position, ModelObject modelObject) {
+        E value = valueExtractor.getValue(modelObject);
+        valueByPosition.add(value);
+        if (value != null) {
+            positionsByValue[value.ordinal()].set(position);
+        }
+    }
+
+    /**
+     * Moves a model object to the bitset of its current value.
+     *
+     * @param position    the position of the model object in the list
+     * @param modelObject the model object as it is now
+     */
+    @Override
+    public void update(int position, ModelObject modelObject) {
+        E oldValue = valueByPosition.get(position);
+        E newValue = valueExtractor.getValue(modelObject);
+        if (oldValue == newValue) {
+            return;
+        }
+        if (oldValue != null) {
+            positionsByValue[oldValue.ordinal()].clear(position);
+        }
+        if (newValue != null) {
+            positionsByValue[newValue.ordinal()].set(position);
+        }
+        valueByPosition.set(position, newValue);
+    }
+
+    /**
+     * Gets the positions of the model objects whose value is any of the given constants.
+     *
+     * @param values the constants to look up
+     * @return a new bitset with the positions of the model objects with any of the constants, which the caller may modify
+     * @throws IllegalArgumentException if a constant is not of the indexed enum
+     */
+    public BitSet getPositions(Enum<?>... values) {
+        BitSet positions = new BitSet();
+        for (Enum<?> value : values) {
+            if (value.getDeclaringClass() != enumClass) {
+                throw new IllegalArgumentException(value + " is not a value of index " + name + ".");
+            }
+            positions.or(positionsByValue[value.ordinal()]);
+        }
+        return positions;
+    }
+
+    /**
+     * Counts the model objects whose value is any of the given constants.
+     *
+     * @param values the constants to look up
+     * @return the number of model objects with any of the constants
+     * @throws IllegalArgumentException if a constant is not of the indexed enum
+     */
+    public int count(Enum<?>... values) {
+        return getPositions(values).cardinality();
+    }
+
+    /**
+     * Gets the value of the model object at a position.
+     *
+     * @param position the position of the model object in the list
+     * @return the value of the model object
+     */
+    public E getValue(int position) {
+        return valueByPosition.get(position);
+    }
+
+    /**
+     * Provides the value of a model object that is indexed.
+     *
+     * @param <ModelObject> the type of model object stored in the repository
+     * @param <E>           the type of the indexed enum
+     */
+    public interface ValueExtractor<ModelObject, E extends Enum<E>> {
+        /**
+         * Gets the indexed value of the specified model object.
+         *
+         * @param modelObject the model object
+         * @return the indexed value of the model object
+         */
+        E getValue(ModelObject modelObject);
+    }
+}
@@ -0,0 +1,160 @@
+package main.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A condition on the model objects of a repository that the repository can answer from its indexes.
+ * <p>
+ * A criterion on an indexed field names the index, so that {@link Repository#findByCriteria} can look the model
+ * objects up in the index instead of checking each of them. A condition that no index can answer is written as a
+ * {@link #matches} rule, and is only checked on the model objects that the indexed criteria leave.
+ * Here is an example of how to find the requests of a supervisor that are not registrations:
+ *
+ * <pre>
+ * List&lt;Request&gt; requests = repository.findByCriteria(
+ *     Criterion.equalTo(RequestRepository.SUPERVISOR_ID, "BOAN001"),
+ *     Criterion.not(Criterion.is(RequestRepository.REQUEST_TYPE, RequestType.STUDENT_REGISTRATION))
+ * );
+ * </pre>
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ */
+public interface Criterion<ModelObject> {
+    /**
+     * Matches the model objects whose field, indexed by a hash index, has a value.
+     *
+     * @param indexName     the name of the hash index
+     * @param value         the value
+     * @param <ModelObject> the type of model object stored in the repository
+     * @return the criterion
+     */
+    static <ModelObject> Criterion<ModelObject> equalTo(String indexName, String value) {
+        return new KeyIn<>(indexName, Collections.singletonList(value));
+    }
+
+    /**
+     * Matches the model objects whose field, indexed by a hash index, has any of some values.
+     *
+     * @param indexName     the name of the hash index
+     * @param values        the values
+     * @param <ModelObject> the type of model object stored in the repository
+     * @return the criterion
+     */
+    static <ModelObject> Criterion<ModelObject> in(String indexName, Collection<String> values) {
+        return new KeyIn<>(indexName, Collections.unmodifiableList(new ArrayList<>(values)));
+    }
+
+    /**
+     * Matches the model objects whose enum field, indexed by a bitmap index, has any of some values.
+     *
+     * @param indexName     the name of the bitmap index
+     * @param values        the values
+     * @param <ModelObject> the type of model object stored in the repository
+     * @return the criterion
+     */
+    static <ModelObject> Criterion<ModelObject> is(String indexName, Enum<?>... values) {
+        return new EnumIn<>(indexName, List.of(values));
+    }
+
+    /**
+     * Matches the model objects that another criterion does not match.
+     *
+     * @param criterion     the other criterion
+     * @param <ModelObject> the type of model object stored in the repository
+     * @return the criterion
+     */
+    static <ModelObject> Criterion<ModelObject> not(Criterion<ModelObject> criterion) {
+        if (criterion instanceof Not<ModelObject> not) {
+            return not.criterion();
+        }
+        return new Not<>(criterion);
+    }
+
+    /**
+     * Matches the model objects that match a rule, which is checked on each model object that the other criteria leave.
+     *
+     * @param rule          the rule
+     * @param <ModelObject> the type of model object stored in the repository
+     * @return the criterion
+     */
+    static <ModelObject> Criterion<ModelObject> matches(Repository.RepositoryRule<ModelObject> rule) {
+        return new Matches<>(rule);
+    }
+
+    /**
+     * A criterion on the values of a field indexed by a hash index.
+     *
+     * @param indexName     the name of the hash index
+     * @param values        the values to match
+     * @param <ModelObject> the type of model object stored in the repository
+     */
+    record KeyIn<ModelObject>(String indexName, List<String> values) implements Criterion<ModelObject> {
+        /**
+         * Describes the criterion.
+         *
+         * @return the description
+         */
+        @Override
+        public String toString() {
+            return indexName + (values.size() == 1 ? " = " + values.get(0) : " in " + values);
+        }
+    }
+
+    /**
+     * A criterion on the values of an enum field indexed by a bitmap index.
+     *
+     * @param indexName     the name of the bitmap index
+     * @param values        the values to match
+     * @param <ModelObject> the type of model object stored in the repository
+     */
+    record EnumIn<ModelObject>(String indexName, List<Enum<?>> values) implements Criterion<ModelObject> {
+        /**
+         * Describes the criterion.
+         *
+         * @return the description
+         */
+        @Override
+        public String toString() {
+            return indexName + (values.size() == 1 ? " = " + values.get(0) : " in " + values);
+        }
+    }
+
+    /**
+     * The negation of a criterion.
+     *
+     * @param criterion     the criterion to negate
+     * @param <ModelObject> the type of model object stored in the repository
+     */
+    record Not<ModelObject>(Criterion<ModelObject> criterion) implements Criterion<ModelObject> {
+        /**
+         * Describes the criterion.
+         *
+         * @return the description
+         */
+        @Override
+        public String toString() {
+            return "not (" + criterion + ")";
+        }
+    }
+
+    /**
+     * A criterion that no index can answer.
+     *
+     * @param rule          the rule to match
+     * @param <ModelObject> the type of model object stored in the repository
+     */
+    record Matches<ModelObject>(Repository.RepositoryRule<ModelObject> rule) implements Criterion<ModelObject> {
+        /**
+         * Describes the criterion.
+         *
+         * @return the description
+         */
+        @Override
+        public String toString() {
+            return "rule";
+        }
+    }
+}
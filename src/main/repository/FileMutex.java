@@ -0,0 +1,135 @@
+package main.repository;
+
+import main.utils.iocontrol.GroupCommit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The FileMutex class lets one thread, of all the running copies of the program, work on a file at a time.
+ * <p>
+ * The threads of this program are kept apart by a reentrant lock, and the copies of the program by a lock on a lock
+ * file next to the file, which the thread takes when it first locks the mutex and releases when it last unlocks it.
+ * The lock file is kept apart from the file itself, since the file is replaced when its log is compacted.
+ * <p>
+ * A change made under the mutex is only seen by the others once it is saved, so the mutex is held until then: until
+ * the unit of work open on the thread is closed, or, if there is none, until the changes pending for the file are
+ * written.
+ */
+public class FileMutex {
+
+    /**
+     * The mutex of each file, by the absolute path of the file.
+     */
+    private static final Map<String, FileMutex> MUTEXES = new HashMap<>();
+
+    /**
+     * The path of the lock file.
+     */
+    private final String lockPath;
+
+    /**
+     * The lock that keeps the threads of this program apart.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * The lock file while the mutex is held, which holds the lock that keeps the copies of the program apart.
+     */
+    private RandomAccessFile lockFile;
+
+    /**
+     * Creates the mutex of a file.
+     *
+     * @param filePath the path of the file
+     */
+    private FileMutex(String filePath) {
+        this.lockPath = filePath + ".lock";
+    }
+
+    /**
+     * Gets the mutex of a file, which is the same for every path that names the file.
+     *
+     * @param filePath the path of the file
+     * @return the mutex
+     */
+    public static synchronized FileMutex of(String filePath) {
+        String key = Paths.get(filePath).toAbsolutePath().normalize().toString();
+        return MUTEXES.computeIfAbsent(key, FileMutex::new);
+    }
+
+    /**
+     * Locks the mutex, and waits until no other thread or copy of the program holds it.
+     *
+     * @throws RuntimeException if the lock file could not be locked
+     */
+    public void lock() {
+        lock.lock();
+        if (lock.getHoldCount() > 1) {
+            return;
+        }
+        try {
+            File file = new File(lockPath);
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            lockFile = new RandomAccessFile(file, "rw");
+            lockFile.getChannel().lock();
+        } catch (IOException e) {
+            closeLockFile();
+            lock.unlock();
+            throw new RuntimeException("Data could not be locked: " + lockPath);
+        }
+    }
+
+    /**
+     * Unlocks the mutex, and releases the lock file if this is the last hold of the thread.
+     */
+    public void unlock() {
+        if (lock.getHoldCount() == 1) {
+            closeLockFile();
+        }
+        lock.unlock();
+    }
+
+    /**
+     * Unlocks the mutex once a change made under it is saved: when the unit of work open on the thread is closed,
+     * or, if there is none, once the changes pending for the file are written.
+     *
+     * @param filePath the path of the file
+     * @throws RuntimeException if the pending changes could not be saved, in which case the mutex is still unlocked
+     */
+    public void unlockOnceSaved(String filePath) {
+        UnitOfWork unitOfWork = UnitOfWork.current();
+        if (unitOfWork != null) {
+            unitOfWork.runOnClose(this::unlock);
+            return;
+        }
+        try {
+            GroupCommit.flush(filePath);
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Closes the lock file, which releases its lock.
+     */
+    private void closeLockFile() {
+        if (lockFile == null) {
+            return;
+        }
+        try {
+            lockFile.close();
+        } catch (IOException e) {
+            System.err.println("Data could not be unlocked: " + lockPath);
+        }
+        lockFile = null;
+    }
+}
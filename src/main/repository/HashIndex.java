@@ -0,0 +1,215 @@
+package main.repository;
+
+import java.util.*;
+
+/**
+ * The HashIndex class indexes the model objects of a repository by the value of one of their fields,
+ * such as the supervisor ID of a project.
+ * <p>
+ * Looking up the model objects with a given value takes time proportional to the number of model objects found,
+ * not to the number of model objects in the repository.
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ */
+public class HashIndex<ModelObject> implements RepositoryIndex<ModelObject> {
+
+    /**
+     * The name of the index.
+     */
+    private final String name;
+
+    /**
+     * Gets the indexed value of a model object.
+     */
+    private final KeyExtractor<ModelObject> keyExtractor;
+
+    /**
+     * Whether values are matched regardless of case.
+     */
+    private final boolean ignoreCase;
+
+    /**
+     * The positions of the model objects with each value, in ascending order.
+     */
+    private final Map<String, TreeSet<Integer>> positionsByKey;
+
+    /**
+     * The value indexed for the model object at each position.
+     */
+    private final List<String> keyByPosition;
+
+    /**
+     * Creates a new instance of the HashIndex class.
+     *
+     * @param name         the name of the index
+     * @param keyExtractor gets the indexed value of a model object
+     * @param ignoreCase   whether values are matched regardless of case
+     */
+    public HashIndex(String name, KeyExtractor<ModelObject> keyExtractor, boolean ignoreCase) {
+        this.name = name;
+        this.keyExtractor = keyExtractor;
+        this.ignoreCase = ignoreCase;
+        this.positionsByKey = new HashMap<>();
+        this.keyByPosition = new ArrayList<>();
+    }
+
+    /**
+     * Gets the name of the index.
+     *
+     * @return the name of the index
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Rebuilds the index from a list of model objects.
+     *
+     * @param modelObjects the model objects stored in the repository, in order
+     */
+    @Override
+    public void rebuild(List<ModelObject> modelObjects) {
+        positionsByKey.clear();
+        keyByPosition.clear();
+        for (int position = 0; position < modelObjects.size(); position++) {
+            add(position, modelObjects.get(position));
+        }
+    }
+
+    /**
+     * Adds a model object that has been appended to the list of the repository.
+     *
+     * @param position    the position of the model object in the list
+     * @param modelObject the model object
+     */
+    @Override
+    public void add(int position, ModelObject modelObject) {
+        String key = toKey(keyExtractor.getKey(modelObject));
+        keyByPosition.add(key);
+        positionsByKey.computeIfAbsent(key, k -> new TreeSet<>()).add(position);
+    }
+
+    /**
+     * Moves a model object to the entry of its current value.
+     *
+     * @param position    the position of the model object in the list
+     * @param modelObject the model object as it is now
+     */
+    @Override
+    public void update(int position, ModelObject modelObject) {
+        String oldKey = keyByPosition.get(position);
+        String newKey = toKey(keyExtractor.getKey(modelObject));
+        if (Objects.equals(oldKey, newKey)) {
+            return;
+        }
+        TreeSet<Integer> oldPositions = positionsByKey.get(oldKey);
+        oldPositions.remove(position);
+        if (oldPositions.isEmpty()) {
+            positionsByKey.remove(oldKey);
+        }
+        keyByPosition.set(position, newKey);
+        positionsByKey.computeIfAbsent(newKey, k -> new TreeSet<>()).add(position);
+    }
+
+    /**
+     * Gets the positions of the model objects with the given value.
+     *
+     * @param key the value to look up
+     * @return the positions of the model objects with the value, in ascending order
+     */
+    public NavigableSet<Integer> getPositions(String key) {
+        TreeSet<Integer> positions = positionsByKey.get(toKey(key));
+        return positions == null ? Collections.emptyNavigableSet() : Collections.unmodifiableNavigableSet(positions);
+    }
+
+    /**
+     * Counts the model objects with any of the given values.
+     *
+     * @param values the values to look up
+     * @return the number of model objects with any of the values
+     */
+    public int count(Collection<String> values) {
+        int count = 0;
+        for (String key : toKeys(values)) {
+            TreeSet<Integer> positions = positionsByKey.get(key);
+            count += positions == null ? 0 : positions.size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the positions of the model objects with any of the given values.
+     *
+     * @param values the values to look up
+     * @return a new bitset with the positions of the model objects with any of the values
+     */
+    public BitSet getPositions(Collection<String> values) {
+        BitSet result = new BitSet();
+        for (String key : toKeys(values)) {
+            TreeSet<Integer> positions = positionsByKey.get(key);
+            if (positions != null) {
+                for (int position : positions) {
+                    result.set(position);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the model object at a position has any of the given values.
+     *
+     * @param position the position of the model object in the list
+     * @param values   the values to look for
+     * @return true if the model object has any of the values, false otherwise
+     */
+    public boolean matches(int position, Collection<String> values) {
+        String key = keyByPosition.get(position);
+        for (String value : values) {
+            if (Objects.equals(key, toKey(value))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts values to the distinct keys stored in the index.
+     *
+     * @param values the values of model objects
+     * @return the keys of the values
+     */
+    private Set<String> toKeys(Collection<String> values) {
+        Set<String> keys = new HashSet<>();
+        for (String value : values) {
+            keys.add(toKey(value));
+        }
+        return keys;
+    }
+
+    /**
+     * Converts a value to the key stored in the index.
+     *
+     * @param value the value of a model object
+     * @return the key of the value
+     */
+    private String toKey(String value) {
+        return value == null || !ignoreCase ? value : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Provides the value of a model object that is indexed.
+     *
+     * @param <ModelObject> the type of model object stored in the repository
+     */
+    public interface KeyExtractor<ModelObject> {
+        /**
+         * Gets the indexed value of the specified model object.
+         *
+         * @param modelObject the model object
+         * @return the indexed value of the model object
+         */
+        String getKey(ModelObject modelObject);
+    }
+}
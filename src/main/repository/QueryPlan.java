@@ -0,0 +1,243 @@
+package main.repository;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The QueryPlan class decides how a {@link Repository} answers a list of {@link Criterion criteria}.
+ * <p>
+ * The criteria on indexed fields are estimated from their indexes, and the most selective of them gives the
+ * candidates. The other criteria on bitmap indexes are then intersected with the candidates a word at a time, and
+ * the criteria on hash indexes are checked on each candidate by the value the index keeps for its position.
+ * Only the rules that no index can answer are checked on the model objects themselves, and only on the candidates
+ * that are left. Without any criterion on an indexed field, every model object is a candidate.
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ */
+class QueryPlan<ModelObject> {
+
+    /**
+     * The number of model objects in the repository.
+     */
+    private final int size;
+
+    /**
+     * The criterion on an indexed field that gives the candidates, or null if every model object is a candidate.
+     */
+    private final IndexedCriterion<ModelObject> driver;
+
+    /**
+     * The criteria on bitmap indexes that are intersected with the candidates.
+     */
+    private final List<IndexedCriterion<ModelObject>> intersected;
+
+    /**
+     * The criteria on hash indexes that are checked on each candidate.
+     */
+    private final List<IndexedCriterion<ModelObject>> checked;
+
+    /**
+     * The rules that are checked on the model object of each candidate that is left, each with whether it is negated.
+     */
+    private final List<Rule<ModelObject>> rules;
+
+    /**
+     * Plans how to answer a list of criteria.
+     *
+     * @param criteria      the criteria, which must all match
+     * @param size          the number of model objects in the repository
+     * @param hashIndexes   the hash indexes of the repository, keyed by name
+     * @param bitmapIndexes the bitmap indexes of the repository, keyed by name
+     * @throws IllegalArgumentException if a criterion names an index that the repository does not have
+     */
+    QueryPlan(List<Criterion<ModelObject>> criteria, int size, Map<String, HashIndex<ModelObject>> hashIndexes,
+              Map<String, BitmapIndex<ModelObject, ?>> bitmapIndexes) {
+        this.size = size;
+        this.intersected = new ArrayList<>();
+        this.checked = new ArrayList<>();
+        this.rules = new ArrayList<>();
+        List<IndexedCriterion<ModelObject>> indexed = new ArrayList<>();
+        for (Criterion<ModelObject> criterion : criteria) {
+            boolean negated = false;
+            while (criterion instanceof Criterion.Not<ModelObject> not) {
+                negated = !negated;
+                criterion = not.criterion();
+            }
+            if (criterion instanceof Criterion.KeyIn<ModelObject> keyIn) {
+                HashIndex<ModelObject> index = hashIndexes.get(keyIn.indexName());
+                if (index == null) {
+                    throw new IllegalArgumentException("No index named " + keyIn.indexName() + " exists.");
+                }
+                int count = index.count(keyIn.values());
+                indexed.add(new IndexedCriterion<>(keyIn, negated, index, null, negated ? size - count : count));
+            } else if (criterion instanceof Criterion.EnumIn<ModelObject> enumIn) {
+                BitmapIndex<ModelObject, ?> index = bitmapIndexes.get(enumIn.indexName());
+                if (index == null) {
+                    throw new IllegalArgumentException("No index named " + enumIn.indexName() + " exists.");
+                }
+                int count = index.count(enumIn.values().toArray(new Enum<?>[0]));
+                indexed.add(new IndexedCriterion<>(enumIn, negated, null, index, negated ? size - count : count));
+            } else if (criterion instanceof Criterion.Matches<ModelObject> matches) {
+                rules.add(new Rule<>(matches.rule(), negated));
+            } else {
+                throw new IllegalArgumentException("Unknown criterion " + criterion + ".");
+            }
+        }
+        indexed.sort(Comparator.comparingInt(IndexedCriterion::estimate));
+        this.driver = indexed.isEmpty() ? null : indexed.get(0);
+        for (int i = 1; i < indexed.size(); i++) {
+            IndexedCriterion<ModelObject> criterion = indexed.get(i);
+            if (criterion.bitmapIndex() != null) {
+                intersected.add(criterion);
+            } else {
+                checked.add(criterion);
+            }
+        }
+    }
+
+    /**
+     * Finds the model objects that match all the criteria.
+     *
+     * @param modelObjects the model objects stored in the repository, in order
+     * @return the model objects that match all the criteria, in repository order
+     */
+    List<ModelObject> execute(List<ModelObject> modelObjects) {
+        BitSet candidates;
+        if (driver == null) {
+            candidates = new BitSet(size);
+            candidates.set(0, size);
+        } else {
+            candidates = driver.getPositions(size);
+            for (IndexedCriterion<ModelObject> criterion : intersected) {
+                BitSet positions = criterion.bitmapIndex().getPositions(criterion.enumValues());
+                if (criterion.negated()) {
+                    candidates.andNot(positions);
+                } else {
+                    candidates.and(positions);
+                }
+            }
+        }
+        List<ModelObject> result = new ArrayList<>();
+        for (int position = candidates.nextSetBit(0); position >= 0 && position < size; position = candidates.nextSetBit(position + 1)) {
+            if (isMatch(position, modelObjects.get(position))) {
+                result.add(modelObjects.get(position));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Describes how the criteria are answered, for diagnostics.
+     *
+     * @return the description, one step on each line
+     */
+    String explain() {
+        StringBuilder builder = new StringBuilder();
+        if (driver == null) {
+            builder.append("scan all ").append(size).append(" model object(s)\n");
+        } else {
+            builder.append("look up ").append(driver).append(" (").append(driver.estimate()).append(" of ")
+                    .append(size).append(" model object(s))\n");
+        }
+        for (IndexedCriterion<ModelObject> criterion : intersected) {
+            builder.append("intersect ").append(criterion).append(" (").append(criterion.estimate()).append(" model object(s))\n");
+        }
+        for (IndexedCriterion<ModelObject> criterion : checked) {
+            builder.append("check ").append(criterion).append(" on each candidate\n");
+        }
+        if (!rules.isEmpty()) {
+            builder.append("check ").append(rules.size()).append(" rule(s) on each candidate that is left\n");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Checks whether a candidate matches the criteria checked on each candidate.
+     *
+     * @param position    the position of the candidate
+     * @param modelObject the model object of the candidate
+     * @return true if the candidate matches, false otherwise
+     */
+    private boolean isMatch(int position, ModelObject modelObject) {
+        for (IndexedCriterion<ModelObject> criterion : checked) {
+            if (criterion.hashIndex().matches(position, criterion.keyValues()) == criterion.negated()) {
+                return false;
+            }
+        }
+        for (Rule<ModelObject> rule : rules) {
+            if (rule.rule().isMatch(modelObject) == rule.negated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A criterion on an indexed field, with the index that answers it.
+     *
+     * @param criterion   the criterion, without its negations
+     * @param negated     whether the criterion is negated
+     * @param hashIndex   the hash index that answers the criterion, or null if a bitmap index does
+     * @param bitmapIndex the bitmap index that answers the criterion, or null if a hash index does
+     * @param estimate    the number of model objects that match the criterion
+     * @param <ModelObject> the type of model object stored in the repository
+     */
+    private record IndexedCriterion<ModelObject>(Criterion<ModelObject> criterion, boolean negated,
+                                                 HashIndex<ModelObject> hashIndex,
+                                                 BitmapIndex<ModelObject, ?> bitmapIndex, int estimate) {
+        /**
+         * Gets the values of a criterion on a hash index.
+         *
+         * @return the values
+         */
+        List<String> keyValues() {
+            return ((Criterion.KeyIn<ModelObject>) criterion).values();
+        }
+
+        /**
+         * Gets the values of a criterion on a bitmap index.
+         *
+         * @return the values
+         */
+        Enum<?>[] enumValues() {
+            return ((Criterion.EnumIn<ModelObject>) criterion).values().toArray(new Enum<?>[0]);
+        }
+
+        /**
+         * Gets the positions of the model objects that match the criterion.
+         *
+         * @param size the number of model objects in the repository
+         * @return a new bitset with the positions
+         */
+        BitSet getPositions(int size) {
+            BitSet positions = hashIndex != null ? hashIndex.getPositions(keyValues()) : bitmapIndex.getPositions(enumValues());
+            if (negated) {
+                positions.flip(0, size);
+            }
+            return positions;
+        }
+
+        /**
+         * Describes the criterion.
+         *
+         * @return the description
+         */
+        @Override
+        public String toString() {
+            return (negated ? "not (" + criterion + ")" : criterion.toString()) + (hashIndex != null ? " by hash index" : " by bitmap index");
+        }
+    }
+
+    /**
+     * A rule that no index can answer.
+     *
+     * @param rule          the rule
+     * @param negated       whether the rule is negated
+     * @param <ModelObject> the type of model object stored in the repository
+     */
+    private record Rule<ModelObject>(Repository.RepositoryRule<ModelObject> rule, boolean negated) {
+    }
+}
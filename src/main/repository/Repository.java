@@ -3,11 +3,21 @@ package main.repository;
 import main.model.Model;
 import main.utils.exception.ModelAlreadyExistsException;
 import main.utils.exception.ModelNotFoundException;
+import main.utils.iocontrol.GroupCommit;
 import main.utils.iocontrol.Savable;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * The Repository abstract class provides the basic functionality for storing, retrieving, and managing a list of model objects.
@@ -22,12 +32,75 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      */
     List<ModelObject> listOfModelObjects;
 
+    /**
+     * The position of each model object in {@link #listOfModelObjects}, keyed by its ID in lower case.
+     */
+    private final Map<String, Integer> positionByID;
+
+    /**
+     * The secondary indexes of the repository.
+     */
+    private final List<RepositoryIndex<ModelObject>> indexes;
+
+    /**
+     * The hash indexes of the repository, keyed by name.
+     */
+    private final Map<String, HashIndex<ModelObject>> hashIndexes;
+
+    /**
+     * The bitmap indexes of the repository, keyed by name.
+     */
+    private final Map<String, BitmapIndex<ModelObject, ?>> bitmapIndexes;
+
     /**
      * Creates a new instance of the Repository class.
      */
     public Repository() {
         super();
         listOfModelObjects = new ArrayList<>();
+        positionByID = new HashMap<>();
+        indexes = new ArrayList<>();
+        hashIndexes = new HashMap<>();
+        bitmapIndexes = new HashMap<>();
+    }
+
+    /**
+     * Adds a hash index on a field of the model objects.
+     * Subclasses add their indexes in their constructor, before loading the repository.
+     *
+     * @param name         the name of the index
+     * @param keyExtractor gets the indexed value of a model object
+     * @param ignoreCase   whether values are matched regardless of case
+     */
+    protected final void addHashIndex(String name, HashIndex.KeyExtractor<ModelObject> keyExtractor, boolean ignoreCase) {
+        HashIndex<ModelObject> index = new HashIndex<>(name, keyExtractor, ignoreCase);
+        addIndex(index);
+        hashIndexes.put(name, index);
+    }
+
+    /**
+     * Adds a bitmap index on an enum field of the model objects.
+     * Subclasses add their indexes in their constructor, before loading the repository.
+     *
+     * @param name           the name of the index
+     * @param enumClass      the class of the indexed enum
+     * @param valueExtractor gets the indexed value of a model object
+     * @param <E>            the type of the indexed enum
+     */
+    protected final <E extends Enum<E>> void addBitmapIndex(String name, Class<E> enumClass, BitmapIndex.ValueExtractor<ModelObject, E> valueExtractor) {
+        BitmapIndex<ModelObject, E> index = new BitmapIndex<>(name, enumClass, valueExtractor);
+        addIndex(index);
+        bitmapIndexes.put(name, index);
+    }
+
+    /**
+     * Adds a secondary index and builds it from the model objects already in the repository.
+     *
+     * @param index the index to add
+     */
+    protected final void addIndex(RepositoryIndex<ModelObject> index) {
+        index.rebuild(listOfModelObjects);
+        indexes.add(index);
     }
 
     /**
@@ -55,12 +128,76 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @throws ModelNotFoundException if the model object with the given ID does not exist
      */
     public ModelObject getByID(String modelObjectID) throws ModelNotFoundException {
-        for (ModelObject modelObject : listOfModelObjects) {
-            if (modelObject.getID().equalsIgnoreCase(modelObjectID)) {
-                return modelObject;
+        enlist();
+        return listOfModelObjects.get(getPosition(modelObjectID));
+    }
+
+    /**
+     * Gets the model objects with the given IDs in one lookup.
+     *
+     * @param modelObjectIDs the IDs of the model objects to get
+     * @return the model objects that exist, keyed by the IDs as given
+     */
+    public synchronized Map<String, ModelObject> getByIDs(Collection<String> modelObjectIDs) {
+        enlist();
+        Map<String, ModelObject> modelObjectsByID = new HashMap<>();
+        for (String modelObjectID : modelObjectIDs) {
+            Integer position = positionByID.get(toKey(modelObjectID));
+            if (position != null) {
+                modelObjectsByID.put(modelObjectID, listOfModelObjects.get(position));
+            }
+        }
+        return modelObjectsByID;
+    }
+
+    /**
+     * Gets the position of a model object in the list by ID.
+     *
+     * @param modelObjectID the ID of the model object
+     * @return the position of the model object with the given ID
+     * @throws ModelNotFoundException if the model object with the given ID does not exist
+     */
+    private int getPosition(String modelObjectID) throws ModelNotFoundException {
+        Integer position = positionByID.get(toKey(modelObjectID));
+        if (position == null) {
+            throw new ModelNotFoundException("No model object with ID " + modelObjectID + " exists.");
+        }
+        return position;
+    }
+
+    /**
+     * Converts an ID to the key used by the ID index, so that IDs are matched regardless of case.
+     *
+     * @param modelObjectID the ID of a model object
+     * @return the key of the ID in the ID index
+     */
+    private static String toKey(String modelObjectID) {
+        return modelObjectID == null ? null : modelObjectID.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Rebuilds the ID index for the model objects from the given position to the end of the list,
+     * and rebuilds the secondary indexes.
+     * <p>
+     * If several model objects share an ID, the first one is the one found by ID.
+     *
+     * @param fromPosition the position of the first model object to index
+     */
+    private void reindexFrom(int fromPosition) {
+        for (RepositoryIndex<ModelObject> index : indexes) {
+            index.rebuild(listOfModelObjects);
+        }
+        if (fromPosition == 0) {
+            positionByID.clear();
+        }
+        for (int position = fromPosition; position < listOfModelObjects.size(); position++) {
+            String key = toKey(listOfModelObjects.get(position).getID());
+            if (fromPosition == 0) {
+                positionByID.putIfAbsent(key, position);
+            } else {
+                positionByID.put(key, position);
             }
         }
-        throw new ModelNotFoundException("No model object with ID " + modelObjectID + " exists.");
     }
 
     /**
@@ -70,12 +207,7 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @return true if the repository contains a model object with the given ID, false otherwise
      */
     public boolean contains(String modelObjectID) {
-        try {
-            getByID(modelObjectID);
-            return true;
-        } catch (ModelNotFoundException e) {
-            return false;
-        }
+        return positionByID.containsKey(toKey(modelObjectID));
     }
 
     /**
@@ -84,12 +216,17 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @param modelObject the model object to add
      * @throws ModelAlreadyExistsException if a model object with the same ID already exists in the repository
      */
-    public void add(ModelObject modelObject) throws ModelAlreadyExistsException {
+    public synchronized void add(ModelObject modelObject) throws ModelAlreadyExistsException {
         if (contains(modelObject.getID())) {
             throw new ModelAlreadyExistsException("A model object with ID " + modelObject.getID() + " already exists.");
         } else {
+            int position = listOfModelObjects.size();
             listOfModelObjects.add(modelObject);
-            save(getFilePath());
+            positionByID.put(toKey(modelObject.getID()), position);
+            for (RepositoryIndex<ModelObject> index : indexes) {
+                index.add(position, modelObject);
+            }
+            persistPut(modelObject);
         }
     }
 
@@ -99,9 +236,12 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @param modelObjectID the ID of the model object to remove
      * @throws ModelNotFoundException if the model object with the given ID does not exist
      */
-    public void remove(String modelObjectID) throws ModelNotFoundException {
-        listOfModelObjects.remove(getByID(modelObjectID));
-        save(getFilePath());
+    public synchronized void remove(String modelObjectID) throws ModelNotFoundException {
+        int position = getPosition(modelObjectID);
+        listOfModelObjects.remove(position);
+        positionByID.remove(toKey(modelObjectID));
+        reindexFrom(position);
+        persistDelete(modelObjectID);
     }
 
     /**
@@ -125,9 +265,10 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
     /**
      * Removes all model objects from this repository.
      */
-    public void clear() {
+    public synchronized void clear() {
         listOfModelObjects.clear();
-        save(getFilePath());
+        reindexFrom(0);
+        persistAll();
     }
 
     /**
@@ -136,10 +277,39 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      * @param modelObject the model object to update
      * @throws ModelNotFoundException if the specified model object is not found in the repository
      */
-    public void update(ModelObject modelObject) throws ModelNotFoundException {
-        ModelObject oldModelObject = getByID(modelObject.getID());
-        listOfModelObjects.set(listOfModelObjects.indexOf(oldModelObject), modelObject);
-        save(getFilePath());
+    public synchronized void update(ModelObject modelObject) throws ModelNotFoundException {
+        updateAt(getPosition(modelObject.getID()), modelObject);
+    }
+
+    /**
+     * Updates the specified model object in the repository, only if it is the very object that the repository holds.
+     * This fails if the repository has been reloaded since the model object was got from it.
+     *
+     * @param modelObject the model object to update
+     * @return true if the model object was updated, false if the repository holds another object with its ID
+     * @throws ModelNotFoundException if the specified model object is not found in the repository
+     */
+    protected synchronized boolean updateIfCurrent(ModelObject modelObject) throws ModelNotFoundException {
+        int position = getPosition(modelObject.getID());
+        if (listOfModelObjects.get(position) != modelObject) {
+            return false;
+        }
+        updateAt(position, modelObject);
+        return true;
+    }
+
+    /**
+     * Updates the model object at a position of the list, its index entries, and its saved copy.
+     *
+     * @param position    the position of the model object in the list
+     * @param modelObject the model object as it is now
+     */
+    private void updateAt(int position, ModelObject modelObject) {
+        listOfModelObjects.set(position, modelObject);
+        for (RepositoryIndex<ModelObject> index : indexes) {
+            index.update(position, modelObject);
+        }
+        persistPut(modelObject);
     }
 
     /**
@@ -147,24 +317,186 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      *
      * @param modelObjects the list of model objects to update
      */
-    public void updateAll(List<ModelObject> modelObjects) {
+    public synchronized void updateAll(List<ModelObject> modelObjects) {
         listOfModelObjects = modelObjects;
-        save(getFilePath());
+        reindexFrom(0);
+        persistAll();
     }
 
     /**
      * Loads the list of model objects from the repository file.
+     * Changes to the file pending in any repository are written first, so that the file is up to date.
      */
     public void load() {
-        this.listOfModelObjects = new ArrayList<>();
-        load(getFilePath());
+        GroupCommit.flush(getFilePath());
+        synchronized (this) {
+            this.listOfModelObjects = new ArrayList<>();
+            load(getFilePath());
+            reindexFrom(0);
+        }
+    }
+
+    /**
+     * Checks whether the repository file has been changed since this repository last loaded or saved it.
+     *
+     * @return true if the repository file has been changed by someone else, false otherwise
+     */
+    public boolean isOutdated() {
+        return isOutdated(getFilePath());
+    }
+
+    /**
+     * Reloads the list of model objects from the repository file if the file has been changed
+     * since this repository last loaded or saved it.
+     * <p>
+     * A repository that takes part in the unit of work open on the thread is not reloaded, since that would drop the
+     * changes kept for it while the unit of work would still save them. The unit of work is failed instead, so that
+     * it is not committed over changes it has not seen, and rolling it back reloads the repository.
+     *
+     * @throws IllegalStateException if the repository takes part in the open unit of work and its file has been changed
+     */
+    public void reloadIfOutdated() {
+        if (!isOutdated()) {
+            return;
+        }
+        UnitOfWork unitOfWork = UnitOfWork.current();
+        if (unitOfWork != null && unitOfWork.isEnlisted(this)) {
+            unitOfWork.fail();
+            throw new IllegalStateException("The data has been changed by someone else during the unit of work: " + getFilePath());
+        }
+        load();
+    }
+
+    /**
+     * Adds the model objects loaded from the repository file to the repository.
+     *
+     * @param listOfMappableObjects the model objects loaded from the repository file, in order
+     */
+    @Override
+    protected void setAll(List<ModelObject> listOfMappableObjects) {
+        listOfModelObjects.addAll(listOfMappableObjects);
+    }
+
+    /**
+     * Applies the records of the log to the model objects loaded from the repository file, in order.
+     * A put record replaces the model object with the same ID in place, or appends the model object if there is none,
+     * and a delete record removes the model object with the ID.
+     *
+     * @param logRecords the records of the log
+     */
+    @Override
+    protected void replayLog(List<LogRecord<ModelObject>> logRecords) {
+        Map<String, ModelObject> modelObjectsByID = new LinkedHashMap<>();
+        for (ModelObject modelObject : listOfModelObjects) {
+            modelObjectsByID.putIfAbsent(toKey(modelObject.getID()), modelObject);
+        }
+        for (LogRecord<ModelObject> logRecord : logRecords) {
+            if (logRecord.isDeletion()) {
+                modelObjectsByID.remove(toKey(logRecord.key()));
+            } else {
+                modelObjectsByID.put(toKey(logRecord.key()), logRecord.mappableObject());
+            }
+        }
+        listOfModelObjects = new ArrayList<>(modelObjectsByID.values());
+    }
+
+    /**
+     * Saves a model object that has been added or changed, or keeps the change in the open unit of work.
+     *
+     * @param modelObject the model object as it is now
+     */
+    private void persistPut(ModelObject modelObject) {
+        UnitOfWork unitOfWork = UnitOfWork.current();
+        if (unitOfWork != null) {
+            unitOfWork.keep(this, toPutRecord(modelObject.getID(), modelObject));
+        } else {
+            savePut(getFilePath(), modelObject.getID(), modelObject);
+        }
+    }
+
+    /**
+     * Saves the removal of a model object, or keeps the change in the open unit of work.
+     *
+     * @param modelObjectID the ID of the removed model object
+     */
+    private void persistDelete(String modelObjectID) {
+        UnitOfWork unitOfWork = UnitOfWork.current();
+        if (unitOfWork != null) {
+            unitOfWork.keep(this, toDeleteRecord(modelObjectID));
+        } else {
+            saveDelete(getFilePath(), modelObjectID);
+        }
+    }
+
+    /**
+     * Saves all model objects, or keeps the change to the whole repository in the open unit of work.
+     */
+    private void persistAll() {
+        UnitOfWork unitOfWork = UnitOfWork.current();
+        if (unitOfWork != null) {
+            unitOfWork.keepWholeRepository(this);
+        } else {
+            save(getFilePath());
+        }
+    }
+
+    /**
+     * Writes the model objects as they are now to the commit file of the repository file, for a unit of work.
+     */
+    void writeCommitFile() {
+        writeCommitFile(getFilePath());
+    }
+
+    /**
+     * Replaces the repository file with its commit file once the unit of work that wrote it has been committed.
+     */
+    void installCommitted() {
+        installCommitted(getFilePath());
+    }
+
+    /**
+     * Enlists the repository in the unit of work open on the current thread, if any, before a model object is got
+     * from it, so that rolling back the unit of work reloads the repository even if the model object is changed
+     * and the change is never passed back to the repository.
+     */
+    private void enlist() {
+        UnitOfWork unitOfWork = UnitOfWork.current();
+        if (unitOfWork != null) {
+            unitOfWork.enlist(this);
+        }
+    }
+
+    /**
+     * Reloads the list of model objects from the repository file, and applies to it the log records that a unit of
+     * work has kept for the repository but not yet committed, for a savepoint of the unit of work that is rolled back.
+     *
+     * @param records the log records kept before the savepoint, in order
+     */
+    void restore(List<String> records) {
+        load();
+        if (records.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            replayLog(readLogRecords(records));
+            reindexFrom(0);
+        }
+    }
+
+    /**
+     * Appends the log records committed by a unit of work to the log of the repository file.
+     *
+     * @param records the log records, in order
+     */
+    void appendCommitted(List<String> records) {
+        appendCommitted(getFilePath(), records);
     }
 
     /**
      * Saves the list of model objects to the repository file.
      */
     public void save() {
-        save(getFilePath());
+        persistAll();
     }
 
     /**
@@ -174,6 +506,7 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      */
     @Override
     public Iterator<ModelObject> iterator() {
+        enlist();
         return listOfModelObjects.iterator();
     }
 
@@ -200,6 +533,7 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
      */
     @SafeVarargs
     public final List<ModelObject> findByRules(RepositoryRule<ModelObject>... rules) {
+        enlist();
         List<ModelObject> modelObjects = new ArrayList<>();
         for (ModelObject modelObject : listOfModelObjects) {
             boolean isMatch = true;
@@ -216,13 +550,531 @@ public abstract class Repository<ModelObject extends Model> extends Savable<Mode
         return modelObjects;
     }
 
+    /**
+     * Gets a sequential stream of the model objects in the repository, in repository order.
+     * <p>
+     * The stream is lazy: model objects are only read as the stream is consumed, and short-circuiting operations
+     * such as {@code anyMatch} or {@code findFirst} stop at the first match. Like {@link #iterator()}, the stream
+     * reads the repository as it is consumed, so it should be consumed before the repository is changed.
+     *
+     * @return a stream of the model objects in the repository
+     */
+    public Stream<ModelObject> stream() {
+        enlist();
+        return listOfModelObjects.stream();
+    }
+
+    /**
+     * Counts the model objects in the repository that match the specified rules, without collecting them.
+     * Like {@link #findFirst} and {@link #exists}, it enlists the repository in the open unit of work, since the rules
+     * are given the model objects.
+     *
+     * @param rules the rules to match
+     * @return the number of model objects that match the rules
+     */
+    @SafeVarargs
+    public final synchronized int count(RepositoryRule<ModelObject>... rules) {
+        enlist();
+        if (rules.length == 0) {
+            return listOfModelObjects.size();
+        }
+        int count = 0;
+        for (ModelObject modelObject : listOfModelObjects) {
+            boolean isMatch = true;
+            for (RepositoryRule<ModelObject> rule : rules) {
+                if (!rule.isMatch(modelObject)) {
+                    isMatch = false;
+                    break;
+                }
+            }
+            if (isMatch) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the first model object in the repository that matches the specified rules.
+     * The search stops at the first match.
+     *
+     * @param rules the rules to match
+     * @return the first model object that matches the rules, in repository order, or an empty optional if there is none
+     */
+    @SafeVarargs
+    public final synchronized Optional<ModelObject> findFirst(RepositoryRule<ModelObject>... rules) {
+        enlist();
+        for (ModelObject modelObject : listOfModelObjects) {
+            boolean isMatch = true;
+            for (RepositoryRule<ModelObject> rule : rules) {
+                if (!rule.isMatch(modelObject)) {
+                    isMatch = false;
+                    break;
+                }
+            }
+            if (isMatch) {
+                return Optional.of(modelObject);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks whether any model object in the repository matches the specified rules.
+     * The search stops at the first match.
+     *
+     * @param rules the rules to match
+     * @return true if a model object matches the rules, false otherwise
+     */
+    @SafeVarargs
+    public final synchronized boolean exists(RepositoryRule<ModelObject>... rules) {
+        enlist();
+        for (ModelObject modelObject : listOfModelObjects) {
+            boolean isMatch = true;
+            for (RepositoryRule<ModelObject> rule : rules) {
+                if (!rule.isMatch(modelObject)) {
+                    isMatch = false;
+                    break;
+                }
+            }
+            if (isMatch) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds all model objects in the repository whose indexed field has the specified value and that match
+     * the specified rules.
+     * <p>
+     * Only the model objects with the value are checked against the rules, so this takes time proportional to
+     * the number of model objects with the value rather than to the size of the repository.
+     * <p>
+     * Here is an example of how to use this method:
+     *
+     * <pre>
+     * List&lt;Request&gt; requests = repository.findByIndex(RequestRepository.SUPERVISOR_ID, "BOAN001",
+     *     request -&gt; request.getStatus() == RequestStatus.PENDING
+     * );
+     * </pre>
+     *
+     * @param indexName the name of the hash index to look up
+     * @param key       the value to look up
+     * @param rules     the rules to match
+     * @return a list of all model objects with the value that match the specified rules, in repository order
+     * @throws IllegalArgumentException if the repository has no hash index with the specified name
+     */
+    @SafeVarargs
+    public final List<ModelObject> findByIndex(String indexName, String key, RepositoryRule<ModelObject>... rules) {
+        enlist();
+        List<ModelObject> modelObjects = new ArrayList<>();
+        for (int position : getHashIndex(indexName).getPositions(key)) {
+            ModelObject modelObject = listOfModelObjects.get(position);
+            boolean isMatch = true;
+            for (RepositoryRule<ModelObject> rule : rules) {
+                if (!rule.isMatch(modelObject)) {
+                    isMatch = false;
+                    break;
+                }
+            }
+            if (isMatch) {
+                modelObjects.add(modelObject);
+            }
+        }
+        return modelObjects;
+    }
+
+    /**
+     * Finds all model objects in the repository that match all the specified criteria.
+     * <p>
+     * The criteria on indexed fields are answered from the indexes, starting from the most selective of them, and
+     * the rules that no index can answer are only checked on the model objects that the indexes leave. The plan
+     * that is followed can be seen with {@link #explain}. Here is an example of how to use this method:
+     *
+     * <pre>
+     * List&lt;Request&gt; requests = repository.findByCriteria(
+     *     Criterion.equalTo(RequestRepository.SUPERVISOR_ID, "BOAN001"),
+     *     Criterion.is(RequestRepository.STATUS, RequestStatus.PENDING)
+     * );
+     * </pre>
+     *
+     * @param criteria the criteria to match
+     * @return a list of all model objects that match the criteria, in repository order
+     * @throws IllegalArgumentException if a criterion names an index that the repository does not have
+     */
+    @SafeVarargs
+    public final synchronized List<ModelObject> findByCriteria(Criterion<ModelObject>... criteria) {
+        enlist();
+        List<Criterion<ModelObject>> criterionList = new ArrayList<>(criteria.length);
+        for (Criterion<ModelObject> criterion : criteria) {
+            criterionList.add(criterion);
+        }
+        return plan(criterionList).execute(listOfModelObjects);
+    }
+
+    /**
+     * Describes how {@link #findByCriteria} would find the model objects that match the specified criteria,
+     * for diagnostics.
+     *
+     * @param criteria the criteria to match
+     * @return the description of the plan, one step on each line
+     * @throws IllegalArgumentException if a criterion names an index that the repository does not have
+     */
+    @SafeVarargs
+    public final synchronized String explain(Criterion<ModelObject>... criteria) {
+        List<Criterion<ModelObject>> criterionList = new ArrayList<>(criteria.length);
+        for (Criterion<ModelObject> criterion : criteria) {
+            criterionList.add(criterion);
+        }
+        return plan(criterionList).explain();
+    }
+
+    /**
+     * Plans how to find the model objects that match the specified criteria.
+     * The criteria are copied out of the varargs array by the callers, which only read its elements.
+     *
+     * @param criteria the criteria to match
+     * @return the plan
+     */
+    private QueryPlan<ModelObject> plan(List<Criterion<ModelObject>> criteria) {
+        return new QueryPlan<>(criteria, listOfModelObjects.size(), hashIndexes, bitmapIndexes);
+    }
+
+    /**
+     * Gets the positions of the model objects whose indexed enum field has any of the specified values.
+     * <p>
+     * The positions are returned as a new bitset, so that conditions on several enum fields can be combined
+     * a word at a time before the model objects are fetched with {@link #findByPositions}.
+     * Here is an example of how to find the pending requests that are not title changes:
+     *
+     * <pre>
+     * BitSet positions = repository.getPositions(RequestRepository.STATUS, RequestStatus.PENDING);
+     * positions.andNot(repository.getPositions(RequestRepository.REQUEST_TYPE, RequestType.STUDENT_CHANGE_TITLE));
+     * List&lt;Request&gt; requests = repository.findByPositions(positions);
+     * </pre>
+     *
+     * @param indexName the name of the bitmap index to look up
+     * @param values    the values to look up
+     * @return a new bitset with the positions of the model objects with any of the values
+     * @throws IllegalArgumentException if the repository has no bitmap index with the specified name,
+     *                                  or a value is not of the indexed enum
+     */
+    public BitSet getPositions(String indexName, Enum<?>... values) {
+        BitmapIndex<ModelObject, ?> index = bitmapIndexes.get(indexName);
+        if (index == null) {
+            throw new IllegalArgumentException("No index named " + indexName + " exists.");
+        }
+        return index.getPositions(values);
+    }
+
+    /**
+     * Finds the model objects at the specified positions that match the specified rules.
+     *
+     * @param positions the positions of the model objects, as returned by {@link #getPositions}
+     * @param rules     the rules to match
+     * @return a list of the model objects at the positions that match the rules, in repository order
+     */
+    @SafeVarargs
+    public final List<ModelObject> findByPositions(BitSet positions, RepositoryRule<ModelObject>... rules) {
+        enlist();
+        List<ModelObject> modelObjects = new ArrayList<>();
+        for (int position = positions.nextSetBit(0); position >= 0 && position < listOfModelObjects.size(); position = positions.nextSetBit(position + 1)) {
+            ModelObject modelObject = listOfModelObjects.get(position);
+            boolean isMatch = true;
+            for (RepositoryRule<ModelObject> rule : rules) {
+                if (!rule.isMatch(modelObject)) {
+                    isMatch = false;
+                    break;
+                }
+            }
+            if (isMatch) {
+                modelObjects.add(modelObject);
+            }
+        }
+        return modelObjects;
+    }
+
+    /**
+     * Finds the model objects at the specified positions, in the order of the positions.
+     *
+     * @param positions the positions of the model objects, as returned by an index that keeps its own order
+     * @return a list of the model objects at the positions, in the order of the positions
+     */
+    public final List<ModelObject> findByPositions(List<Integer> positions) {
+        enlist();
+        List<ModelObject> modelObjects = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            if (position < listOfModelObjects.size()) {
+                modelObjects.add(listOfModelObjects.get(position));
+            }
+        }
+        return modelObjects;
+    }
+
+    /**
+     * Gets the position of a model object in the repository.
+     *
+     * @param modelObjectID the ID of the model object
+     * @return the position of the model object, or -1 if the repository does not contain it
+     */
+    public int indexOf(String modelObjectID) {
+        Integer position = modelObjectID == null ? null : positionByID.get(toKey(modelObjectID));
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Gets a page of the model objects in the repository, in repository order.
+     * <p>
+     * Only the model objects on the page are fetched, so this takes time proportional to the size of the page
+     * rather than to the size of the repository. A cursor is the position of the first model object on its page,
+     * so it stays valid while model objects are added, as they are appended to the end.
+     *
+     * @param cursor   the cursor of the page, as given by another page or {@link #getPageCursor}, or 0 for the first page
+     * @param pageSize the number of model objects on a page
+     * @return the page
+     * @throws IllegalArgumentException if the page size is not positive
+     */
+    public synchronized Page<ModelObject> getPage(int cursor, int pageSize) {
+        enlist();
+        checkPageSize(pageSize);
+        int size = listOfModelObjects.size();
+        int from = Math.max(0, Math.min(cursor, size));
+        int to = (int) Math.min(size, (long) from + pageSize);
+        return new Page<>(new ArrayList<>(listOfModelObjects.subList(from, to)), from,
+                to < size ? to : -1,
+                from > 0 ? Math.max(0, from - pageSize) : -1,
+                from / pageSize, getPageCount(size, pageSize));
+    }
+
+    /**
+     * Gets the cursor of a page of the model objects in the repository.
+     *
+     * @param number   the number of the page, starting from 0, which is kept within the pages there are
+     * @param pageSize the number of model objects on a page
+     * @return the cursor of the page
+     * @throws IllegalArgumentException if the page size is not positive
+     */
+    public synchronized int getPageCursor(int number, int pageSize) {
+        checkPageSize(pageSize);
+        int pageCount = getPageCount(listOfModelObjects.size(), pageSize);
+        return Math.max(0, Math.min(number, pageCount - 1)) * pageSize;
+    }
+
+    /**
+     * Gets a page of the model objects whose indexed field has the specified value, in repository order.
+     * <p>
+     * The page is found from the hash index, so this takes time proportional to the size of the page and the
+     * logarithm of the number of model objects with the value. Only counting the pages before the cursor takes
+     * time proportional to the number of model objects on them.
+     *
+     * @param indexName the name of the hash index to look up
+     * @param key       the value to look up
+     * @param cursor    the cursor of the page, as given by another page or {@link #findPageCursorByIndex}, or 0 for the first page
+     * @param pageSize  the number of model objects on a page
+     * @return the page
+     * @throws IllegalArgumentException if the repository has no hash index with the specified name,
+     *                                  or the page size is not positive
+     */
+    public synchronized Page<ModelObject> findPageByIndex(String indexName, String key, int cursor, int pageSize) {
+        enlist();
+        checkPageSize(pageSize);
+        NavigableSet<Integer> positions = getHashIndex(indexName).getPositions(key);
+        List<ModelObject> modelObjects = new ArrayList<>(Math.min(pageSize, positions.size()));
+        Iterator<Integer> following = positions.tailSet(cursor, true).iterator();
+        Integer first = null;
+        while (modelObjects.size() < pageSize && following.hasNext()) {
+            int position = following.next();
+            if (first == null) {
+                first = position;
+            }
+            modelObjects.add(listOfModelObjects.get(position));
+        }
+        int from = first == null ? cursor : first;
+        NavigableSet<Integer> before = positions.headSet(from, false);
+        int previousCursor = -1;
+        Iterator<Integer> preceding = before.descendingIterator();
+        for (int i = 0; i < pageSize && preceding.hasNext(); i++) {
+            previousCursor = preceding.next();
+        }
+        return new Page<>(modelObjects, from,
+                following.hasNext() ? following.next() : -1,
+                previousCursor,
+                before.size() / pageSize, getPageCount(positions.size(), pageSize));
+    }
+
+    /**
+     * Gets the cursor of a page of the model objects whose indexed field has the specified value.
+     * This takes time proportional to the number of model objects on the pages before it.
+     *
+     * @param indexName the name of the hash index to look up
+     * @param key       the value to look up
+     * @param number    the number of the page, starting from 0, which is kept within the pages there are
+     * @param pageSize  the number of model objects on a page
+     * @return the cursor of the page
+     * @throws IllegalArgumentException if the repository has no hash index with the specified name,
+     *                                  or the page size is not positive
+     */
+    public synchronized int findPageCursorByIndex(String indexName, String key, int number, int pageSize) {
+        checkPageSize(pageSize);
+        NavigableSet<Integer> positions = getHashIndex(indexName).getPositions(key);
+        int skip = Math.max(0, Math.min(number, getPageCount(positions.size(), pageSize) - 1)) * pageSize;
+        Iterator<Integer> iterator = positions.iterator();
+        for (int i = 0; i < skip; i++) {
+            iterator.next();
+        }
+        return iterator.hasNext() ? iterator.next() : 0;
+    }
+
+    /**
+     * Gets the pages of the model objects in the repository, in repository order.
+     * The repository is reloaded first if its file has changed, each time a page is fetched.
+     *
+     * @return the source of the pages
+     */
+    public PageSource<ModelObject> pages() {
+        return new PageSource<>() {
+            @Override
+            public Page<ModelObject> getPage(int cursor, int pageSize) {
+                reloadIfOutdated();
+                return Repository.this.getPage(cursor, pageSize);
+            }
+
+            @Override
+            public int getPageCursor(int number, int pageSize) {
+                reloadIfOutdated();
+                return Repository.this.getPageCursor(number, pageSize);
+            }
+        };
+    }
+
+    /**
+     * Gets the pages of the model objects whose indexed field has the specified value, in repository order.
+     * The repository is reloaded first if its file has changed, each time a page is fetched.
+     *
+     * @param indexName the name of the hash index to look up
+     * @param key       the value to look up
+     * @return the source of the pages
+     */
+    public PageSource<ModelObject> pagesByIndex(String indexName, String key) {
+        return new PageSource<>() {
+            @Override
+            public Page<ModelObject> getPage(int cursor, int pageSize) {
+                reloadIfOutdated();
+                return findPageByIndex(indexName, key, cursor, pageSize);
+            }
+
+            @Override
+            public int getPageCursor(int number, int pageSize) {
+                reloadIfOutdated();
+                return findPageCursorByIndex(indexName, key, number, pageSize);
+            }
+        };
+    }
+
+    /**
+     * Gets a hash index of the repository by name.
+     *
+     * @param indexName the name of the hash index
+     * @return the hash index
+     * @throws IllegalArgumentException if the repository has no hash index with the specified name
+     */
+    private HashIndex<ModelObject> getHashIndex(String indexName) {
+        HashIndex<ModelObject> index = hashIndexes.get(indexName);
+        if (index == null) {
+            throw new IllegalArgumentException("No index named " + indexName + " exists.");
+        }
+        return index;
+    }
+
+    /**
+     * Checks that a page size is positive.
+     *
+     * @param pageSize the page size
+     * @throws IllegalArgumentException if the page size is not positive
+     */
+    private static void checkPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("The page size must be positive.");
+        }
+    }
+
+    /**
+     * Gets the number of pages that a number of model objects fill, which is at least one.
+     *
+     * @param size     the number of model objects
+     * @param pageSize the number of model objects on a page
+     * @return the number of pages
+     */
+    private static int getPageCount(int size, int pageSize) {
+        return Math.max(1, (int) (((long) size + pageSize - 1) / pageSize));
+    }
+
     /**
      * Gets a list of all model objects in the repository.
      *
      * @return a list of all model objects in the repository
      */
-    public List<ModelObject> getList() {
-        return findByRules();
+    public synchronized List<ModelObject> getList() {
+        enlist();
+        return new ArrayList<>(listOfModelObjects);
+    }
+
+    /**
+     * A page of model objects, with the cursors of the pages around it.
+     *
+     * @param items          the model objects on the page, in order
+     * @param cursor         the cursor of the page
+     * @param nextCursor     the cursor of the next page, or -1 if this is the last page
+     * @param previousCursor the cursor of the previous page, or -1 if this is the first page
+     * @param number         the number of the page, starting from 0
+     * @param pageCount      the number of pages, which is at least one
+     * @param <ModelObject>  the type of model object stored in the repository
+     */
+    public record Page<ModelObject>(List<ModelObject> items, int cursor, int nextCursor, int previousCursor,
+                                    int number, int pageCount) {
+        /**
+         * Checks whether there is a page after this one.
+         *
+         * @return true if there is a next page, false otherwise
+         */
+        public boolean hasNext() {
+            return nextCursor >= 0;
+        }
+
+        /**
+         * Checks whether there is a page before this one.
+         *
+         * @return true if there is a previous page, false otherwise
+         */
+        public boolean hasPrevious() {
+            return previousCursor >= 0;
+        }
+    }
+
+    /**
+     * Provides the pages of a list of model objects, one page at a time.
+     *
+     * @param <ModelObject> the type of model object stored in the repository
+     */
+    public interface PageSource<ModelObject> {
+        /**
+         * Gets a page.
+         *
+         * @param cursor   the cursor of the page, as given by another page or {@link #getPageCursor}, or 0 for the first page
+         * @param pageSize the number of model objects on a page
+         * @return the page
+         */
+        Page<ModelObject> getPage(int cursor, int pageSize);
+
+        /**
+         * Gets the cursor of a page by its number.
+         *
+         * @param number   the number of the page, starting from 0, which is kept within the pages there are
+         * @param pageSize the number of model objects on a page
+         * @return the cursor of the page
+         */
+        int getPageCursor(int number, int pageSize);
     }
 
     /**
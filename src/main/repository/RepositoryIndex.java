@@ -0,0 +1,46 @@
+package main.repository;
+
+import java.util.List;
+
+/**
+ * The RepositoryIndex interface is implemented by the indexes that a {@link Repository} keeps next to its list of
+ * model objects.
+ * <p>
+ * An index refers to model objects by their position in the list of the repository, and the repository informs
+ * its indexes of every change to the list.
+ *
+ * @param <ModelObject> the type of model object stored in the repository
+ */
+public interface RepositoryIndex<ModelObject> {
+    /**
+     * Gets the name of the index, which is used to refer to the index in queries.
+     *
+     * @return the name of the index
+     */
+    String getName();
+
+    /**
+     * Rebuilds the index from a list of model objects.
+     * This is called when the list of the repository is replaced or when model objects are removed from it.
+     *
+     * @param modelObjects the model objects stored in the repository, in order
+     */
+    void rebuild(List<ModelObject> modelObjects);
+
+    /**
+     * Adds a model object that has been appended to the list of the repository.
+     *
+     * @param position    the position of the model object in the list
+     * @param modelObject the model object
+     */
+    void add(int position, ModelObject modelObject);
+
+    /**
+     * Updates the index entry of a model object that has been updated in the list of the repository.
+     * The index keeps the entry it had for the position, so it does not need the model object as it was before.
+     *
+     * @param position    the position of the model object in the list
+     * @param modelObject the model object as it is now
+     */
+    void update(int position, ModelObject modelObject);
+}
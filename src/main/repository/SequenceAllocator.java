@@ -0,0 +1,214 @@
+package main.repository;
+
+import main.model.Model;
+import main.utils.config.Location;
+import main.utils.config.Persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * The SequenceAllocator class hands out the IDs of new model objects, such as "R12" or "P3".
+ * <p>
+ * The last number reserved is kept in a file. A session reserves a block of {@link Persistence#SEQUENCE_BLOCK_SIZE}
+ * numbers at a time while holding a lock on the file, and hands them out from memory, so sessions running at the
+ * same time never hand out the same ID and getting an ID does not depend on how many objects there are.
+ * When the session ends, the numbers reserved but not handed out are given back, unless another session has
+ * reserved a block after them in the meantime. In that case they are skipped, so the IDs are unique and increasing
+ * but not always consecutive.
+ * <p>
+ * When the file does not exist yet, the sequence starts after the largest number among the IDs already in the
+ * repository. An ID that is somehow already in the repository is skipped.
+ */
+public class SequenceAllocator {
+
+    /**
+     * The prefix of the IDs.
+     */
+    private final String prefix;
+
+    /**
+     * The path of the file that holds the last number reserved.
+     */
+    private final String filePath;
+
+    /**
+     * Gets the repository that the IDs are for.
+     */
+    private final Supplier<? extends Repository<? extends Model>> repositorySupplier;
+
+    /**
+     * The next number to hand out.
+     */
+    private long next = 0;
+
+    /**
+     * The number after the last one of the reserved block.
+     */
+    private long limit = 0;
+
+    /**
+     * Creates a new sequence allocator.
+     *
+     * @param name               the name of the sequence, which names its file
+     * @param prefix             the prefix of the IDs
+     * @param repositorySupplier gets the repository that the IDs are for
+     */
+    public SequenceAllocator(String name, String prefix, Supplier<? extends Repository<? extends Model>> repositorySupplier) {
+        this.prefix = prefix;
+        this.filePath = Location.RESOURCE_LOCATION + "/data/sequence/" + name + ".txt";
+        this.repositorySupplier = repositorySupplier;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::releaseQuietly, "sequence-" + name));
+    }
+
+    /**
+     * Gets the ID of the next model object.
+     *
+     * @return the ID, which is not in the repository
+     * @throws RuntimeException if the sequence file could not be read or written
+     */
+    public synchronized String nextID() {
+        Repository<? extends Model> repository = repositorySupplier.get();
+        while (true) {
+            if (next >= limit) {
+                reserveBlock(repository);
+            }
+            String id = prefix + next++;
+            if (!repository.contains(id)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Reserves the next block of numbers in the sequence file.
+     *
+     * @param repository the repository that the IDs are for, used when the sequence file does not exist yet
+     * @throws RuntimeException if the sequence file could not be read or written
+     */
+    private void reserveBlock(Repository<? extends Model> repository) {
+        File file = new File(filePath);
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+             FileChannel fileChannel = randomAccessFile.getChannel()) {
+            fileChannel.lock();
+            Long last = readLastNumber(fileChannel);
+            long start = (last == null ? getLargestNumber(repository) : last) + 1;
+            long end = start + Persistence.SEQUENCE_BLOCK_SIZE;
+            writeLastNumber(fileChannel, end - 1);
+            next = start;
+            limit = end;
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + filePath);
+        }
+    }
+
+    /**
+     * Gives back the numbers of the reserved block that have not been handed out, if no other session has reserved
+     * numbers after them.
+     *
+     * @throws RuntimeException if the sequence file could not be read or written
+     */
+    public synchronized void release() {
+        if (next >= limit || !new File(filePath).exists()) {
+            return;
+        }
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(filePath, "rw");
+             FileChannel fileChannel = randomAccessFile.getChannel()) {
+            fileChannel.lock();
+            Long last = readLastNumber(fileChannel);
+            if (last != null && last == limit - 1) {
+                writeLastNumber(fileChannel, next - 1);
+            }
+            limit = next;
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + filePath);
+        }
+    }
+
+    /**
+     * Gives back the unused numbers when the program exits, and prints the failure if they could not be,
+     * since no thread is left to report it to.
+     */
+    private void releaseQuietly() {
+        try {
+            release();
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the last number reserved from the locked sequence file.
+     * The lock is released when the channel is closed.
+     *
+     * @param fileChannel the channel of the sequence file
+     * @return the last number reserved, or null if the file is empty or does not hold a number
+     * @throws IOException if the file could not be read
+     */
+    private static Long readLastNumber(FileChannel fileChannel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) fileChannel.size());
+        while (buffer.hasRemaining()) {
+            if (fileChannel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        return parseNumber(new String(buffer.array(), StandardCharsets.UTF_8).trim(), "");
+    }
+
+    /**
+     * Writes the last number reserved to the locked sequence file, and forces it to disk.
+     *
+     * @param fileChannel the channel of the sequence file
+     * @param last        the last number reserved
+     * @throws IOException if the file could not be written
+     */
+    private static void writeLastNumber(FileChannel fileChannel, long last) throws IOException {
+        fileChannel.truncate(0);
+        fileChannel.write(ByteBuffer.wrap(Long.toString(last).getBytes(StandardCharsets.UTF_8)), 0);
+        fileChannel.force(true);
+    }
+
+    /**
+     * Gets the largest number among the IDs in the repository that have the prefix of the sequence.
+     *
+     * @param repository the repository
+     * @return the largest number, or 0 if there is none
+     */
+    private long getLargestNumber(Repository<? extends Model> repository) {
+        long max = 0;
+        for (Model model : repository) {
+            Long number = parseNumber(model.getID(), prefix);
+            if (number != null && number > max) {
+                max = number;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Gets the number of an ID.
+     *
+     * @param id     the ID
+     * @param prefix the prefix of the ID
+     * @return the number after the prefix, or null if the ID does not consist of the prefix and a number
+     */
+    private static Long parseNumber(String id, String prefix) {
+        if (id == null || id.length() <= prefix.length() || !id.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package main.repository;
+
+import main.utils.iocontrol.Journal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The UnitOfWork class groups the changes made to several repositories into one transaction.
+ * <p>
+ * While a unit of work is open on a thread, the changes that repositories make on that thread are kept in the
+ * unit of work instead of being saved. Committing the unit of work first saves all of them to the {@link Journal} in one
+ * write that is forced to disk, so either all or none of them survive a failure, then appends the changes of each
+ * repository to its log in one write, and then deletes the journal. A commit therefore costs the same few writes
+ * however many changes it holds, rather than a write for each change. Closing a unit of work that has not been
+ * committed rolls it back by reloading the repositories that took part in it from their files. A repository takes
+ * part once a model object is got from it or changed in it, so a model object that was changed before the unit of
+ * work failed is restored even if the change never reached its repository.
+ * <pre>{@code
+ * try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+ *     ProjectRepository.getInstance().update(project);
+ *     StudentRepository.getInstance().update(student);
+ *     unitOfWork.commit();
+ * }
+ * }</pre>
+ * A unit of work begun while another is open on the same thread joins it: its changes are committed with the
+ * outer unit of work, and rolling it back rolls back the outer unit of work as well.
+ * <p>
+ * A savepoint begun while a unit of work is open can be rolled back on its own: closing it without committing it
+ * undoes only the changes made since it was begun, and the outer unit of work can still be committed. A unit of work
+ * that joins while a savepoint is open rolls back the savepoint rather than the outer unit of work.
+ * <pre>{@code
+ * try (UnitOfWork savepoint = UnitOfWork.savepoint()) {
+ *     ProjectManager.allocateProject(projectID, studentID);
+ *     savepoint.commit();
+ * }
+ * }</pre>
+ */
+public class UnitOfWork implements AutoCloseable {
+
+    /**
+     * The outermost unit of work open on each thread.
+     */
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The outermost unit of work that this unit of work belongs to, which is itself if it is the outermost.
+     */
+    private final UnitOfWork root;
+
+    /**
+     * The unit of work that is rolled back with this one: the savepoint open when it was begun, or the outermost
+     * unit of work if there was none. This is null for the outermost unit of work.
+     */
+    private final UnitOfWork enclosing;
+
+    /**
+     * The number of log records kept for each repository taking part when this savepoint was begun,
+     * or null if this unit of work is not a savepoint.
+     */
+    private final Map<Repository<?>, Integer> recordCounts;
+
+    /**
+     * The innermost savepoint open in this outermost unit of work, or itself if there is none.
+     */
+    private UnitOfWork innermost;
+
+    /**
+     * The log records kept for each repository taking part, in the order the repositories joined.
+     */
+    private final Map<Repository<?>, List<String>> recordsByRepository;
+
+    /**
+     * The repositories changed as a whole, which are saved as they are when the unit of work is committed.
+     */
+    private final Set<Repository<?>> wholeRepositories;
+
+    /**
+     * The actions run when the outermost unit of work is closed, in order, such as releasing a {@link FileMutex}
+     * held until the changes are saved. This is null for a unit of work that is not the outermost.
+     */
+    private final List<Runnable> closeActions;
+
+    /**
+     * Whether this unit of work has been committed.
+     */
+    private boolean committed = false;
+
+    /**
+     * Whether this unit of work has been closed.
+     */
+    private boolean closed = false;
+
+    /**
+     * Whether a joined unit of work has been rolled back, so that the outermost one cannot be committed.
+     */
+    private boolean rollbackOnly = false;
+
+    /**
+     * Creates a new unit of work.
+     *
+     * @param root      the outermost unit of work that it belongs to, or null if it is the outermost
+     * @param savepoint whether the unit of work is a savepoint, which can be rolled back on its own
+     */
+    private UnitOfWork(UnitOfWork root, boolean savepoint) {
+        this.root = root == null ? this : root;
+        this.enclosing = root == null ? null : root.innermost;
+        this.recordCounts = savepoint ? new LinkedHashMap<>() : null;
+        this.innermost = this;
+        this.recordsByRepository = root == null ? new LinkedHashMap<>() : null;
+        this.wholeRepositories = root == null ? new LinkedHashSet<>() : null;
+        this.closeActions = root == null ? new ArrayList<>() : null;
+        if (savepoint) {
+            for (Map.Entry<Repository<?>, List<String>> entry : root.recordsByRepository.entrySet()) {
+                recordCounts.put(entry.getKey(), entry.getValue().size());
+            }
+            root.innermost = this;
+        }
+    }
+
+    /**
+     * Begins a unit of work on the current thread.
+     *
+     * @return the unit of work, to be committed and closed
+     */
+    public static UnitOfWork begin() {
+        UnitOfWork current = CURRENT.get();
+        UnitOfWork unitOfWork = new UnitOfWork(current, false);
+        if (current == null) {
+            CURRENT.set(unitOfWork);
+        }
+        return unitOfWork;
+    }
+
+    /**
+     * Begins a savepoint of the unit of work open on the current thread.
+     *
+     * @return the savepoint, to be committed and closed
+     * @throws IllegalStateException if no unit of work is open on the current thread
+     */
+    public static UnitOfWork savepoint() {
+        UnitOfWork current = CURRENT.get();
+        if (current == null) {
+            throw new IllegalStateException("A savepoint can only be begun in an open unit of work.");
+        }
+        return new UnitOfWork(current, true);
+    }
+
+    /**
+     * Gets the outermost unit of work open on the current thread.
+     *
+     * @return the unit of work, or null if there is none
+     */
+    static UnitOfWork current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes a repository take part in the unit of work, so that it is reloaded if the unit of work is rolled back.
+     *
+     * @param repository the repository
+     */
+    void enlist(Repository<?> repository) {
+        recordsByRepository.computeIfAbsent(repository, k -> new ArrayList<>());
+    }
+
+    /**
+     * Checks whether a repository takes part in the unit of work.
+     *
+     * @param repository the repository
+     * @return true if a model object has been got from the repository or changed in it in the unit of work
+     */
+    boolean isEnlisted(Repository<?> repository) {
+        return root.recordsByRepository.containsKey(repository);
+    }
+
+    /**
+     * Fails the innermost savepoint open in the unit of work, or the unit of work itself if there is none,
+     * so that it cannot be committed and is rolled back when it is closed.
+     */
+    void fail() {
+        root.innermost.rollbackOnly = true;
+    }
+
+    /**
+     * Runs an action when the outermost unit of work is closed, after its changes are saved or rolled back.
+     *
+     * @param action the action
+     */
+    void runOnClose(Runnable action) {
+        root.closeActions.add(action);
+    }
+
+    /**
+     * Keeps a log record of a change to a repository.
+     * A record kept after the whole repository has been kept is dropped, since the whole repository includes it.
+     *
+     * @param repository the repository
+     * @param record     the log record
+     */
+    void keep(Repository<?> repository, String record) {
+        List<String> records = recordsByRepository.computeIfAbsent(repository, k -> new ArrayList<>());
+        if (!wholeRepositories.contains(repository)) {
+            records.add(record);
+        }
+    }
+
+    /**
+     * Keeps a change to the whole of a repository, which is saved as it is when the unit of work is committed.
+     * The model objects are then written to a commit file of the repository rather than to the journal.
+     *
+     * @param repository the repository
+     */
+    void keepWholeRepository(Repository<?> repository) {
+        recordsByRepository.computeIfAbsent(repository, k -> new ArrayList<>()).clear();
+        wholeRepositories.add(repository);
+    }
+
+    /**
+     * Commits the changes made in this unit of work.
+     * For a joined unit of work or a savepoint, the changes are committed with the outermost unit of work.
+     *
+     * @throws IllegalStateException if the unit of work has been closed, or a joined unit of work has been rolled back
+     * @throws RuntimeException      if the changes could not be saved
+     */
+    public void commit() {
+        if (closed) {
+            throw new IllegalStateException("The unit of work has already been closed.");
+        }
+        if (root != this && recordCounts == null) {
+            committed = true;
+            return;
+        }
+        if (rollbackOnly) {
+            throw new IllegalStateException("The unit of work has failed or been rolled back by a unit of work that joined it.");
+        }
+        if (root != this) {
+            committed = true;
+            return;
+        }
+        Map<String, List<String>> recordsByFilePath = new LinkedHashMap<>();
+        Map<Repository<?>, List<String>> committedRecords = new LinkedHashMap<>();
+        List<String> replacedFilePaths = new ArrayList<>();
+        for (Repository<?> repository : wholeRepositories) {
+            repository.writeCommitFile();
+            replacedFilePaths.add(repository.getFilePath());
+        }
+        for (Map.Entry<Repository<?>, List<String>> entry : recordsByRepository.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                recordsByFilePath.computeIfAbsent(entry.getKey().getFilePath(), k -> new ArrayList<>()).addAll(entry.getValue());
+                committedRecords.put(entry.getKey(), entry.getValue());
+            }
+        }
+        boolean hasChanges = !committedRecords.isEmpty() || !wholeRepositories.isEmpty();
+        if (hasChanges) {
+            Journal.write(recordsByFilePath, replacedFilePaths);
+        }
+        committed = true;
+        CURRENT.remove();
+        if (!hasChanges) {
+            return;
+        }
+        for (Repository<?> repository : wholeRepositories) {
+            repository.installCommitted();
+        }
+        for (Map.Entry<Repository<?>, List<String>> entry : committedRecords.entrySet()) {
+            entry.getKey().appendCommitted(entry.getValue());
+        }
+        Journal.clear();
+    }
+
+    /**
+     * Closes the unit of work, and rolls it back if it has not been committed.
+     * The repositories that took part in the unit of work are reloaded from their files, which do not hold its changes.
+     * A savepoint reloads them as well, and then applies the changes kept before it was begun. A savepoint cannot undo
+     * a change to a whole repository, so if one has been kept, the enclosing unit of work is rolled back instead.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (recordCounts != null) {
+            root.innermost = enclosing;
+        }
+        if (root != this) {
+            if (committed) {
+                return;
+            }
+            if (recordCounts != null && root.wholeRepositories.isEmpty()) {
+                root.rollBackTo(recordCounts);
+            } else {
+                enclosing.rollbackOnly = true;
+            }
+            return;
+        }
+        try {
+            if (!committed) {
+                CURRENT.remove();
+                for (Repository<?> repository : recordsByRepository.keySet()) {
+                    repository.load();
+                }
+            }
+        } finally {
+            for (Runnable action : closeActions) {
+                action.run();
+            }
+        }
+    }
+
+    /**
+     * Undoes the changes kept since a savepoint was begun, by dropping their log records and restoring every
+     * repository taking part to its file with the log records kept before the savepoint applied.
+     *
+     * @param counts the number of log records kept for each repository when the savepoint was begun
+     */
+    private void rollBackTo(Map<Repository<?>, Integer> counts) {
+        for (Map.Entry<Repository<?>, List<String>> entry : recordsByRepository.entrySet()) {
+            List<String> records = entry.getValue();
+            records.subList(counts.getOrDefault(entry.getKey(), 0), records.size()).clear();
+            entry.getKey().restore(new ArrayList<>(records));
+        }
+    }
+}
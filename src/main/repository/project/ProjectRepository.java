@@ -1,10 +1,10 @@
 package main.repository.project;
 
 import main.model.project.Project;
+import main.model.project.ProjectStatus;
+import main.repository.FileMutex;
 import main.repository.Repository;
-
-import java.util.List;
-import java.util.Map;
+import main.utils.exception.ModelNotFoundException;
 
 import static main.utils.config.Location.RESOURCE_LOCATION;
 
@@ -20,21 +20,151 @@ public class ProjectRepository extends Repository<Project> {
      */
     private static final String FILE_PATH = "/data/project/project.txt";
 
+    /**
+     * The path of the file that holds the projects of this repository.
+     */
+    private final String filePath;
+
+    /**
+     * The shared instance of the ProjectRepository class.
+     */
+    private static ProjectRepository instance;
+
+    /**
+     * The name of the index on the supervisor ID of the projects.
+     */
+    public static final String SUPERVISOR_ID = "supervisorID";
+
+    /**
+     * The name of the index on the student ID of the projects.
+     */
+    public static final String STUDENT_ID = "studentID";
+
+    /**
+     * The name of the index on the status of the projects.
+     */
+    public static final String STATUS = "status";
+
+    /**
+     * The name of the index that counts the allocated and reserved projects of each supervisor.
+     */
+    public static final String SUPERVISOR_WORKLOAD = "supervisorWorkload";
+
+    /**
+     * The number of allocated and reserved projects of each supervisor.
+     */
+    private final SupervisorWorkload supervisorWorkload;
+
     /**
      * Constructs a new ProjectRepository object and loads the data from the project data file.
      */
     ProjectRepository() {
+        this(RESOURCE_LOCATION + FILE_PATH);
+    }
+
+    /**
+     * Constructs a new ProjectRepository object that keeps its projects in another file, and loads them from it.
+     * The shared instance is not affected, unless this repository is made the shared instance, so this is used to
+     * work on a copy of the projects.
+     *
+     * @param filePath the path of the file that holds the projects
+     */
+    public ProjectRepository(String filePath) {
         super();
+        this.filePath = filePath;
+        addHashIndex(SUPERVISOR_ID, Project::getSupervisorID, true);
+        addHashIndex(STUDENT_ID, Project::getStudentID, false);
+        addBitmapIndex(STATUS, ProjectStatus.class, Project::getStatus);
+        supervisorWorkload = new SupervisorWorkload(SUPERVISOR_WORKLOAD);
+        addIndex(supervisorWorkload);
         load();
     }
 
     /**
-     * Gets a new ProjectRepository object.
+     * Gets the shared instance of the ProjectRepository class.
+     * <p>
+     * The project data file is read when the instance is first requested, and is read again only if
+     * the file has been changed since the shared instance last loaded or saved it.
+     *
+     * @return the shared instance of the ProjectRepository class
+     */
+    public static synchronized ProjectRepository getInstance() {
+        if (instance == null) {
+            instance = new ProjectRepository();
+        } else {
+            instance.reloadIfOutdated();
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the shared instance of the ProjectRepository class, for example with a repository that keeps its
+     * project data in another file. With null, the project data file is read again when the shared instance is next
+     * requested.
+     *
+     * @param repository the new shared instance, or null
+     */
+    public static synchronized void setInstance(ProjectRepository repository) {
+        instance = repository;
+    }
+
+    /**
+     * Gets the number of allocated and reserved projects of each supervisor, which follows every change to the projects.
      *
-     * @return a new ProjectRepository object
+     * @return the workload of the supervisors
      */
-    public static ProjectRepository getInstance() {
-        return new ProjectRepository();
+    public SupervisorWorkload getSupervisorWorkload() {
+        return supervisorWorkload;
+    }
+
+    /**
+     * Changes the status of a project only if it still has the expected status, and saves the project.
+     * <p>
+     * This is done under the {@link FileMutex} of the project data file, which is held until the change is saved:
+     * until the unit of work open on the thread is closed, or else until the change is written. The repository is
+     * reloaded under the mutex if another session or program has changed the file, so the status is compared with
+     * the one saved last, or the open unit of work fails if it has already used the repository; and of several sessions or programs that try to reserve the same project at the same time
+     * exactly one succeeds. The project is looked up under the lock of the repository, so that it is not read while
+     * the repository is being reloaded, and if the repository is reloaded anyway before the project is updated, the
+     * change is undone and tried again on the project that was loaded.
+     * <p>
+     * A status changed without this method, such as a project released by {@link #update}, is not guarded, so it
+     * may be seen by another program only once it is written, and a reservation may fail until then.
+     *
+     * @param projectID      the ID of the project
+     * @param expectedStatus the status that the project must have
+     * @param newStatus      the new status of the project
+     * @return true if the status was changed, false if the project did not have the expected status
+     * @throws ModelNotFoundException if the project is not found
+     * @throws IllegalStateException  if the project data file was changed during the open unit of work
+     */
+    public boolean compareAndSetStatus(String projectID, ProjectStatus expectedStatus, ProjectStatus newStatus) throws ModelNotFoundException {
+        FileMutex fileMutex = FileMutex.of(getFilePath());
+        fileMutex.lock();
+        boolean changed = false;
+        try {
+            reloadIfOutdated();
+            while (!changed) {
+                Project project;
+                synchronized (this) {
+                    project = getByID(projectID);
+                }
+                if (!project.compareAndSetStatus(expectedStatus, newStatus)) {
+                    return false;
+                }
+                changed = updateIfCurrent(project);
+                if (!changed) {
+                    project.compareAndSetStatus(newStatus, expectedStatus);
+                }
+            }
+            return true;
+        } finally {
+            if (changed) {
+                fileMutex.unlockOnceSaved(getFilePath());
+            } else {
+                fileMutex.unlock();
+            }
+        }
     }
 
     /**
@@ -44,18 +174,19 @@ public class ProjectRepository extends Repository<Project> {
      */
     @Override
     public String getFilePath() {
-        return RESOURCE_LOCATION + FILE_PATH;
+        return filePath;
     }
 
     /**
-     * Sets the list of mappable objects by converting a list of maps to a list of Project objects.
+     * Creates an empty project, whose fields are then read from a line of the repository file.
      *
-     * @param listOfMappableObjects the list of mappable objects
+     * @param chars the characters that hold the line
+     * @param start the position of the first character of the line
+     * @param end   the position after the last character of the line
+     * @return the empty project
      */
     @Override
-    public void setAll(List<Map<String, String>> listOfMappableObjects) {
-        for (Map<String, String> map : listOfMappableObjects) {
-            getAll().add(new Project(map));
-        }
+    protected Project newMappableObject(CharSequence chars, int start, int end) {
+        return new Project();
     }
 }
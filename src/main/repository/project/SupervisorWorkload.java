@@ -0,0 +1,253 @@
+package main.repository.project;
+
+import main.model.project.Project;
+import main.model.project.ProjectStatus;
+import main.repository.RepositoryIndex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The SupervisorWorkload class counts the projects of each supervisor that are allocated to or reserved for a student,
+ * which is the number of students that the supervisor is supervising.
+ * <p>
+ * It is kept by the {@link ProjectRepository} as one of its indexes, so the counts follow every change to the status
+ * or supervisor of a project, and are rebuilt whenever the projects are loaded. Getting the count of a supervisor
+ * takes constant time.
+ * <p>
+ * The workload also remembers which supervisors may need the availability of their projects to be recomputed:
+ * those whose count has changed, those who have been given a project, and, after the projects are loaded, every
+ * supervisor, since the statuses read from the file may be stale, for example after the limit of students changed.
+ * They are remembered until they are taken by {@link #takeChangedSupervisorIDs()}, and are put back by
+ * {@link #putBackChangedSupervisorIDs} if the availability of their projects could not be recomputed.
+ */
+public class SupervisorWorkload implements RepositoryIndex<Project> {
+
+    /**
+     * The name of the index.
+     */
+    private final String name;
+
+    /**
+     * The number of counted projects of each supervisor, keyed by the supervisor ID in lower case.
+     * Supervisors without counted projects are not in the map.
+     */
+    private final Map<String, Integer> countBySupervisorID;
+
+    /**
+     * The supervisor ID in lower case that the project at each position is counted for, or null if it is not counted.
+     */
+    private final List<String> countedSupervisorIDByPosition;
+
+    /**
+     * The supervisor ID in lower case of the project at each position, whether or not the project is counted.
+     */
+    private final List<String> supervisorIDByPosition;
+
+    /**
+     * The supervisor IDs in lower case whose projects may need their availability to be recomputed, in the order
+     * they changed.
+     */
+    private final Set<String> changedSupervisorIDs;
+
+    /**
+     * Creates a new instance of the SupervisorWorkload class.
+     *
+     * @param name the name of the index
+     */
+    public SupervisorWorkload(String name) {
+        this.name = name;
+        this.countBySupervisorID = new HashMap<>();
+        this.countedSupervisorIDByPosition = new ArrayList<>();
+        this.supervisorIDByPosition = new ArrayList<>();
+        this.changedSupervisorIDs = new LinkedHashSet<>();
+    }
+
+    /**
+     * Gets the name of the index.
+     *
+     * @return the name of the index
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Rebuilds the counts from a list of projects.
+     * Every supervisor of a project is remembered as changed, whatever its count, since the statuses of the projects
+     * are reloaded as well and may not match the counts. So are the supervisors who no longer have any project.
+     *
+     * @param projects the projects stored in the repository, in order
+     */
+    @Override
+    public synchronized void rebuild(List<Project> projects) {
+        Set<String> oldSupervisorIDs = new HashSet<>(countBySupervisorID.keySet());
+        countBySupervisorID.clear();
+        countedSupervisorIDByPosition.clear();
+        supervisorIDByPosition.clear();
+        for (Project project : projects) {
+            String supervisorID = getCountedSupervisorID(project);
+            countedSupervisorIDByPosition.add(supervisorID);
+            supervisorIDByPosition.add(getSupervisorID(project));
+            increment(supervisorID, 1);
+        }
+        for (String supervisorID : supervisorIDByPosition) {
+            markChanged(supervisorID);
+        }
+        for (String supervisorID : oldSupervisorIDs) {
+            markChanged(supervisorID);
+        }
+    }
+
+    /**
+     * Counts a project that has been appended to the list of the repository.
+     * Its supervisor is remembered as changed, since the new project may have to be made unavailable.
+     *
+     * @param position the position of the project in the list
+     * @param project  the project
+     */
+    @Override
+    public synchronized void add(int position, Project project) {
+        String supervisorID = getCountedSupervisorID(project);
+        countedSupervisorIDByPosition.add(supervisorID);
+        supervisorIDByPosition.add(getSupervisorID(project));
+        increment(supervisorID, 1);
+        markChanged(getSupervisorID(project));
+    }
+
+    /**
+     * Moves the count of a project to its current supervisor, or stops or starts counting it as its status changes.
+     * The supervisors of a project that is moved to another supervisor are remembered as changed as well.
+     *
+     * @param position the position of the project in the list
+     * @param project  the project as it is now
+     */
+    @Override
+    public synchronized void update(int position, Project project) {
+        String oldSupervisorID = supervisorIDByPosition.get(position);
+        String newSupervisorID = getSupervisorID(project);
+        if (!Objects.equals(oldSupervisorID, newSupervisorID)) {
+            supervisorIDByPosition.set(position, newSupervisorID);
+            markChanged(oldSupervisorID);
+            markChanged(newSupervisorID);
+        }
+        String oldCountedSupervisorID = countedSupervisorIDByPosition.get(position);
+        String newCountedSupervisorID = getCountedSupervisorID(project);
+        if (Objects.equals(oldCountedSupervisorID, newCountedSupervisorID)) {
+            return;
+        }
+        increment(oldCountedSupervisorID, -1);
+        increment(newCountedSupervisorID, 1);
+        countedSupervisorIDByPosition.set(position, newCountedSupervisorID);
+        markChanged(oldCountedSupervisorID);
+        markChanged(newCountedSupervisorID);
+    }
+
+    /**
+     * Gets the number of projects of a supervisor that are allocated to or reserved for a student.
+     *
+     * @param supervisorID the ID of the supervisor, matched regardless of case
+     * @return the number of projects
+     */
+    public synchronized int getCount(String supervisorID) {
+        if (supervisorID == null) {
+            return 0;
+        }
+        return countBySupervisorID.getOrDefault(supervisorID.toLowerCase(Locale.ROOT), 0);
+    }
+
+    /**
+     * Gets the supervisors whose number of allocated or reserved projects is at least a limit.
+     * This takes time proportional to the number of supervisors with such projects.
+     *
+     * @param limit the limit, which must be at least 1
+     * @return the IDs of the supervisors in lower case
+     */
+    public synchronized List<String> getSupervisorIDsAtLeast(int limit) {
+        List<String> supervisorIDs = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : countBySupervisorID.entrySet()) {
+            if (entry.getValue() >= limit) {
+                supervisorIDs.add(entry.getKey());
+            }
+        }
+        return supervisorIDs;
+    }
+
+    /**
+     * Takes the supervisors whose projects may need their availability to be recomputed,
+     * and forgets them so that they are not taken again until they change again.
+     *
+     * @return the IDs of the supervisors in lower case, in the order they changed
+     */
+    public synchronized List<String> takeChangedSupervisorIDs() {
+        List<String> supervisorIDs = new ArrayList<>(changedSupervisorIDs);
+        changedSupervisorIDs.clear();
+        return supervisorIDs;
+    }
+
+    /**
+     * Puts back supervisors that were taken but whose projects did not have their availability recomputed,
+     * so that they are taken again next time.
+     *
+     * @param supervisorIDs the IDs of the supervisors in lower case, as they were taken
+     */
+    public synchronized void putBackChangedSupervisorIDs(Collection<String> supervisorIDs) {
+        changedSupervisorIDs.addAll(supervisorIDs);
+    }
+
+    /**
+     * Changes the count of a supervisor.
+     *
+     * @param supervisorID the supervisor ID in lower case, or null if no supervisor is counted
+     * @param delta        the change of the count
+     */
+    private void increment(String supervisorID, int delta) {
+        if (supervisorID == null) {
+            return;
+        }
+        countBySupervisorID.merge(supervisorID, delta, (count, change) -> count + change == 0 ? null : count + change);
+    }
+
+    /**
+     * Remembers a supervisor as changed.
+     *
+     * @param supervisorID the supervisor ID in lower case, or null if there is no supervisor
+     */
+    private void markChanged(String supervisorID) {
+        if (supervisorID != null) {
+            changedSupervisorIDs.add(supervisorID);
+        }
+    }
+
+    /**
+     * Gets the supervisor of a project.
+     *
+     * @param project the project
+     * @return the supervisor ID in lower case, or null if the project has no supervisor
+     */
+    private static String getSupervisorID(Project project) {
+        return project.getSupervisorID() == null ? null : project.getSupervisorID().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the supervisor that a project is counted for.
+     *
+     * @param project the project
+     * @return the supervisor ID in lower case, or null if the project is neither allocated nor reserved
+     */
+    private static String getCountedSupervisorID(Project project) {
+        if (project.getStatus() != ProjectStatus.ALLOCATED && project.getStatus() != ProjectStatus.RESERVED) {
+            return null;
+        }
+        return getSupervisorID(project);
+    }
+}
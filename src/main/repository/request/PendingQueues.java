@@ -0,0 +1,355 @@
+package main.repository.request;
+
+import main.model.request.Request;
+import main.model.request.RequestStatus;
+import main.model.request.RequestType;
+import main.repository.RepositoryIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The PendingQueues class keeps the pending requests that wait for each approver in order.
+ * <p>
+ * There is one queue for the coordinator, which holds the pending requests other than changes of title, and one
+ * queue for each supervisor, which holds the pending requests of the supervisor other than transfers of students.
+ * A queue is ordered by the type of the requests, in the order of {@link RequestType}, and then by age, oldest first.
+ * <p>
+ * It is kept by the {@link RequestRepository} as one of its indexes, so a request enters its queues when it is added
+ * and leaves them when it is no longer pending. Adding or removing a request takes logarithmic time, and reading a
+ * queue takes time proportional to its length, however many requests have been decided.
+ * <p>
+ * The number of requests of each type in each queue is also counted as requests enter and leave the queues. The
+ * counts are atomic, so they can be read in constant time without waiting for the queues, such as to mark a menu.
+ */
+public class PendingQueues implements RepositoryIndex<Request> {
+
+    /**
+     * The name of the index.
+     */
+    private final String name;
+
+    /**
+     * The queue of the coordinator.
+     */
+    private final TreeSet<Long> coordinatorQueue;
+
+    /**
+     * The queue of each supervisor, keyed by supervisor ID.
+     */
+    private final Map<String, TreeSet<Long>> supervisorQueues;
+
+    /**
+     * The entry of the request at each position, which also gives the place in the queues of a request in no queue.
+     */
+    private final List<Entry> entryByPosition;
+
+    /**
+     * The number of requests of each type in the queue of the coordinator, at the ordinal of the type.
+     */
+    private final AtomicIntegerArray coordinatorCounts;
+
+    /**
+     * The number of requests of each type in the queue of each supervisor, at the ordinal of the type, keyed by
+     * supervisor ID.
+     */
+    private final Map<String, AtomicIntegerArray> supervisorCounts;
+
+    /**
+     * Creates a new instance of the PendingQueues class.
+     *
+     * @param name the name of the index
+     */
+    public PendingQueues(String name) {
+        this.name = name;
+        this.coordinatorQueue = new TreeSet<>();
+        this.supervisorQueues = new HashMap<>();
+        this.entryByPosition = new ArrayList<>();
+        this.coordinatorCounts = new AtomicIntegerArray(RequestType.values().length);
+        this.supervisorCounts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the name of the index.
+     *
+     * @return the name of the index
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Rebuilds the queues from a list of requests.
+     *
+     * @param requests the requests stored in the repository, in order
+     */
+    @Override
+    public synchronized void rebuild(List<Request> requests) {
+        coordinatorQueue.clear();
+        supervisorQueues.clear();
+        entryByPosition.clear();
+        for (int i = 0; i < coordinatorCounts.length(); i++) {
+            coordinatorCounts.set(i, 0);
+        }
+        supervisorCounts.clear();
+        for (int position = 0; position < requests.size(); position++) {
+            add(position, requests.get(position));
+        }
+    }
+
+    /**
+     * Puts a request that has been appended to the list of the repository in its queues, if it is pending.
+     *
+     * @param position the position of the request in the list
+     * @param request  the request
+     */
+    @Override
+    public synchronized void add(int position, Request request) {
+        Entry entry = toEntry(position, request);
+        entryByPosition.add(entry);
+        enqueue(entry);
+    }
+
+    /**
+     * Moves a request that has been updated to the queues it now belongs to.
+     *
+     * @param position the position of the request in the list
+     * @param request  the request as it is now
+     */
+    @Override
+    public synchronized void update(int position, Request request) {
+        Entry oldEntry = entryByPosition.get(position);
+        Entry newEntry = toEntry(position, request);
+        if (oldEntry.equals(newEntry)) {
+            return;
+        }
+        dequeue(oldEntry);
+        entryByPosition.set(position, newEntry);
+        enqueue(newEntry);
+    }
+
+    /**
+     * Gets the positions of the requests in the queue of the coordinator.
+     *
+     * @return the positions, in the order of the queue
+     */
+    public synchronized List<Integer> getCoordinatorQueue() {
+        return toPositions(coordinatorQueue);
+    }
+
+    /**
+     * Gets the positions of the requests in the queue of a supervisor.
+     *
+     * @param supervisorID the ID of the supervisor
+     * @return the positions, in the order of the queue
+     */
+    public synchronized List<Integer> getSupervisorQueue(String supervisorID) {
+        return toPositions(supervisorQueues.get(supervisorID));
+    }
+
+    /**
+     * Gets the number of requests in the queue of the coordinator.
+     *
+     * @return the number of requests
+     */
+    public int getCoordinatorCount() {
+        return sum(coordinatorCounts);
+    }
+
+    /**
+     * Gets the number of requests of a type in the queue of the coordinator.
+     *
+     * @param requestType the type of the requests
+     * @return the number of requests
+     */
+    public int getCoordinatorCount(RequestType requestType) {
+        return coordinatorCounts.get(requestType.ordinal());
+    }
+
+    /**
+     * Gets the number of requests in the queue of a supervisor.
+     *
+     * @param supervisorID the ID of the supervisor
+     * @return the number of requests
+     */
+    public int getSupervisorCount(String supervisorID) {
+        AtomicIntegerArray counts = supervisorID == null ? null : supervisorCounts.get(supervisorID);
+        return counts == null ? 0 : sum(counts);
+    }
+
+    /**
+     * Gets the number of requests of a type in the queue of a supervisor.
+     *
+     * @param supervisorID the ID of the supervisor
+     * @param requestType  the type of the requests
+     * @return the number of requests
+     */
+    public int getSupervisorCount(String supervisorID, RequestType requestType) {
+        AtomicIntegerArray counts = supervisorID == null ? null : supervisorCounts.get(supervisorID);
+        return counts == null ? 0 : counts.get(requestType.ordinal());
+    }
+
+    /**
+     * Gets the request that follows a request in the queue of the coordinator.
+     *
+     * @param position the position of the request, which need not be in the queue any more, or -1 to get the first request
+     * @return the position of the following request, or -1 if there is none
+     */
+    public synchronized int getNextInCoordinatorQueue(int position) {
+        return getNext(coordinatorQueue, position);
+    }
+
+    /**
+     * Gets the request that follows a request in the queue of a supervisor.
+     *
+     * @param supervisorID the ID of the supervisor
+     * @param position     the position of the request, which need not be in the queue any more, or -1 to get the first request
+     * @return the position of the following request, or -1 if there is none
+     */
+    public synchronized int getNextInSupervisorQueue(String supervisorID, int position) {
+        return getNext(supervisorQueues.get(supervisorID), position);
+    }
+
+    /**
+     * Gets the request that follows a request in a queue.
+     *
+     * @param queue    the queue, or null if it is empty
+     * @param position the position of the request, or -1 to get the first request
+     * @return the position of the following request, or -1 if there is none
+     */
+    private int getNext(TreeSet<Long> queue, int position) {
+        if (queue == null || queue.isEmpty()) {
+            return -1;
+        }
+        Long next;
+        if (position < 0 || position >= entryByPosition.size()) {
+            next = queue.first();
+        } else {
+            next = queue.higher(entryByPosition.get(position).key);
+        }
+        return next == null ? -1 : toPosition(next);
+    }
+
+    /**
+     * Puts an entry in its queues.
+     *
+     * @param entry the entry
+     */
+    private void enqueue(Entry entry) {
+        if (entry.inCoordinatorQueue) {
+            coordinatorQueue.add(entry.key);
+            coordinatorCounts.incrementAndGet(toTypeOrdinal(entry.key));
+        }
+        if (entry.supervisorID != null) {
+            supervisorQueues.computeIfAbsent(entry.supervisorID, k -> new TreeSet<>()).add(entry.key);
+            supervisorCounts.computeIfAbsent(entry.supervisorID, k -> new AtomicIntegerArray(coordinatorCounts.length()))
+                    .incrementAndGet(toTypeOrdinal(entry.key));
+        }
+    }
+
+    /**
+     * Takes an entry out of its queues.
+     *
+     * @param entry the entry
+     */
+    private void dequeue(Entry entry) {
+        if (entry.inCoordinatorQueue) {
+            coordinatorQueue.remove(entry.key);
+            coordinatorCounts.decrementAndGet(toTypeOrdinal(entry.key));
+        }
+        if (entry.supervisorID != null) {
+            TreeSet<Long> queue = supervisorQueues.get(entry.supervisorID);
+            queue.remove(entry.key);
+            supervisorCounts.get(entry.supervisorID).decrementAndGet(toTypeOrdinal(entry.key));
+            if (queue.isEmpty()) {
+                supervisorQueues.remove(entry.supervisorID);
+            }
+        }
+    }
+
+    /**
+     * Gets the entry of a request in the queues.
+     *
+     * @param position the position of the request in the list
+     * @param request  the request
+     * @return the entry
+     */
+    private static Entry toEntry(int position, Request request) {
+        RequestType requestType = request.getRequestType();
+        long key = ((long) (requestType == null ? 0 : requestType.ordinal()) << 32) | position;
+        if (request.getStatus() != RequestStatus.PENDING || requestType == null) {
+            return new Entry(key, false, null);
+        }
+        boolean inCoordinatorQueue = requestType != RequestType.STUDENT_CHANGE_TITLE;
+        String supervisorID = requestType != RequestType.SUPERVISOR_TRANSFER_STUDENT ? request.getSupervisorID() : null;
+        return new Entry(key, inCoordinatorQueue, supervisorID);
+    }
+
+    /**
+     * Gets the position of the request of a key in a queue.
+     *
+     * @param key the key
+     * @return the position
+     */
+    private static int toPosition(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Gets the ordinal of the type of the request of a key in a queue.
+     *
+     * @param key the key
+     * @return the ordinal of the type
+     */
+    private static int toTypeOrdinal(long key) {
+        return (int) (key >>> 32);
+    }
+
+    /**
+     * Adds up the counts of all types of requests.
+     *
+     * @param counts the number of requests of each type
+     * @return the total number of requests
+     */
+    private static int sum(AtomicIntegerArray counts) {
+        int total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the positions of the requests in a queue.
+     *
+     * @param queue the queue, or null if it is empty
+     * @return the positions, in the order of the queue
+     */
+    private static List<Integer> toPositions(TreeSet<Long> queue) {
+        if (queue == null) {
+            return Collections.emptyList();
+        }
+        List<Integer> positions = new ArrayList<>(queue.size());
+        for (long key : queue) {
+            positions.add(toPosition(key));
+        }
+        return positions;
+    }
+
+    /**
+     * The place of a request in the queues.
+     *
+     * @param key                the key of the request in a queue, which holds the type of the request and then its position
+     * @param inCoordinatorQueue whether the request is in the queue of the coordinator
+     * @param supervisorID       the supervisor whose queue the request is in, or null if it is in no supervisor's queue
+     */
+    private record Entry(long key, boolean inCoordinatorQueue, String supervisorID) {
+    }
+}
@@ -2,11 +2,19 @@ package main.repository.request;
 
 import main.model.request.Request;
 import main.model.request.RequestFactory;
+import main.model.request.RequestStatus;
+import main.model.request.RequestType;
+import main.model.request.StudentRegistrationRequest;
 import main.repository.Repository;
+import main.repository.UnitOfWork;
 import main.utils.config.Location;
+import main.utils.config.Reservation;
+import main.utils.exception.ModelNotFoundException;
+import main.utils.iocontrol.StringAndMapConvertor;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 
 /**
  * The RequestRepository class is a repository that stores and retrieves Request objects
@@ -20,21 +28,171 @@ public class RequestRepository extends Repository<Request> {
      */
     private static final String FILE_PATH = "/data/request/request.txt";
 
+    /**
+     * The path of the file that holds the requests of this repository.
+     */
+    private final String filePath;
+
+    /**
+     * The shared instance of the RequestRepository class.
+     */
+    private static RequestRepository instance;
+
+    /**
+     * The name of the index on the supervisor ID of the requests.
+     */
+    public static final String SUPERVISOR_ID = "supervisorID";
+
+    /**
+     * The name of the index on the student ID of the requests.
+     */
+    public static final String STUDENT_ID = "studentID";
+
+    /**
+     * The name of the index on the project ID of the requests.
+     */
+    public static final String PROJECT_ID = "projectID";
+
+    /**
+     * The name of the index on the status of the requests.
+     */
+    public static final String STATUS = "requestStatus";
+
+    /**
+     * The name of the index on the type of the requests.
+     */
+    public static final String REQUEST_TYPE = "requestType";
+
+    /**
+     * The name of the index on the deadlines of the pending registration requests.
+     */
+    public static final String RESERVATION_DEADLINES = "reservationDeadlines";
+
+    /**
+     * The name of the index that queues the pending requests for each approver.
+     */
+    public static final String PENDING_QUEUES = "pendingQueues";
+
+    /**
+     * The deadlines of the pending registration requests.
+     */
+    private final ReservationDeadlines reservationDeadlines;
+
+    /**
+     * The queues of the pending requests for each approver.
+     */
+    private final PendingQueues pendingQueues;
+
     /**
      * Constructor to create an instance of RequestRepository.
      */
     RequestRepository() {
+        this(Location.RESOURCE_LOCATION + FILE_PATH);
+    }
+
+    /**
+     * Constructor to create an instance of RequestRepository that keeps its requests in another file, and loads them
+     * from it. The shared instance is not affected, unless this repository is made the shared instance.
+     *
+     * @param filePath the path of the file that holds the requests
+     */
+    public RequestRepository(String filePath) {
         super();
+        this.filePath = filePath;
+        addHashIndex(SUPERVISOR_ID, Request::getSupervisorID, false);
+        addHashIndex(STUDENT_ID, Request::getStudentID, false);
+        addHashIndex(PROJECT_ID, Request::getProjectID, false);
+        addBitmapIndex(STATUS, RequestStatus.class, Request::getStatus);
+        addBitmapIndex(REQUEST_TYPE, RequestType.class, Request::getRequestType);
+        reservationDeadlines = new ReservationDeadlines(RESERVATION_DEADLINES);
+        addIndex(reservationDeadlines);
+        pendingQueues = new PendingQueues(PENDING_QUEUES);
+        addIndex(pendingQueues);
         load();
     }
 
     /**
-     * Gets a new instance of RequestRepository.
+     * Gets the shared instance of the RequestRepository class.
+     * <p>
+     * The request data file is read when the instance is first requested, and is read again only if
+     * the file has been changed since the shared instance last loaded or saved it.
+     *
+     * @return the shared instance of the RequestRepository class
+     */
+    public static synchronized RequestRepository getInstance() {
+        if (instance == null) {
+            instance = new RequestRepository();
+        } else {
+            instance.reloadIfOutdated();
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the shared instance of the RequestRepository class, for example with a repository that keeps its
+     * request data in another file. With null, the request data file is read again when the shared instance is next
+     * requested.
+     *
+     * @param repository the new shared instance, or null
+     */
+    public static synchronized void setInstance(RequestRepository repository) {
+        instance = repository;
+    }
+
+    /**
+     * Loads the requests from the request data file.
+     * A pending registration saved without an expiry time is given one from now, which is saved with it,
+     * so that its deadline stays the same when the requests are loaded again after a restart.
+     */
+    @Override
+    public void load() {
+        super.load();
+        giveMissingExpiryTimes();
+    }
+
+    /**
+     * Gives an expiry time to each pending registration that has none, and saves the registrations together.
+     */
+    private void giveMissingExpiryTimes() {
+        BitSet positions = getPositions(STATUS, RequestStatus.PENDING);
+        positions.and(getPositions(REQUEST_TYPE, RequestType.STUDENT_REGISTRATION));
+        List<StudentRegistrationRequest> registrations = new ArrayList<>();
+        for (Request request : findByPositions(positions)) {
+            if (request instanceof StudentRegistrationRequest registration && registration.getExpiryTime() <= 0) {
+                registrations.add(registration);
+            }
+        }
+        if (registrations.isEmpty()) {
+            return;
+        }
+        long expiryTime = System.currentTimeMillis() + Reservation.TIMEOUT_MILLIS;
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            for (StudentRegistrationRequest registration : registrations) {
+                registration.setExpiryTime(expiryTime);
+                update(registration);
+            }
+            unitOfWork.commit();
+        } catch (ModelNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the deadlines of the pending registration requests, which follow every change to the requests.
+     *
+     * @return the deadlines of the pending registration requests
+     */
+    public ReservationDeadlines getReservationDeadlines() {
+        return reservationDeadlines;
+    }
+
+    /**
+     * Gets the queues of the pending requests for each approver, which follow every change to the requests.
      *
-     * @return the instance of RequestRepository
+     * @return the queues of the pending requests
      */
-    public static RequestRepository getInstance() {
-        return new RequestRepository();
+    public PendingQueues getPendingQueues() {
+        return pendingQueues;
     }
 
     /**
@@ -44,20 +202,24 @@ public class RequestRepository extends Repository<Request> {
      */
     @Override
     public String getFilePath() {
-        return Location.RESOURCE_LOCATION + FILE_PATH;
+        return filePath;
     }
 
     /**
-     * Sets the list of mappable objects.
+     * Creates an empty request, whose fields are then read from a line of the repository file.
      *
-     * @param listOfMappableObjects the list of mappable objects
+     * @param chars the characters that hold the line
+     * @param start the position of the first character of the line
+     * @param end   the position after the last character of the line
+     * @return the empty request of the type stored in the line
+     * @throws IllegalArgumentException if the line does not hold a known type of request
      */
     @Override
-    public void setAll(List<Map<String, String>> listOfMappableObjects) {
-        List<Request> requests = getAll();
-        for (Map<String, String> map : listOfMappableObjects) {
-            Request request = RequestFactory.createRequest(map);
-            requests.add(request);
+    protected Request newMappableObject(CharSequence chars, int start, int end) {
+        String requestType = StringAndMapConvertor.getValue(chars, start, end, "requestType");
+        if (requestType == null) {
+            throw new IllegalArgumentException("Request has no type: " + chars.subSequence(start, end));
         }
+        return RequestFactory.createRequest(RequestType.valueOf(requestType));
     }
 }
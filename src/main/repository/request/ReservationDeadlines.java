@@ -0,0 +1,122 @@
+package main.repository.request;
+
+import main.model.request.Request;
+import main.model.request.RequestStatus;
+import main.model.request.StudentRegistrationRequest;
+import main.repository.RepositoryIndex;
+import main.utils.config.Reservation;
+import main.utils.scheduling.TimerWheel;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The ReservationDeadlines class keeps the deadlines of the pending registration requests on a {@link TimerWheel}.
+ * <p>
+ * It is kept by the {@link RequestRepository} as one of its indexes, so a registration is scheduled when it is added
+ * or loaded and cancelled as soon as it is no longer pending. The deadlines are the expiry times saved with the
+ * requests, so they are scheduled again when the requests are loaded after a restart. A pending registration saved
+ * without an expiry time is not scheduled until the {@link RequestRepository} gives it one and saves it.
+ */
+public class ReservationDeadlines implements RepositoryIndex<Request> {
+
+    /**
+     * The name of the index.
+     */
+    private final String name;
+
+    /**
+     * The deadlines of the pending registrations, keyed by request ID in lower case.
+     */
+    private final TimerWheel<String> timerWheel;
+
+    /**
+     * Creates a new instance of the ReservationDeadlines class.
+     *
+     * @param name the name of the index
+     */
+    public ReservationDeadlines(String name) {
+        this.name = name;
+        this.timerWheel = new TimerWheel<>(Reservation.TICK_MILLIS, Reservation.WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the name of the index.
+     *
+     * @return the name of the index
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Schedules the pending registrations of a list of requests again.
+     *
+     * @param requests the requests stored in the repository, in order
+     */
+    @Override
+    public synchronized void rebuild(List<Request> requests) {
+        timerWheel.clear();
+        for (Request request : requests) {
+            schedule(request);
+        }
+    }
+
+    /**
+     * Schedules a request that has been appended to the list of the repository, if it is a pending registration.
+     *
+     * @param position the position of the request in the list
+     * @param request  the request
+     */
+    @Override
+    public synchronized void add(int position, Request request) {
+        schedule(request);
+    }
+
+    /**
+     * Schedules or cancels a request that has been updated, depending on whether it is still a pending registration.
+     *
+     * @param position the position of the request in the list
+     * @param request  the request as it is now
+     */
+    @Override
+    public synchronized void update(int position, Request request) {
+        schedule(request);
+    }
+
+    /**
+     * Takes the pending registrations whose deadline has passed, which are then no longer scheduled.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @return the IDs of the requests in lower case, in order of deadline
+     */
+    public synchronized List<String> takeExpired(long nowMillis) {
+        return timerWheel.advance(nowMillis);
+    }
+
+    /**
+     * Schedules a request at its expiry time if it is a pending registration that has one, and cancels it otherwise.
+     *
+     * @param request the request
+     */
+    private void schedule(Request request) {
+        String key = toKey(request.getID());
+        if (request instanceof StudentRegistrationRequest registration && registration.getStatus() == RequestStatus.PENDING
+                && registration.getExpiryTime() > 0) {
+            timerWheel.schedule(key, registration.getExpiryTime());
+        } else {
+            timerWheel.cancel(key);
+        }
+    }
+
+    /**
+     * Converts a request ID to its key on the timer wheel.
+     *
+     * @param requestID the request ID
+     * @return the key
+     */
+    private static String toKey(String requestID) {
+        return requestID == null ? null : requestID.toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,9 +3,6 @@ package main.repository.user;
 import main.model.user.Coordinator;
 import main.repository.Repository;
 
-import java.util.List;
-import java.util.Map;
-
 import static main.utils.config.Location.RESOURCE_LOCATION;
 
 /**
@@ -20,21 +17,61 @@ public class CoordinatorRepository extends Repository<Coordinator> {
      */
     private static final String FILE_PATH = "/data/user/coordinator.txt";
 
+    /**
+     * The path of the file that holds the coordinators of this repository.
+     */
+    private final String filePath;
+
+    /**
+     * The shared instance of the CoordinatorRepository class.
+     */
+    private static CoordinatorRepository instance;
+
     /**
      * Constructor for creating a new CoordinatorRepository object.
      */
     CoordinatorRepository() {
+        this(RESOURCE_LOCATION + FILE_PATH);
+    }
+
+    /**
+     * Constructor for a CoordinatorRepository that keeps its coordinators in another file, and loads them from it.
+     * The shared instance is not affected, unless this repository is made the shared instance.
+     *
+     * @param filePath the path of the file that holds the coordinators
+     */
+    public CoordinatorRepository(String filePath) {
         super();
+        this.filePath = filePath;
         load();
     }
 
     /**
-     * Gets a new instance of CoordinatorRepository.
+     * Gets the shared instance of the CoordinatorRepository class.
+     * <p>
+     * The coordinator data file is read when the instance is first requested, and is read again only if
+     * the file has been changed since the shared instance last loaded or saved it.
      *
-     * @return a new instance of CoordinatorRepository
+     * @return the shared instance of the CoordinatorRepository class
      */
-    public static CoordinatorRepository getInstance() {
-        return new CoordinatorRepository();
+    public static synchronized CoordinatorRepository getInstance() {
+        if (instance == null) {
+            instance = new CoordinatorRepository();
+        } else {
+            instance.reloadIfOutdated();
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the shared instance of the CoordinatorRepository class, for example with a repository that keeps its
+     * coordinator data in another file. With null, the coordinator data file is read again when the shared instance is next
+     * requested.
+     *
+     * @param repository the new shared instance, or null
+     */
+    public static synchronized void setInstance(CoordinatorRepository repository) {
+        instance = repository;
     }
 
     /**
@@ -44,18 +81,19 @@ public class CoordinatorRepository extends Repository<Coordinator> {
      */
     @Override
     public String getFilePath() {
-        return RESOURCE_LOCATION + FILE_PATH;
+        return filePath;
     }
 
     /**
-     * Sets the list of mappable objects in the repository.
+     * Creates an empty coordinator, whose fields are then read from a line of the repository file.
      *
-     * @param listOfMappableObjects the list of mappable objects to set
+     * @param chars the characters that hold the line
+     * @param start the position of the first character of the line
+     * @param end   the position after the last character of the line
+     * @return the empty coordinator
      */
     @Override
-    public void setAll(List<Map<String, String>> listOfMappableObjects) {
-        for (Map<String, String> map : listOfMappableObjects) {
-            getAll().add(new Coordinator(map));
-        }
+    protected Coordinator newMappableObject(CharSequence chars, int start, int end) {
+        return new Coordinator();
     }
 }
@@ -4,9 +4,6 @@ import main.model.user.Supervisor;
 import main.repository.Repository;
 import main.utils.config.Location;
 
-import java.util.List;
-import java.util.Map;
-
 /**
  * The FacultyRepository class is a repository for storing and managing Supervisor objects in a file
  * through file I/O operations.
@@ -19,21 +16,61 @@ public class FacultyRepository extends Repository<Supervisor> {
      */
     final private static String FILE_PATH = "/data/user/faculty.txt";
 
+    /**
+     * The path of the file that holds the supervisors of this repository.
+     */
+    private final String filePath;
+
+    /**
+     * The shared instance of the FacultyRepository class.
+     */
+    private static FacultyRepository instance;
+
     /**
      * Constructor for creating a new instance of the FacultyRepository class.
      */
     public FacultyRepository() {
+        this(Location.RESOURCE_LOCATION + FILE_PATH);
+    }
+
+    /**
+     * Constructor for a FacultyRepository that keeps its supervisors in another file, and loads them from it.
+     * The shared instance is not affected, unless this repository is made the shared instance.
+     *
+     * @param filePath the path of the file that holds the supervisors
+     */
+    public FacultyRepository(String filePath) {
         super();
+        this.filePath = filePath;
         load();
     }
 
     /**
-     * Gets a new instance of the FacultyRepository class.
+     * Gets the shared instance of the FacultyRepository class.
+     * <p>
+     * The faculty data file is read when the instance is first requested, and is read again only if
+     * the file has been changed since the shared instance last loaded or saved it.
      *
-     * @return a new instance of the FacultyRepository class
+     * @return the shared instance of the FacultyRepository class
      */
-    public static FacultyRepository getInstance() {
-        return new FacultyRepository();
+    public static synchronized FacultyRepository getInstance() {
+        if (instance == null) {
+            instance = new FacultyRepository();
+        } else {
+            instance.reloadIfOutdated();
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the shared instance of the FacultyRepository class, for example with a repository that keeps its
+     * faculty data in another file. With null, the faculty data file is read again when the shared instance is next
+     * requested.
+     *
+     * @param repository the new shared instance, or null
+     */
+    public static synchronized void setInstance(FacultyRepository repository) {
+        instance = repository;
     }
 
     /**
@@ -43,18 +80,19 @@ public class FacultyRepository extends Repository<Supervisor> {
      */
     @Override
     public String getFilePath() {
-        return Location.RESOURCE_LOCATION + FILE_PATH;
+        return filePath;
     }
 
     /**
-     * Sets the list of mappable objects to a list of Supervisor objects.
+     * Creates an empty supervisor, whose fields are then read from a line of the repository file.
      *
-     * @param listOfMappableObjects the list of mappable objects
+     * @param chars the characters that hold the line
+     * @param start the position of the first character of the line
+     * @param end   the position after the last character of the line
+     * @return the empty supervisor
      */
     @Override
-    public void setAll(List<Map<String, String>> listOfMappableObjects) {
-        for (Map<String, String> map : listOfMappableObjects) {
-            getAll().add(new Supervisor(map));
-        }
+    protected Supervisor newMappableObject(CharSequence chars, int start, int end) {
+        return new Supervisor();
     }
 }
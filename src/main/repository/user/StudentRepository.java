@@ -1,11 +1,9 @@
 package main.repository.user;
 
 import main.model.user.Student;
+import main.model.user.StudentStatus;
 import main.repository.Repository;
 
-import java.util.List;
-import java.util.Map;
-
 import static main.utils.config.Location.RESOURCE_LOCATION;
 
 /**
@@ -20,21 +18,67 @@ public class StudentRepository extends Repository<Student> {
      */
     private static final String FILE_PATH = "/data/user/student.txt";
 
+    /**
+     * The path of the file that holds the students of this repository.
+     */
+    private final String filePath;
+
+    /**
+     * The shared instance of the StudentRepository class.
+     */
+    private static StudentRepository instance;
+
+    /**
+     * The name of the index on the status of the students.
+     */
+    public static final String STATUS = "status";
+
     /**
      * Constructor for the StudentRepository class.
      */
     StudentRepository() {
+        this(RESOURCE_LOCATION + FILE_PATH);
+    }
+
+    /**
+     * Constructor for a StudentRepository that keeps its students in another file, and loads them from it.
+     * The shared instance is not affected, unless this repository is made the shared instance.
+     *
+     * @param filePath the path of the file that holds the students
+     */
+    public StudentRepository(String filePath) {
         super();
+        this.filePath = filePath;
+        addBitmapIndex(STATUS, StudentStatus.class, Student::getStatus);
         load();
     }
 
     /**
-     * Gets a new instance of the StudentRepository class.
+     * Gets the shared instance of the StudentRepository class.
+     * <p>
+     * The student data file is read when the instance is first requested, and is read again only if
+     * the file has been changed since the shared instance last loaded or saved it.
      *
-     * @return a new instance of the StudentRepository class
+     * @return the shared instance of the StudentRepository class
      */
-    public static StudentRepository getInstance() {
-        return new StudentRepository();
+    public static synchronized StudentRepository getInstance() {
+        if (instance == null) {
+            instance = new StudentRepository();
+        } else {
+            instance.reloadIfOutdated();
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the shared instance of the StudentRepository class, for example with a repository that keeps its
+     * student data in another file. With null, the student data file is read again when the shared instance is next
+     * requested.
+     *
+     * @param repository the new shared instance, or null
+     */
+    public static synchronized void setInstance(StudentRepository repository) {
+        instance = repository;
     }
 
     /**
@@ -44,18 +88,19 @@ public class StudentRepository extends Repository<Student> {
      */
     @Override
     public String getFilePath() {
-        return RESOURCE_LOCATION + FILE_PATH;
+        return filePath;
     }
 
     /**
-     * Sets the list of mappable objects.
+     * Creates an empty student, whose fields are then read from a line of the repository file.
      *
-     * @param listOfMappableObjects the list of mappable objects
+     * @param chars the characters that hold the line
+     * @param start the position of the first character of the line
+     * @param end   the position after the last character of the line
+     * @return the empty student
      */
     @Override
-    public void setAll(List<Map<String, String>> listOfMappableObjects) {
-        for (Map<String, String> map : listOfMappableObjects) {
-            getAll().add(new Student(map));
-        }
+    protected Student newMappableObject(CharSequence chars, int start, int end) {
+        return new Student();
     }
 }
@@ -0,0 +1,11 @@
+package main.utils.config;
+
+/**
+ * This class contains the settings of how long lists are split into pages when they are displayed.
+ */
+public class Paging {
+    /**
+     * The number of items displayed on one page of a list.
+     */
+    public static final int PAGE_SIZE = 20;
+}
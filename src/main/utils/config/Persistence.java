@@ -0,0 +1,54 @@
+package main.utils.config;
+
+/**
+ * This class contains the settings of how the repositories are saved to their files.
+ */
+public class Persistence {
+    /**
+     * Whether changes to single objects are appended to a log file instead of rewriting the whole data file.
+     * The log is replayed over the data file when it is loaded, and is emptied whenever the whole data file is saved.
+     */
+    public static final boolean LOG_STRUCTURED = true;
+
+    /**
+     * The size in bytes at which a log is always compacted into a fresh snapshot of its data file.
+     */
+    public static final long COMPACTION_MAX_LOG_SIZE = 4L * 1024 * 1024;
+
+    /**
+     * The size in bytes below which a log is never compacted.
+     */
+    public static final long COMPACTION_MIN_LOG_SIZE = 64L * 1024;
+
+    /**
+     * The ratio of the size of a log to the size of its data file at which the log is compacted,
+     * once the log is larger than {@link #COMPACTION_MIN_LOG_SIZE}.
+     */
+    public static final double COMPACTION_LOG_RATIO = 1.0;
+
+    /**
+     * The delay in milliseconds after a change outside of a group commit before the pending changes are written.
+     */
+    public static final long GROUP_COMMIT_DELAY_MILLIS = 5;
+
+    /**
+     * Whether large data files are memory-mapped and read in parallel.
+     * This is off on Windows, where a file cannot be replaced while it is still mapped.
+     */
+    public static final boolean PARALLEL_LOAD = !System.getProperty("os.name", "").startsWith("Windows");
+
+    /**
+     * The size in bytes from which a data file is memory-mapped and read in parallel.
+     */
+    public static final long PARALLEL_LOAD_MIN_SIZE = 1024 * 1024;
+
+    /**
+     * The size in bytes of the chunks that a data file read in parallel is split into.
+     */
+    public static final int PARALLEL_LOAD_CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * The number of IDs that a session reserves from a sequence at a time.
+     */
+    public static final int SEQUENCE_BLOCK_SIZE = 32;
+}
@@ -0,0 +1,21 @@
+package main.utils.config;
+
+/**
+ * This class contains the settings of how long a project can stay reserved for a pending registration.
+ */
+public class Reservation {
+    /**
+     * The time in milliseconds after which a pending registration is rejected, and its project and student released.
+     */
+    public static final long TIMEOUT_MILLIS = 3L * 24 * 60 * 60 * 1000;
+
+    /**
+     * The time in milliseconds between two checks for expired registrations.
+     */
+    public static final long TICK_MILLIS = 1000;
+
+    /**
+     * The number of ticks that the timer wheel of the registrations covers before deadlines are kept aside.
+     */
+    public static final int WHEEL_SIZE = 512;
+}
@@ -0,0 +1,205 @@
+package main.utils.iocontrol;
+
+import main.utils.config.Persistence;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GroupCommit class writes the pending changes of {@link Savable} objects to their files together.
+ * <p>
+ * A Savable object that is changed is marked as dirty instead of writing its file at once. The dirty objects are
+ * flushed {@link Persistence#GROUP_COMMIT_DELAY_MILLIS} milliseconds after the first change, or at once when
+ * {@link #flush()} is called, so each file is written once per operation however often it is changed.
+ * Pending changes are also flushed when the program exits.
+ * <p>
+ * A flush in the background has no caller to report a failure to, and neither has the {@link LogCompactor}. Their
+ * failures are kept, and thrown on the thread that next changes a Savable object, commits a unit of work, or calls
+ * {@link #flush()}, so a change that could not be saved is never passed over in silence.
+ */
+public class GroupCommit {
+
+    /**
+     * The Savable objects with pending changes, in the order they were first changed.
+     */
+    private static final Set<Savable<?>> DIRTY_SAVABLES = new LinkedHashSet<>();
+
+    /**
+     * The thread that flushes the pending changes after the delay, which does not keep the program from exiting.
+     */
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "group-commit");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The lock held while pending changes are written, so that a flush waits for a flush under way to finish.
+     */
+    private static final Object WRITE_LOCK = new Object();
+
+    /**
+     * Whether a flush after the delay has been scheduled.
+     */
+    private static boolean flushScheduled = false;
+
+    /**
+     * The first failure in the background that has not been reported yet, or null if there is none.
+     */
+    private static RuntimeException deferredFailure = null;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(GroupCommit::flushAtExit, "group-commit-shutdown"));
+    }
+
+    /**
+     * Marks a Savable object as having pending changes, and schedules a flush after the delay.
+     * The change is kept even if a failure from the background is thrown.
+     *
+     * @param savable the Savable object
+     * @throws RuntimeException if an earlier change could not be saved in the background
+     */
+    static void markDirty(Savable<?> savable) {
+        synchronized (GroupCommit.class) {
+            DIRTY_SAVABLES.add(savable);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                EXECUTOR.schedule(GroupCommit::flushScheduled, Persistence.GROUP_COMMIT_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        throwDeferredFailure();
+    }
+
+    /**
+     * Writes the pending changes of all Savable objects to their files.
+     * Every file is attempted even if an earlier one fails.
+     *
+     * @throws RuntimeException if the data could not be saved to a file, now or earlier in the background
+     */
+    public static void flush() {
+        writeDirtySavables();
+        throwDeferredFailure();
+    }
+
+    /**
+     * Writes the pending changes to one file, made through any Savable object.
+     *
+     * @param FILE_PATH the path of the file
+     * @throws RuntimeException if the data could not be saved to the file
+     */
+    public static void flush(final String FILE_PATH) {
+        flushOthers(null, FILE_PATH);
+    }
+
+    /**
+     * Writes the pending changes to one file made through Savable objects other than the given one,
+     * so that the given object sees them without giving up its own pending changes.
+     *
+     * @param savable   the Savable object whose pending changes are kept
+     * @param FILE_PATH the path of the file
+     * @throws RuntimeException if the data could not be saved to the file
+     */
+    static void flushOthers(Savable<?> savable, final String FILE_PATH) {
+        List<Savable<?>> savables;
+        synchronized (GroupCommit.class) {
+            savables = new ArrayList<>(DIRTY_SAVABLES);
+        }
+        for (Savable<?> other : savables) {
+            if (other != savable) {
+                other.flushPending(FILE_PATH);
+            }
+        }
+    }
+
+    /**
+     * Keeps a failure in the background, to be thrown on the thread that next changes a Savable object or flushes.
+     * Only the first failure is kept until it is thrown.
+     *
+     * @param failure the failure
+     */
+    static void deferFailure(RuntimeException failure) {
+        synchronized (GroupCommit.class) {
+            if (deferredFailure == null) {
+                deferredFailure = failure;
+            }
+        }
+    }
+
+    /**
+     * Throws the failure in the background that has not been reported yet, if there is one.
+     *
+     * @throws RuntimeException the failure
+     */
+    static void throwDeferredFailure() {
+        RuntimeException failure;
+        synchronized (GroupCommit.class) {
+            failure = deferredFailure;
+            deferredFailure = null;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Writes the pending changes of all Savable objects to their files.
+     * Every file is attempted even if an earlier one fails. If the changes are being written in the background,
+     * this waits for them to be written first, so that every change made before the call is in the files when it
+     * returns.
+     *
+     * @throws RuntimeException if the data could not be saved to a file
+     */
+    private static void writeDirtySavables() {
+        synchronized (WRITE_LOCK) {
+            List<Savable<?>> savables;
+            synchronized (GroupCommit.class) {
+                savables = new ArrayList<>(DIRTY_SAVABLES);
+                DIRTY_SAVABLES.clear();
+            }
+            RuntimeException failure = null;
+            for (Savable<?> savable : savables) {
+                try {
+                    savable.flushPending();
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Flushes the pending changes after the delay, and keeps the failure if the data could not be saved.
+     */
+    private static void flushScheduled() {
+        synchronized (GroupCommit.class) {
+            flushScheduled = false;
+        }
+        try {
+            writeDirtySavables();
+        } catch (RuntimeException e) {
+            deferFailure(e);
+        }
+    }
+
+    /**
+     * Flushes the pending changes when the program exits, and prints any failure that has not been reported,
+     * since no thread is left to report it to.
+     */
+    private static void flushAtExit() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package main.utils.iocontrol;
+
+import main.utils.config.Location;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static main.utils.iocontrol.ObjectOutputControlCharacters.LOG_SEPARATOR_STRING;
+
+/**
+ * The Journal class makes changes to the logs of several {@link Savable} files durable in one step.
+ * <p>
+ * The log records of all files are first written to the journal in a single write, followed by a commit marker,
+ * and forced to disk. Only then are they appended to the logs of their files, after which the journal is deleted.
+ * If the program stops in between, the records are appended again from the journal the next time a file is loaded.
+ * Appending a record that is already in a log again does not change the objects replayed from it, since the
+ * records of the journal all follow the records it may have already added.
+ * <p>
+ * A change to all the objects of a file is not copied into the journal. The objects are written to a commit file
+ * next to the file beforehand, and the journal only names the file, whose commit file then replaces it.
+ * A journal without its commit marker was never committed, and is discarded.
+ */
+public class Journal {
+
+    /**
+     * The path of the journal.
+     */
+    public static final String JOURNAL_PATH = Location.RESOURCE_LOCATION + "/data/journal.log";
+
+    /**
+     * The last line of a journal that has been committed.
+     */
+    private static final String COMMIT = "COMMIT";
+
+    /**
+     * The record of a journal that replaces a file with its commit file.
+     */
+    private static final String REPLACE = "REPLACE";
+
+    /**
+     * Writes the log records of several files, and the files to be replaced with their commit files,
+     * to the journal in one durable write.
+     *
+     * @param recordsByFilePath the log records of each file, by the path of the file
+     * @param replacedFilePaths the paths of the files to be replaced with their commit files
+     * @throws RuntimeException if the journal could not be written
+     */
+    public static synchronized void write(Map<String, List<String>> recordsByFilePath, Collection<String> replacedFilePaths) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (String filePath : replacedFilePaths) {
+            stringBuilder.append(filePath).append(LOG_SEPARATOR_STRING).append(REPLACE).append(System.lineSeparator());
+        }
+        for (Map.Entry<String, List<String>> entry : recordsByFilePath.entrySet()) {
+            for (String record : entry.getValue()) {
+                stringBuilder.append(entry.getKey()).append(LOG_SEPARATOR_STRING).append(record).append(System.lineSeparator());
+            }
+        }
+        stringBuilder.append(COMMIT).append(System.lineSeparator());
+        File file = new File(JOURNAL_PATH);
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        try (FileOutputStream fileOutputStream = new FileOutputStream(file)) {
+            FileChannel fileChannel = fileOutputStream.getChannel();
+            ByteBuffer buffer = ByteBuffer.wrap(stringBuilder.toString().getBytes(Charset.defaultCharset()));
+            while (buffer.hasRemaining()) {
+                fileChannel.write(buffer);
+            }
+            fileChannel.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + JOURNAL_PATH);
+        }
+    }
+
+    /**
+     * Deletes the journal once its records have been appended to the logs of their files.
+     *
+     * @throws RuntimeException if the journal could not be deleted
+     */
+    public static synchronized void clear() {
+        try {
+            Files.deleteIfExists(Paths.get(JOURNAL_PATH));
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + JOURNAL_PATH);
+        }
+    }
+
+    /**
+     * Deletes the commit file of a file, which was written for a journal that was never committed.
+     *
+     * @param filePath the path of the file
+     * @throws RuntimeException if the commit file could not be deleted
+     */
+    private static void deleteCommitFile(String filePath) {
+        try {
+            Files.deleteIfExists(Paths.get(Savable.getCommitPath(filePath)));
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + filePath);
+        }
+    }
+
+    /**
+     * Replaces the files named by a committed journal that is left behind with their commit files,
+     * appends its records to the logs of their files, and deletes the journal.
+     * The commit files of a journal that was never committed are deleted.
+     *
+     * @throws RuntimeException if the journal could not be read or its records could not be appended
+     */
+    public static synchronized void recover() {
+        if (!new File(JOURNAL_PATH).exists()) {
+            return;
+        }
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(Paths.get(JOURNAL_PATH), Charset.defaultCharset());
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from file: " + JOURNAL_PATH);
+        }
+        boolean committed = !lines.isEmpty() && lines.get(lines.size() - 1).equals(COMMIT);
+        Map<String, List<String>> recordsByFilePath = new LinkedHashMap<>();
+        List<String> replacedFilePaths = new ArrayList<>();
+        for (String line : committed ? lines.subList(0, lines.size() - 1) : lines) {
+            int separator = line.indexOf(LOG_SEPARATOR_STRING);
+            if (separator < 0) {
+                continue;
+            }
+            String filePath = line.substring(0, separator);
+            String record = line.substring(separator + LOG_SEPARATOR_STRING.length());
+            if (record.equals(REPLACE)) {
+                replacedFilePaths.add(filePath);
+            } else {
+                recordsByFilePath.computeIfAbsent(filePath, k -> new ArrayList<>()).add(record);
+            }
+        }
+        for (String filePath : replacedFilePaths) {
+            if (committed) {
+                Savable.installCommitFile(filePath);
+            } else {
+                deleteCommitFile(filePath);
+            }
+        }
+        if (committed) {
+            for (Map.Entry<String, List<String>> entry : recordsByFilePath.entrySet()) {
+                Savable.appendLines(Savable.getLogPath(entry.getKey()), entry.getValue());
+            }
+        }
+        clear();
+    }
+}
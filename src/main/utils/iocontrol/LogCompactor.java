@@ -0,0 +1,70 @@
+package main.utils.iocontrol;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The LogCompactor class compacts the logs of {@link Savable} files on a background thread.
+ * <p>
+ * Compacting a log saves a fresh snapshot of the objects and empties the log, so that loading the file only has to
+ * replay the changes made since then. The snapshot replaces the file in one step, so a compaction that is cut short
+ * leaves the old snapshot and log in place.
+ */
+public class LogCompactor {
+
+    /**
+     * The thread that compacts the logs, which does not keep the program from exiting.
+     */
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The paths of the files whose compaction has been requested but not yet done.
+     */
+    private static final Set<String> PENDING_FILE_PATHS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Requests the log of a file to be compacted on the background thread.
+     * A request for a file that is already waiting to be compacted is ignored. A compaction that fails is reported
+     * through the {@link GroupCommit}, on the thread that next changes a Savable object or flushes.
+     *
+     * @param savable   the object that manages the file
+     * @param FILE_PATH the path of the file to compact
+     */
+    static void requestCompaction(Savable<?> savable, final String FILE_PATH) {
+        if (!PENDING_FILE_PATHS.add(FILE_PATH)) {
+            return;
+        }
+        EXECUTOR.execute(() -> {
+            try {
+                savable.compact(FILE_PATH);
+            } catch (RuntimeException e) {
+                GroupCommit.deferFailure(e);
+            } finally {
+                PENDING_FILE_PATHS.remove(FILE_PATH);
+            }
+        });
+    }
+
+    /**
+     * Waits for the compactions that have been requested so far to be done.
+     * Compactions are done one at a time in the order they were requested, so this waits for an empty task
+     * queued after them.
+     */
+    public static void awaitCompactions() {
+        try {
+            EXECUTOR.submit(() -> {
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,477 @@
+package main.utils.iocontrol;
+
+import main.utils.parameters.EmptyID;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The MappableCodec class converts the objects of one {@link Mappable} class to and from key-value pairs.
+ * <p>
+ * The fields of the class are looked up once, when the codec of the class is first used, and are then read and
+ * written through method handles. Converting an object therefore does not look up its fields again or check
+ * access to them, and the constants of enum fields are found in a table instead of by {@link Enum#valueOf}.
+ * <p>
+ * Objects can also be written to and read from their String representation directly, without a map in between.
+ * Reading takes the positions of the key-value pairs found by {@link StringAndMapConvertor#forEachPair}, and keeps
+ * what it has found in a reader of each thread, so reading an object allocates nothing beyond its values.
+ */
+public final class MappableCodec {
+
+    /**
+     * The codec of each class, created when the class is first converted.
+     */
+    private static final ClassValue<MappableCodec> CODECS = new ClassValue<>() {
+        @Override
+        protected MappableCodec computeValue(Class<?> type) {
+            return new MappableCodec(type);
+        }
+    };
+
+    /**
+     * The fields of the class, in declaration order, leaving out static and transient fields.
+     */
+    private final FieldCodec[] fieldCodecs;
+
+    /**
+     * The reader of each thread, which is reused for every object the thread reads, since files may be read by
+     * several threads at once.
+     */
+    private final ThreadLocal<FieldReader> fieldReaders = ThreadLocal.withInitial(FieldReader::new);
+
+    /**
+     * Creates the codec of a class by looking up its fields.
+     *
+     * @param type the class
+     * @throws IllegalStateException if the fields of the class cannot be accessed
+     */
+    private MappableCodec(Class<?> type) {
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Fields of " + type.getName() + " cannot be accessed.", e);
+        }
+        List<FieldCodec> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                fields.add(FieldCodec.of(lookup, field));
+            }
+        }
+        this.fieldCodecs = fields.toArray(new FieldCodec[0]);
+    }
+
+    /**
+     * Gets the codec of a class.
+     *
+     * @param type the class
+     * @return the codec of the class
+     * @throws IllegalStateException if the fields of the class cannot be accessed
+     */
+    public static MappableCodec of(Class<?> type) {
+        return CODECS.get(type);
+    }
+
+    /**
+     * Converts an object to a map from the names of its fields to their values.
+     * A field whose value is null is mapped to {@link EmptyID#EMPTY_ID}.
+     *
+     * @param object the object
+     * @return the map
+     */
+    public Map<String, String> toMap(Object object) {
+        Map<String, String> map = new HashMap<>(fieldCodecs.length * 4 / 3 + 1);
+        for (FieldCodec fieldCodec : fieldCodecs) {
+            map.put(fieldCodec.name, fieldCodec.get(object));
+        }
+        return map;
+    }
+
+    /**
+     * Converts an object to the string of key-value pairs stored in a file, without building a map first.
+     * The string is the same as {@link StringAndMapConvertor#mapToString(Map)} of {@link #toMap(Object)},
+     * except for the order of the pairs.
+     *
+     * @param object the object
+     * @return the string of key-value pairs
+     */
+    public String toString(Object object) {
+        StringBuilder stringBuilder = new StringBuilder(fieldCodecs.length * 32);
+        write(object, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Appends the string of key-value pairs of an object to a buffer.
+     *
+     * @param object        the object
+     * @param stringBuilder the buffer to append to
+     */
+    public void write(Object object, StringBuilder stringBuilder) {
+        for (int i = 0; i < fieldCodecs.length; i++) {
+            StringAndMapConvertor.appendPair(stringBuilder, i == 0, fieldCodecs[i].name, fieldCodecs[i].get(object));
+        }
+    }
+
+    /**
+     * Sets the fields of an object from the string of key-value pairs stored in a file, without building a map first.
+     * Fields that are missing from the string are set as if their value were null, as by {@link #fromMap(Object, Map)}.
+     *
+     * @param object the object
+     * @param chars  the characters that hold the string
+     * @param start  the position of the first character of the string
+     * @param end    the position after the last character of the string
+     * @throws IllegalArgumentException if the string contains invalid key-value pairs,
+     *                                  or a value is not a constant of the enum of its field
+     */
+    public void read(Object object, CharSequence chars, int start, int end) {
+        fieldReaders.get().read(object, chars, start, end);
+    }
+
+    /**
+     * Finds the field whose name is held by a region of characters.
+     * The pairs of a string are usually in the order of the fields, so the search starts at the expected field.
+     *
+     * @param chars the characters
+     * @param start the position of the first character of the name
+     * @param end   the position after the last character of the name
+     * @param hint  the index of the field expected to be found
+     * @return the index of the field, or -1 if the class has no field with the name
+     */
+    private int indexOfField(CharSequence chars, int start, int end, int hint) {
+        for (int i = 0; i < fieldCodecs.length; i++) {
+            int index = (hint + i) % fieldCodecs.length;
+            if (StringAndMapConvertor.regionEquals(chars, start, end, fieldCodecs[index].name)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sets the fields of an object from a map from the names of its fields to their values.
+     * Final fields are left as they are, since they are set when the object is created.
+     *
+     * @param object the object
+     * @param map    the map
+     * @throws IllegalArgumentException if a value is not a constant of the enum of its field
+     */
+    public void fromMap(Object object, Map<String, String> map) {
+        for (FieldCodec fieldCodec : fieldCodecs) {
+            fieldCodec.set(object, map.get(fieldCodec.name));
+        }
+    }
+
+    /**
+     * The kinds of field that a codec can convert.
+     */
+    private enum FieldKind {
+        /**
+         * A field that holds a string, or any other object that is stored as its string.
+         */
+        STRING,
+        /**
+         * A field that holds an integer.
+         */
+        INT,
+        /**
+         * A field that holds a long integer.
+         */
+        LONG,
+        /**
+         * A field that holds the constant of an enum.
+         */
+        ENUM
+    }
+
+    /**
+     * Reads and writes one field of a class.
+     */
+    private static final class FieldCodec {
+
+        /**
+         * The type of the getter after adapting it to any object.
+         */
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+        /**
+         * The type of the setter after adapting it to any object.
+         */
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        /**
+         * The name of the field.
+         */
+        private final String name;
+
+        /**
+         * The kind of the field.
+         */
+        private final FieldKind kind;
+
+        /**
+         * Reads the field of an object.
+         */
+        private final MethodHandle getter;
+
+        /**
+         * Writes the field of an object, or null if the field is final.
+         */
+        private final MethodHandle setter;
+
+        /**
+         * The constants of the enum of the field by name, or null if the field is not an enum.
+         */
+        private final Map<String, Object> constantsByName;
+
+        /**
+         * Creates the codec of a field.
+         *
+         * @param name            the name of the field
+         * @param kind            the kind of the field
+         * @param getter          reads the field of an object
+         * @param setter          writes the field of an object, or null if the field is final
+         * @param constantsByName the constants of the enum of the field by name, or null if the field is not an enum
+         */
+        private FieldCodec(String name, FieldKind kind, MethodHandle getter, MethodHandle setter, Map<String, Object> constantsByName) {
+            this.name = name;
+            this.kind = kind;
+            this.getter = getter;
+            this.setter = setter;
+            this.constantsByName = constantsByName;
+        }
+
+        /**
+         * Creates the codec of a field.
+         *
+         * @param lookup a lookup with private access to the class of the field
+         * @param field  the field
+         * @return the codec of the field
+         * @throws IllegalStateException if the field cannot be accessed
+         */
+        static FieldCodec of(MethodHandles.Lookup lookup, Field field) {
+            Class<?> type = field.getType();
+            FieldKind kind;
+            Map<String, Object> constantsByName = null;
+            if (type.isEnum()) {
+                kind = FieldKind.ENUM;
+                constantsByName = new HashMap<>();
+                for (Object constant : type.getEnumConstants()) {
+                    constantsByName.put(((Enum<?>) constant).name(), constant);
+                }
+            } else if (type == int.class || type == Integer.class) {
+                kind = FieldKind.INT;
+            } else if (type == long.class || type == Long.class) {
+                kind = FieldKind.LONG;
+            } else {
+                kind = FieldKind.STRING;
+            }
+            try {
+                MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                MethodHandle setter = Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field).asType(SETTER_TYPE);
+                return new FieldCodec(field.getName(), kind, getter, setter, constantsByName);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Field " + field.getName() + " cannot be accessed.", e);
+            }
+        }
+
+        /**
+         * Gets the value of the field of an object as a string.
+         *
+         * @param object the object
+         * @return the value of the field, or {@link EmptyID#EMPTY_ID} if it is null
+         */
+        String get(Object object) {
+            Object value;
+            try {
+                value = (Object) getter.invokeExact(object);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Field " + name + " could not be read.", e);
+            }
+            return value == null ? EmptyID.EMPTY_ID : value.toString();
+        }
+
+        /**
+         * Sets the field of an object from a region of characters.
+         * The constant of an enum field is matched in place, without creating a string.
+         *
+         * @param object the object
+         * @param chars  the characters that hold the value
+         * @param start  the position of the first character of the value
+         * @param end    the position after the last character of the value
+         * @throws IllegalArgumentException if the value is not a constant of the enum of the field
+         */
+        void set(Object object, CharSequence chars, int start, int end) {
+            if (setter == null) {
+                return;
+            }
+            if (kind != FieldKind.ENUM) {
+                set(object, chars.subSequence(start, end).toString());
+                return;
+            }
+            for (Map.Entry<String, Object> entry : constantsByName.entrySet()) {
+                if (StringAndMapConvertor.regionEquals(chars, start, end, entry.getKey())) {
+                    setValue(object, entry.getValue());
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("No enum constant " + chars.subSequence(start, end) + " for field " + name + ".");
+        }
+
+        /**
+         * Sets the field of an object from a string.
+         * An integer or long field whose value is empty or not a number is set to 0.
+         *
+         * @param object the object
+         * @param value  the value of the field as a string
+         * @throws IllegalArgumentException if the value is not a constant of the enum of the field
+         */
+        void set(Object object, String value) {
+            if (setter == null) {
+                return;
+            }
+            Object fieldValue = switch (kind) {
+                case STRING -> value;
+                case INT -> toInt(value);
+                case LONG -> toLong(value);
+                case ENUM -> {
+                    Object constant = constantsByName.get(value);
+                    if (constant == null) {
+                        throw new IllegalArgumentException("No enum constant " + value + " for field " + name + ".");
+                    }
+                    yield constant;
+                }
+            };
+            setValue(object, fieldValue);
+        }
+
+        /**
+         * Sets the field of an object to a value of its type.
+         * A final field is left as it is.
+         *
+         * @param object     the object
+         * @param fieldValue the value
+         */
+        private void setValue(Object object, Object fieldValue) {
+            if (setter == null) {
+                return;
+            }
+            try {
+                setter.invokeExact(object, fieldValue);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Field " + name + " could not be written.", e);
+            }
+        }
+
+        /**
+         * Converts the string of an integer field to its value.
+         *
+         * @param value the string
+         * @return the value, or 0 if the string is empty or not a number
+         */
+        private static int toInt(String value) {
+            if (EmptyID.isEmptyID(value)) {
+                return 0;
+            }
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        /**
+         * Converts the string of a long field to its value.
+         *
+         * @param value the string
+         * @return the value, or 0 if the string is empty or not a number
+         */
+        private static long toLong(String value) {
+            if (EmptyID.isEmptyID(value)) {
+                return 0;
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Reads the fields of one object at a time from its key-value pairs, remembering which fields it has found.
+     */
+    private final class FieldReader implements StringAndMapConvertor.PairConsumer {
+
+        /**
+         * Whether each field has been found in the pairs of the object being read.
+         */
+        private final boolean[] found = new boolean[fieldCodecs.length];
+
+        /**
+         * The object being read, or null between objects.
+         */
+        private Object object;
+
+        /**
+         * The index of the field expected next, which is the one after the field last found.
+         */
+        private int next;
+
+        /**
+         * Sets the fields of an object from its key-value pairs, and the fields that are missing as if their value
+         * were null.
+         *
+         * @param object the object
+         * @param chars  the characters that hold the string
+         * @param start  the position of the first character of the string
+         * @param end    the position after the last character of the string
+         * @throws IllegalArgumentException if the string contains invalid key-value pairs,
+         *                                  or a value is not a constant of the enum of its field
+         */
+        void read(Object object, CharSequence chars, int start, int end) {
+            this.object = object;
+            this.next = 0;
+            Arrays.fill(found, false);
+            try {
+                StringAndMapConvertor.forEachPair(chars, start, end, this);
+                for (int i = 0; i < fieldCodecs.length; i++) {
+                    if (!found[i]) {
+                        fieldCodecs[i].set(object, null);
+                    }
+                }
+            } finally {
+                this.object = null;
+            }
+        }
+
+        /**
+         * Sets the field named by a key-value pair, if the class has one.
+         *
+         * @param chars      the characters that hold the pair
+         * @param keyStart   the position of the first character of the key
+         * @param keyEnd     the position after the last character of the key
+         * @param valueStart the position of the first character of the value
+         * @param valueEnd   the position after the last character of the value
+         */
+        @Override
+        public void accept(CharSequence chars, int keyStart, int keyEnd, int valueStart, int valueEnd) {
+            int index = indexOfField(chars, keyStart, keyEnd, next);
+            if (index >= 0) {
+                fieldCodecs[index].set(object, chars, valueStart, valueEnd);
+                found[index] = true;
+                next = index + 1;
+            }
+        }
+    }
+}
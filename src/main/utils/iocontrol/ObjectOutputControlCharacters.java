@@ -14,4 +14,9 @@ public record ObjectOutputControlCharacters() {
      * The character to be used to separate features of an object.
      */
     public static final String SEPARATOR_STRING = "\u001A\u001A\u001A";
+
+    /**
+     * The character to be used to separate the operation, the key and the object of a log record.
+     */
+    public static final String LOG_SEPARATOR_STRING = "\u001C\u001C\u001C";
 }
@@ -1,17 +1,82 @@
 package main.utils.iocontrol;
 
+import main.utils.config.Persistence;
+
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static main.utils.iocontrol.ObjectOutputControlCharacters.LOG_SEPARATOR_STRING;
 
 /**
  * An abstract class for managing objects that can be mapped to and from key-value pairs.
+ * <p>
+ * The objects are stored in a snapshot file with one object per line. When {@link Persistence#LOG_STRUCTURED} is set,
+ * changes to single objects are appended to a log file next to the snapshot instead of rewriting the snapshot, and
+ * the log is replayed over the snapshot when the objects are loaded. Saving the snapshot empties the log.
+ * <p>
+ * Once the log grows past the thresholds in {@link Persistence}, the {@link LogCompactor} saves a fresh snapshot
+ * on a background thread, so that the log, and the time to replay it, stays bounded.
+ * <p>
+ * Saves and log records are not written at once but kept until the {@link GroupCommit} flushes them, so that the
+ * changes of one operation are written together. A pending snapshot replaces the log records kept before it.
  *
  * @param <MappableObject> a class that can be mapped to and from key-value pairs
  */
 public abstract class Savable<MappableObject extends Mappable> {
 
+    /**
+     * The operation of a log record that adds or replaces an object.
+     */
+    private static final String PUT = "PUT";
+
+    /**
+     * The operation of a log record that removes an object.
+     */
+    private static final String DELETE = "DELETE";
+
+    /**
+     * The number of characters buffered before they are written to a file.
+     */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The state of the file when it was last loaded or saved by this object, or null if it has not been yet.
+     */
+    private FileStamp fileStamp;
+
+    /**
+     * The path of the file that the pending changes are written to, or null if there are no pending changes.
+     */
+    private String pendingFilePath;
+
+    /**
+     * Whether a snapshot of the file is pending.
+     */
+    private boolean pendingSnapshot;
+
+    /**
+     * The records that are pending to be appended to the log, in order.
+     */
+    private final List<String> pendingLogLines = new ArrayList<>();
+
     /**
      * Gets the list of mappable objects.
      *
@@ -24,57 +89,804 @@ public abstract class Savable<MappableObject extends Mappable> {
      *
      * @param listOfMappableObjects the list of mappable objects to set
      */
-    protected abstract void setAll(List<Map<String, String>> listOfMappableObjects);
+    protected abstract void setAll(List<MappableObject> listOfMappableObjects);
+
+    /**
+     * Creates an empty mappable object of the class stored in a line of the file, whose fields are then read from the line.
+     *
+     * @param chars the characters that hold the line
+     * @param start the position of the first character of the line
+     * @param end   the position after the last character of the line
+     * @return the empty mappable object
+     * @throws IllegalArgumentException if the line does not hold a known class of mappable object
+     */
+    protected abstract MappableObject newMappableObject(CharSequence chars, int start, int end);
 
     /**
-     * Saves the list of mappable objects to a file.
+     * Applies the records of the log to the objects loaded from the snapshot, in order.
+     *
+     * @param logRecords the records of the log
+     */
+    protected abstract void replayLog(List<LogRecord<MappableObject>> logRecords);
+
+    /**
+     * Gets the path of the log file that belongs to a snapshot file.
+     *
+     * @param FILE_PATH the path of the snapshot file
+     * @return the path of the log file
+     */
+    protected static String getLogPath(final String FILE_PATH) {
+        return (FILE_PATH.endsWith(".txt") ? FILE_PATH.substring(0, FILE_PATH.length() - 4) : FILE_PATH) + ".log";
+    }
+
+    /**
+     * Saves the list of mappable objects to a file, and empties the log of the file.
+     * The snapshot is written when the {@link GroupCommit} is next flushed, and replaces the log records pending
+     * before it.
      *
      * @param FILE_PATH the path of the file to save to
+     * @throws RuntimeException if earlier changes to another file, or earlier changes in the background, could not be saved
+     */
+    protected synchronized void save(final String FILE_PATH) {
+        setPendingFilePath(FILE_PATH);
+        pendingSnapshot = true;
+        pendingLogLines.clear();
+        GroupCommit.markDirty(this);
+    }
+
+    /**
+     * Writes the list of mappable objects to a file, and empties the log of the file.
+     * <p>
+     * The objects are written to a temporary file that then replaces the file, so the file always holds either
+     * the old or the new snapshot. The log is emptied only after that, and replaying it over the new snapshot
+     * gives the same objects, so a crash in between loses nothing.
+     *
+     * @param FILE_PATH       the path of the file to save to
+     * @param onlyIfUnchanged whether to give up, leaving the file as it is, if someone else has changed the file
+     *                        since this object last loaded or saved it
+     * @return true if the snapshot was written, false if it was given up
      * @throws RuntimeException if the data could not be saved to the file
      */
-    protected void save(final String FILE_PATH) {
-        try (PrintWriter printWriter = new PrintWriter(new FileWriter(FILE_PATH))) {
+    private boolean writeSnapshot(final String FILE_PATH, boolean onlyIfUnchanged) {
+        final String TEMPORARY_PATH = FILE_PATH + ".tmp";
+        writeObjects(TEMPORARY_PATH, FILE_PATH, false);
+        try {
+            if (onlyIfUnchanged && isChanged(FILE_PATH)) {
+                Files.deleteIfExists(Paths.get(TEMPORARY_PATH));
+                return false;
+            }
+            replaceFile(Paths.get(TEMPORARY_PATH), Paths.get(FILE_PATH));
+            Files.deleteIfExists(Paths.get(getLogPath(FILE_PATH)));
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + FILE_PATH);
+        }
+        fileStamp = FileStamp.of(FILE_PATH);
+        return true;
+    }
+
+    /**
+     * Writes the list of mappable objects to a file that is to replace another file, one object per line.
+     *
+     * @param PATH      the path of the file to write
+     * @param FILE_PATH the path of the file that it is to replace, named when the data could not be saved
+     * @param force     whether to force the file to disk before returning
+     * @throws RuntimeException if the data could not be saved to the file
+     */
+    private void writeObjects(final String PATH, final String FILE_PATH, boolean force) {
+        try (FileOutputStream fileOutputStream = new FileOutputStream(PATH);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(fileOutputStream, Charset.defaultCharset()), WRITE_BUFFER_SIZE)) {
             final List<MappableObject> listOfMappableObjects = getAll();
+            StringBuilder stringBuilder = new StringBuilder();
             for (MappableObject mappableObject : listOfMappableObjects) {
-                printWriter.println(StringAndMapConvertor.mapToString(mappableObject.toMap()));
+                writeLine(stringBuilder, mappableObject);
+                if (stringBuilder.length() >= WRITE_BUFFER_SIZE) {
+                    writer.append(stringBuilder);
+                    stringBuilder.setLength(0);
+                }
+            }
+            writer.append(stringBuilder);
+            writer.flush();
+            if (force) {
+                fileOutputStream.getChannel().force(true);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + FILE_PATH);
+        }
+    }
+
+    /**
+     * Saves a fresh snapshot of the objects if the log of the file is still too large to keep.
+     * This is called by the {@link LogCompactor} on its background thread.
+     * <p>
+     * Nothing is written if someone else has changed the file since this object last loaded or saved it, checked
+     * again just before the snapshot replaces the file, since the objects in memory do not hold their changes.
+     * The compaction is requested again once the file is reloaded.
+     *
+     * @param FILE_PATH the path of the file to compact
+     * @throws RuntimeException if the data could not be saved to the file
+     */
+    synchronized void compact(final String FILE_PATH) {
+        flushPending();
+        if (!isChanged(FILE_PATH) && needsCompaction()) {
+            writeSnapshot(FILE_PATH, true);
+        }
+    }
+
+    /**
+     * Writes the pending changes to the file.
+     * The pending changes are dropped even if they could not be written, so a failing file is not retried forever.
+     *
+     * @throws RuntimeException if the data could not be saved to the file
+     */
+    synchronized void flushPending() {
+        if (pendingFilePath == null) {
+            return;
+        }
+        final String FILE_PATH = pendingFilePath;
+        try {
+            if (pendingSnapshot) {
+                writeSnapshot(FILE_PATH, false);
+            } else {
+                appendToLog(FILE_PATH, pendingLogLines);
             }
+        } finally {
+            pendingFilePath = null;
+            pendingSnapshot = false;
+            pendingLogLines.clear();
+        }
+        if (needsCompaction()) {
+            LogCompactor.requestCompaction(this, FILE_PATH);
+        }
+    }
+
+    /**
+     * Writes the pending changes if they are for the given file.
+     *
+     * @param FILE_PATH the path of the file
+     * @throws RuntimeException if the data could not be saved to the file
+     */
+    synchronized void flushPending(final String FILE_PATH) {
+        if (FILE_PATH.equals(pendingFilePath)) {
+            flushPending();
+        }
+    }
+
+    /**
+     * Sets the file that the pending changes are written to.
+     * Changes pending for another file are written first.
+     *
+     * @param FILE_PATH the path of the file
+     * @throws RuntimeException if the changes pending for another file could not be saved
+     */
+    private void setPendingFilePath(final String FILE_PATH) {
+        if (pendingFilePath != null && !pendingFilePath.equals(FILE_PATH)) {
+            flushPending();
+        }
+        pendingFilePath = FILE_PATH;
+    }
+
+    /**
+     * Checks whether the log has grown past the thresholds in {@link Persistence}.
+     * Before the file is first loaded or saved by this object, the size of its log is not known, so the log is left
+     * to be checked once it is.
+     *
+     * @return true if the log should be compacted into the snapshot, false otherwise
+     */
+    private boolean needsCompaction() {
+        if (fileStamp == null) {
+            return false;
+        }
+        long logSize = fileStamp.logSize();
+        return logSize >= Persistence.COMPACTION_MAX_LOG_SIZE
+                || (logSize >= Persistence.COMPACTION_MIN_LOG_SIZE && logSize >= Persistence.COMPACTION_LOG_RATIO * fileStamp.size());
+    }
+
+    /**
+     * Replaces a file with another file in one step where the file system allows it.
+     *
+     * @param source the file to move
+     * @param target the file to replace
+     * @throws IOException if the file could not be replaced
+     */
+    private static void replaceFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Records that an object has been added or changed.
+     * In log-structured mode only the object is appended to the log; otherwise the whole file is saved.
+     *
+     * @param FILE_PATH      the path of the file to save to
+     * @param key            the key of the object
+     * @param mappableObject the object as it is now
+     * @throws RuntimeException if the data could not be saved to the file
+     */
+    protected void savePut(final String FILE_PATH, String key, MappableObject mappableObject) {
+        if (Persistence.LOG_STRUCTURED) {
+            addToLog(FILE_PATH, toPutRecord(key, mappableObject));
+        } else {
+            save(FILE_PATH);
+        }
+    }
+
+    /**
+     * Records that an object has been removed.
+     * In log-structured mode only the key of the object is appended to the log; otherwise the whole file is saved.
+     *
+     * @param FILE_PATH the path of the file to save to
+     * @param key       the key of the removed object
+     * @throws RuntimeException if the data could not be saved to the file
+     */
+    protected void saveDelete(final String FILE_PATH, String key) {
+        if (Persistence.LOG_STRUCTURED) {
+            addToLog(FILE_PATH, toDeleteRecord(key));
+        } else {
+            save(FILE_PATH);
+        }
+    }
+
+    /**
+     * Converts the addition or change of an object to a record of the log.
+     *
+     * @param key            the key of the object
+     * @param mappableObject the object as it is now
+     * @return the record
+     */
+    protected static String toPutRecord(String key, Mappable mappableObject) {
+        StringBuilder stringBuilder = new StringBuilder().append(PUT).append(LOG_SEPARATOR_STRING).append(key).append(LOG_SEPARATOR_STRING);
+        MappableCodec.of(mappableObject.getClass()).write(mappableObject, stringBuilder);
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Converts the removal of an object to a record of the log.
+     *
+     * @param key the key of the removed object
+     * @return the record
+     */
+    protected static String toDeleteRecord(String key) {
+        return DELETE + LOG_SEPARATOR_STRING + key;
+    }
+
+    /**
+     * Writes the list of mappable objects, as they are now, to the commit file of a file, and forces it to disk.
+     * The commit file replaces the file once the {@link Journal} that names it has been written, so that a change
+     * to all objects is committed without copying every object into the journal.
+     *
+     * @param FILE_PATH the path of the file that the commit file is to replace
+     * @throws RuntimeException if the data could not be saved to the commit file
+     */
+    protected synchronized void writeCommitFile(final String FILE_PATH) {
+        writeObjects(getCommitPath(FILE_PATH), FILE_PATH, true);
+    }
+
+    /**
+     * Replaces a file with its commit file once the {@link Journal} that names it has been written.
+     * Changes pending from before are written first, although the commit file already holds them.
+     *
+     * @param FILE_PATH the path of the file to replace
+     * @throws RuntimeException if the file could not be replaced, or earlier changes in the background could not be saved
+     */
+    protected synchronized void installCommitted(final String FILE_PATH) {
+        flushPending();
+        installCommitFile(FILE_PATH);
+        fileStamp = FileStamp.of(FILE_PATH);
+        GroupCommit.throwDeferredFailure();
+    }
+
+    /**
+     * Gets the path of the commit file that belongs to a file.
+     *
+     * @param FILE_PATH the path of the file
+     * @return the path of the commit file
+     */
+    static String getCommitPath(final String FILE_PATH) {
+        return FILE_PATH + ".commit";
+    }
+
+    /**
+     * Replaces a file with its commit file, if the commit file is there, and empties the log of the file.
+     * <p>
+     * The log is deleted before the file is replaced, since its records are older than the commit file and would
+     * undo it if replayed over it. If the program stops in between, the commit file is still there, and replaces
+     * the file when the journal is recovered. Once the commit file is gone, the file has been replaced.
+     *
+     * @param FILE_PATH the path of the file to replace
+     * @throws RuntimeException if the file could not be replaced
+     */
+    static void installCommitFile(final String FILE_PATH) {
+        Path commitPath = Paths.get(getCommitPath(FILE_PATH));
+        if (!Files.exists(commitPath)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(getLogPath(FILE_PATH)));
+            replaceFile(commitPath, Paths.get(FILE_PATH));
         } catch (IOException e) {
             throw new RuntimeException("Data could not be saved to file: " + FILE_PATH);
         }
     }
 
     /**
-     * Loads the list of mappable objects from a file.
+     * Appends records that have been committed to the {@link Journal} to the log of a file at once.
+     * Changes pending from before are written first, so that the records follow them.
+     *
+     * @param FILE_PATH the path of the file whose log is appended to
+     * @param records   the records, in order
+     * @throws RuntimeException if the data could not be saved to the file, or earlier changes in the background could not be saved
+     */
+    protected synchronized void appendCommitted(final String FILE_PATH, List<String> records) {
+        flushPending();
+        appendToLog(FILE_PATH, records);
+        if (needsCompaction()) {
+            LogCompactor.requestCompaction(this, FILE_PATH);
+        }
+        GroupCommit.throwDeferredFailure();
+    }
+
+    /**
+     * Adds a record to be appended to the log of a file when the {@link GroupCommit} is next flushed.
+     * The record is dropped if a snapshot of the file is already pending, since the snapshot includes the change.
+     *
+     * @param FILE_PATH the path of the file whose log is appended to
+     * @param line      the record
+     * @throws RuntimeException if earlier changes to another file, or earlier changes in the background, could not be saved
+     */
+    private synchronized void addToLog(final String FILE_PATH, String line) {
+        setPendingFilePath(FILE_PATH);
+        if (!pendingSnapshot) {
+            pendingLogLines.add(line);
+        }
+        GroupCommit.markDirty(this);
+    }
+
+    /**
+     * Appends records to the log of a file in one write.
+     * <p>
+     * The file is stamped again only if no one else changed it since this object last loaded or saved it. Otherwise
+     * the old stamp is kept, so the file is reloaded the next time it is used, and the records appended by others
+     * are replayed together with these, rather than being hidden from this object and left out of its snapshots.
+     *
+     * @param FILE_PATH the path of the file whose log is appended to
+     * @param lines     the records
+     * @throws RuntimeException if the records could not be appended to the log
+     */
+    private void appendToLog(final String FILE_PATH, List<String> lines) {
+        boolean changedElsewhere = isChanged(FILE_PATH);
+        appendLines(getLogPath(FILE_PATH), lines);
+        if (!changedElsewhere) {
+            fileStamp = FileStamp.of(FILE_PATH);
+        }
+    }
+
+    /**
+     * Appends lines to a file in one write.
+     *
+     * @param PATH  the path of the file
+     * @param lines the lines
+     * @throws RuntimeException if the lines could not be appended to the file
+     */
+    static void appendLines(final String PATH, List<String> lines) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (String line : lines) {
+            stringBuilder.append(line).append(System.lineSeparator());
+        }
+        try (Writer writer = new FileWriter(PATH, true)) {
+            writer.write(stringBuilder.toString());
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be saved to file: " + PATH);
+        }
+    }
+
+    /**
+     * Loads the list of mappable objects from a file, and replays the log of the file over them.
+     * Changes pending in this object are written first, and so are changes committed to the {@link Journal}
+     * that were not yet written to their logs when the program stopped.
+     * The file is stamped before it is read, so a change made to it while it is read is noticed by the next check.
      *
      * @param FILE_PATH the path of the file to load from
      * @throws RuntimeException if the data could not be loaded from the file
      */
-    protected void load(final String FILE_PATH) {
-        List<Map<String, String>> listOfMappableObjects = new ArrayList<>();
-        BufferedReader bufferedReader;
-        try {
-            bufferedReader = new BufferedReader(new FileReader(FILE_PATH));
-        } catch (FileNotFoundException e) {
-            File file = new File(FILE_PATH);
-            File parent = file.getParentFile();
-            if (parent != null && !parent.exists()) {
-                parent.mkdirs();
+    protected synchronized void load(final String FILE_PATH) {
+        flushPending();
+        Journal.recover();
+        createIfMissing(FILE_PATH);
+        FileStamp stampBeforeReading = FileStamp.of(FILE_PATH);
+        List<MappableObject> listOfMappableObjects;
+        if (isLoadedInParallel(FILE_PATH)) {
+            listOfMappableObjects = readObjectsInParallel(FILE_PATH);
+        } else {
+            listOfMappableObjects = new ArrayList<>();
+            readObjects(readFile(FILE_PATH), listOfMappableObjects);
+        }
+        List<LogRecord<MappableObject>> logRecords = readLog(FILE_PATH);
+        fileStamp = stampBeforeReading;
+        setAll(listOfMappableObjects);
+        if (!logRecords.isEmpty()) {
+            replayLog(logRecords);
+        }
+        if (needsCompaction()) {
+            LogCompactor.requestCompaction(this, FILE_PATH);
+        }
+    }
+
+    /**
+     * Reads the records of the log of a file.
+     * Reading stops at the first record that cannot be parsed, which is left behind by a write that did not finish.
+     *
+     * @param FILE_PATH the path of the file whose log is read
+     * @return the records of the log, in order
+     * @throws RuntimeException if the log could not be read
+     */
+    private List<LogRecord<MappableObject>> readLog(final String FILE_PATH) {
+        final String LOG_PATH = getLogPath(FILE_PATH);
+        List<LogRecord<MappableObject>> logRecords = new ArrayList<>();
+        if (!new File(LOG_PATH).exists()) {
+            return logRecords;
+        }
+        final String chars = readFile(LOG_PATH);
+        int lineStart = 0;
+        while (lineStart < chars.length()) {
+            int lineEnd = lineEndOf(chars, lineStart);
+            LogRecord<MappableObject> logRecord;
+            try {
+                logRecord = readLogRecord(chars, lineStart, lineEnd);
+            } catch (IllegalArgumentException e) {
+                break;
+            }
+            if (logRecord == null) {
+                break;
+            }
+            logRecords.add(logRecord);
+            lineStart = nextLineOf(chars, lineEnd);
+        }
+        return logRecords;
+    }
+
+    /**
+     * Reads records of a log that were kept in memory rather than read from a log file.
+     *
+     * @param records the records, one per string, in order
+     * @return the records read, in order
+     * @throws IllegalArgumentException if a string is not a record of a log
+     */
+    protected List<LogRecord<MappableObject>> readLogRecords(List<String> records) {
+        List<LogRecord<MappableObject>> logRecords = new ArrayList<>(records.size());
+        for (String record : records) {
+            LogRecord<MappableObject> logRecord = readLogRecord(record, 0, record.length());
+            if (logRecord == null) {
+                throw new IllegalArgumentException("Not a record of a log: " + record);
+            }
+            logRecords.add(logRecord);
+        }
+        return logRecords;
+    }
+
+    /**
+     * Reads a record of a log.
+     *
+     * @param chars the characters of the log
+     * @param start the position of the first character of the record
+     * @param end   the position after the last character of the record
+     * @return the record, or null if the line is not a record
+     * @throws IllegalArgumentException if the object of the record cannot be read
+     */
+    private LogRecord<MappableObject> readLogRecord(String chars, int start, int end) {
+        int keyStart = StringAndMapConvertor.indexOf(chars, LOG_SEPARATOR_STRING, start, end) + LOG_SEPARATOR_STRING.length();
+        if (keyStart < LOG_SEPARATOR_STRING.length()) {
+            return null;
+        }
+        int keyEnd = StringAndMapConvertor.indexOf(chars, LOG_SEPARATOR_STRING, keyStart, end);
+        if (StringAndMapConvertor.regionEquals(chars, start, keyStart - LOG_SEPARATOR_STRING.length(), PUT) && keyEnd >= 0) {
+            return new LogRecord<>(chars.substring(keyStart, keyEnd), readObject(chars, keyEnd + LOG_SEPARATOR_STRING.length(), end));
+        }
+        if (StringAndMapConvertor.regionEquals(chars, start, keyStart - LOG_SEPARATOR_STRING.length(), DELETE) && keyEnd < 0) {
+            return new LogRecord<>(chars.substring(keyStart, end), null);
+        }
+        return null;
+    }
+
+    /**
+     * Reads a mappable object from a line of a file.
+     *
+     * @param chars the characters of the file
+     * @param start the position of the first character of the line
+     * @param end   the position after the last character of the line
+     * @return the mappable object
+     * @throws IllegalArgumentException if the line does not hold a valid mappable object
+     */
+    private MappableObject readObject(CharSequence chars, int start, int end) {
+        MappableObject mappableObject = newMappableObject(chars, start, end);
+        MappableCodec.of(mappableObject.getClass()).read(mappableObject, chars, start, end);
+        return mappableObject;
+    }
+
+    /**
+     * Appends a mappable object to a buffer as a line of a file.
+     *
+     * @param stringBuilder  the buffer
+     * @param mappableObject the mappable object
+     */
+    private static void writeLine(StringBuilder stringBuilder, Mappable mappableObject) {
+        MappableCodec.of(mappableObject.getClass()).write(mappableObject, stringBuilder);
+        stringBuilder.append(System.lineSeparator());
+    }
+
+    /**
+     * Reads the mappable objects from the lines of a file.
+     * Empty lines are skipped.
+     *
+     * @param chars                 the characters of the file
+     * @param listOfMappableObjects the list to add the mappable objects to, in order
+     * @throws IllegalArgumentException if a line does not hold a valid mappable object
+     */
+    private void readObjects(String chars, List<MappableObject> listOfMappableObjects) {
+        int lineStart = 0;
+        while (lineStart < chars.length()) {
+            int lineEnd = lineEndOf(chars, lineStart);
+            if (lineEnd > lineStart) {
+                listOfMappableObjects.add(readObject(chars, lineStart, lineEnd));
+            }
+            lineStart = nextLineOf(chars, lineEnd);
+        }
+    }
+
+    /**
+     * Checks whether a file is large enough to be memory-mapped and read in parallel.
+     * Parallel reading splits the file at newline bytes, so it is only used if the characters of the file are
+     * encoded in a way that never uses the newline byte within another character.
+     *
+     * @param FILE_PATH the path of the file
+     * @return true if the file is to be read in parallel, false otherwise
+     */
+    private static boolean isLoadedInParallel(final String FILE_PATH) {
+        if (!Persistence.PARALLEL_LOAD) {
+            return false;
+        }
+        Charset charset = Charset.defaultCharset();
+        if (!charset.equals(StandardCharsets.UTF_8) && !charset.equals(StandardCharsets.US_ASCII) && !charset.equals(StandardCharsets.ISO_8859_1)) {
+            return false;
+        }
+        return new File(FILE_PATH).length() >= Persistence.PARALLEL_LOAD_MIN_SIZE;
+    }
+
+    /**
+     * Reads the mappable objects of a file by memory-mapping it, splitting it into chunks of whole lines,
+     * and reading the chunks in parallel on the common fork-join pool.
+     *
+     * @param FILE_PATH the path of the file
+     * @return the mappable objects, in the order of the file
+     * @throws RuntimeException         if the file could not be read
+     * @throws IllegalArgumentException if a line does not hold a valid mappable object
+     */
+    private List<MappableObject> readObjectsInParallel(final String FILE_PATH) {
+        MappedByteBuffer buffer;
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(FILE_PATH), StandardOpenOption.READ)) {
+            buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
+        }
+        int size = buffer.limit();
+        int numberOfChunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, size / Persistence.PARALLEL_LOAD_CHUNK_SIZE));
+        List<Callable<List<MappableObject>>> tasks = new ArrayList<>();
+        int chunkStart = 0;
+        for (int chunk = 1; chunk <= numberOfChunks && chunkStart < size; chunk++) {
+            int chunkEnd = chunk == numberOfChunks ? size : nextLineStart(buffer, (int) ((long) size * chunk / numberOfChunks));
+            if (chunkEnd <= chunkStart) {
+                continue;
             }
+            ByteBuffer slice = buffer.slice(chunkStart, chunkEnd - chunkStart);
+            tasks.add(() -> {
+                byte[] bytes = new byte[slice.remaining()];
+                slice.get(bytes);
+                List<MappableObject> listOfMappableObjects = new ArrayList<>();
+                readObjects(new String(bytes, Charset.defaultCharset()), listOfMappableObjects);
+                return listOfMappableObjects;
+            });
+            chunkStart = chunkEnd;
+        }
+        List<MappableObject> listOfMappableObjects = new ArrayList<>();
+        for (Future<List<MappableObject>> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
             try {
-                file.createNewFile();
-                bufferedReader = new BufferedReader(new FileReader(file));
-            } catch (IOException ex) {
+                listOfMappableObjects.addAll(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
             }
         }
-        String line;
+        return listOfMappableObjects;
+    }
+
+    /**
+     * Finds the start of the first line that starts at or after a position of a file.
+     *
+     * @param buffer   the bytes of the file
+     * @param position the position
+     * @return the position of the first byte after the next newline, or the size of the file if there is none
+     */
+    private static int nextLineStart(ByteBuffer buffer, int position) {
+        if (position > 0 && buffer.get(position - 1) == '\n') {
+            return position;
+        }
+        while (position < buffer.limit() && buffer.get(position) != '\n') {
+            position++;
+        }
+        return Math.min(position + 1, buffer.limit());
+    }
+
+    /**
+     * Creates a file, and its directory, if it does not exist.
+     *
+     * @param PATH the path of the file
+     * @throws RuntimeException if the file could not be created
+     */
+    private static void createIfMissing(final String PATH) {
+        File file = new File(PATH);
+        if (file.exists()) {
+            return;
+        }
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
         try {
-            while ((line = bufferedReader.readLine()) != null) {
-                listOfMappableObjects.add(StringAndMapConvertor.stringToMap(line));
-            }
+            file.createNewFile();
         } catch (IOException e) {
-            throw new RuntimeException("Data could not be loaded from file: " + FILE_PATH);
+            throw new RuntimeException("Data could not be loaded from file: " + PATH);
+        }
+    }
+
+    /**
+     * Reads the whole of a file into a string.
+     *
+     * @param PATH the path of the file
+     * @return the characters of the file
+     * @throws RuntimeException if the file could not be read
+     */
+    private static String readFile(final String PATH) {
+        try {
+            return new String(Files.readAllBytes(Paths.get(PATH)), Charset.defaultCharset());
+        } catch (IOException e) {
+            throw new RuntimeException("Data could not be loaded from file: " + PATH);
+        }
+    }
+
+    /**
+     * Finds the end of the line that starts at a position, not counting its line terminator.
+     *
+     * @param chars the characters of a file
+     * @param start the position of the first character of the line
+     * @return the position after the last character of the line
+     */
+    private static int lineEndOf(String chars, int start) {
+        int end = start;
+        while (end < chars.length() && chars.charAt(end) != '\n' && chars.charAt(end) != '\r') {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Finds the start of the line after a line terminator, which is "\n", "\r" or "\r\n".
+     *
+     * @param chars the characters of a file
+     * @param end   the position of the line terminator
+     * @return the position of the first character of the next line
+     */
+    private static int nextLineOf(String chars, int end) {
+        if (end < chars.length() && chars.charAt(end) == '\r') {
+            end++;
+        }
+        if (end < chars.length() && chars.charAt(end) == '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Checks whether a file has been changed since it was last loaded or saved by this object,
+     * for example by another object saving to the same file or by another running copy of the program.
+     * Changes to the file pending in other objects are written first, so that they are noticed. The file is then
+     * compared under the lock of this object, so that a save of this object that is under way is not mistaken for a
+     * change made by someone else.
+     *
+     * @param FILE_PATH the path of the file to check
+     * @return true if the file has been changed since it was last loaded or saved by this object, false otherwise
+     * @throws RuntimeException if the changes pending in other objects could not be saved
+     */
+    protected boolean isOutdated(final String FILE_PATH) {
+        GroupCommit.flushOthers(this, FILE_PATH);
+        synchronized (this) {
+            return isChanged(FILE_PATH);
+        }
+    }
+
+    /**
+     * Checks whether a file on disk differs from when it was last loaded or saved by this object.
+     *
+     * @param FILE_PATH the path of the file to check
+     * @return true if the file on disk has been changed, false otherwise
+     */
+    private boolean isChanged(final String FILE_PATH) {
+        return !Objects.equals(fileStamp, FileStamp.of(FILE_PATH));
+    }
+
+    /**
+     * A record of the log of a file, which either puts an object or deletes the object with a key.
+     *
+     * @param key            the key of the object
+     * @param mappableObject the object, or null if the object is deleted
+     * @param <M>            the class of the object
+     */
+    protected record LogRecord<M>(String key, M mappableObject) {
+
+        /**
+         * Checks whether the record deletes the object.
+         *
+         * @return true if the record deletes the object, false if it puts the object
+         */
+        public boolean isDeletion() {
+            return mappableObject == null;
+        }
+    }
+
+    /**
+     * The last modified times and sizes of a file and its log, used to detect changes made to the file.
+     *
+     * @param lastModified    the last modified time of the file, or null if the file does not exist
+     * @param size            the size of the file in bytes, or -1 if the file does not exist
+     * @param logLastModified the last modified time of the log, or null if the log does not exist
+     * @param logSize         the size of the log in bytes, or -1 if the log does not exist
+     */
+    private record FileStamp(FileTime lastModified, long size, FileTime logLastModified, long logSize) {
+
+        /**
+         * Reads the current stamp of a file and its log.
+         *
+         * @param FILE_PATH the path of the file
+         * @return the current stamp of the file and its log
+         */
+        static FileStamp of(final String FILE_PATH) {
+            Path path = Paths.get(FILE_PATH);
+            Path logPath = Paths.get(getLogPath(FILE_PATH));
+            return new FileStamp(lastModifiedOf(path), sizeOf(path), lastModifiedOf(logPath), sizeOf(logPath));
+        }
+
+        /**
+         * Gets the last modified time of a file.
+         *
+         * @param path the path of the file
+         * @return the last modified time of the file, or null if the file does not exist
+         */
+        private static FileTime lastModifiedOf(Path path) {
+            try {
+                return Files.getLastModifiedTime(path);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Gets the size of a file.
+         *
+         * @param path the path of the file
+         * @return the size of the file in bytes, or -1 if the file does not exist
+         */
+        private static long sizeOf(Path path) {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                return -1;
+            }
         }
-        setAll(listOfMappableObjects);
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package main.utils.iocontrol;
 
-import java.util.*;
+import java.util.HashMap;
+import java.util.Map;
 
 import static main.utils.iocontrol.ObjectOutputControlCharacters.DELIMITER_STRING;
 import static main.utils.iocontrol.ObjectOutputControlCharacters.SEPARATOR_STRING;
@@ -8,6 +9,9 @@ import static main.utils.iocontrol.ObjectOutputControlCharacters.SEPARATOR_STRIN
 /**
  * The StringAndMapConvertor class provides methods to convert a String representation of a map to a Map object,
  * and vice versa.
+ * <p>
+ * The key-value pairs of a string are found by scanning it for the separator and delimiter strings, and are
+ * passed on as positions in the string, so that the pairs can be read without creating a string or array for each.
  */
 public class StringAndMapConvertor {
 
@@ -20,14 +24,8 @@ public class StringAndMapConvertor {
      */
     public static Map<String, String> stringToMap(String string) {
         Map<String, String> map = new HashMap<>();
-        String[] pairs = string.split(SEPARATOR_STRING);
-        for (String pair : pairs) {
-            String[] keyValue = pair.split(DELIMITER_STRING);
-            if (keyValue.length != 2) {
-                throw new IllegalArgumentException("Invalid key-value pair: " + pair + " in string: " + Arrays.toString(keyValue));
-            }
-            map.put(keyValue[0], keyValue[1]);
-        }
+        forEachPair(string, 0, string.length(), (chars, keyStart, keyEnd, valueStart, valueEnd) ->
+                map.put(string.substring(keyStart, keyEnd), string.substring(valueStart, valueEnd)));
         return map;
     }
 
@@ -38,10 +36,170 @@ public class StringAndMapConvertor {
      * @return A String representation of the map.
      */
     public static String mapToString(Map<String, String> map) {
-        List<String> pairs = new ArrayList<>();
+        StringBuilder stringBuilder = new StringBuilder();
         for (Map.Entry<String, String> entry : map.entrySet()) {
-            pairs.add(entry.getKey() + DELIMITER_STRING + entry.getValue());
+            appendPair(stringBuilder, stringBuilder.isEmpty(), entry.getKey(), entry.getValue());
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Appends a key-value pair to a String representation of a map.
+     *
+     * @param stringBuilder The String representation to append to.
+     * @param first         Whether the pair is the first of the map, which is not preceded by a separator.
+     * @param key           The key of the pair.
+     * @param value         The value of the pair.
+     */
+    public static void appendPair(StringBuilder stringBuilder, boolean first, String key, String value) {
+        if (!first) {
+            stringBuilder.append(SEPARATOR_STRING);
+        }
+        stringBuilder.append(key).append(DELIMITER_STRING).append(value);
+    }
+
+    /**
+     * Passes the positions of each key-value pair of a String representation of a map to a consumer, in order.
+     * Empty pairs at the end of the representation are ignored.
+     *
+     * @param chars    The characters that hold the String representation.
+     * @param start    The position of the first character of the representation.
+     * @param end      The position after the last character of the representation.
+     * @param consumer The consumer of the pairs.
+     * @throws IllegalArgumentException if the representation contains invalid key-value pairs.
+     */
+    public static void forEachPair(CharSequence chars, int start, int end, PairConsumer consumer) {
+        int pairStart = start;
+        while (pairStart < end) {
+            int pairEnd = indexOf(chars, SEPARATOR_STRING, pairStart, end);
+            if (pairEnd < 0) {
+                pairEnd = end;
+            }
+            if (pairEnd == pairStart) {
+                if (indexOfNonSeparator(chars, pairStart, end) < 0) {
+                    return;
+                }
+                throw invalidPair(chars, pairStart, pairEnd);
+            }
+            int delimiter = indexOf(chars, DELIMITER_STRING, pairStart, pairEnd);
+            int valueStart = delimiter + DELIMITER_STRING.length();
+            if (delimiter < 0 || valueStart == pairEnd || indexOf(chars, DELIMITER_STRING, valueStart, pairEnd) >= 0) {
+                throw invalidPair(chars, pairStart, pairEnd);
+            }
+            consumer.accept(chars, pairStart, delimiter, valueStart, pairEnd);
+            pairStart = pairEnd + SEPARATOR_STRING.length();
         }
-        return String.join(SEPARATOR_STRING, pairs);
+    }
+
+    /**
+     * Gets the value of one key of a String representation of a map.
+     *
+     * @param chars The characters that hold the String representation.
+     * @param start The position of the first character of the representation.
+     * @param end   The position after the last character of the representation.
+     * @param key   The key to look up.
+     * @return The value of the key, or null if the representation does not contain the key.
+     * @throws IllegalArgumentException if the representation contains invalid key-value pairs.
+     */
+    public static String getValue(CharSequence chars, int start, int end, String key) {
+        String[] value = new String[1];
+        forEachPair(chars, start, end, (pairChars, keyStart, keyEnd, valueStart, valueEnd) -> {
+            if (value[0] == null && regionEquals(pairChars, keyStart, keyEnd, key)) {
+                value[0] = pairChars.subSequence(valueStart, valueEnd).toString();
+            }
+        });
+        return value[0];
+    }
+
+    /**
+     * Checks whether a region of characters is equal to a string.
+     *
+     * @param chars  The characters.
+     * @param start  The position of the first character of the region.
+     * @param end    The position after the last character of the region.
+     * @param string The string to compare with.
+     * @return true if the region holds the same characters as the string, false otherwise.
+     */
+    public static boolean regionEquals(CharSequence chars, int start, int end, String string) {
+        if (end - start != string.length()) {
+            return false;
+        }
+        for (int i = 0; i < string.length(); i++) {
+            if (chars.charAt(start + i) != string.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the first occurrence of a string in a region of characters.
+     *
+     * @param chars  The characters to search.
+     * @param string The string to find.
+     * @param from   The position to start searching at.
+     * @param end    The position after the last character to search.
+     * @return The position of the first occurrence, or -1 if there is none.
+     */
+    static int indexOf(CharSequence chars, String string, int from, int end) {
+        if (chars instanceof String text) {
+            int index = text.indexOf(string, from);
+            return index >= 0 && index + string.length() <= end ? index : -1;
+        }
+        char first = string.charAt(0);
+        int last = end - string.length();
+        for (int i = from; i <= last; i++) {
+            if (chars.charAt(i) == first && regionEquals(chars, i, i + string.length(), string)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first character in a region that is not part of a separator.
+     *
+     * @param chars The characters to search.
+     * @param from  The position to start searching at.
+     * @param end   The position after the last character to search.
+     * @return The position of the first character that is not part of a separator, or -1 if there is none.
+     */
+    private static int indexOfNonSeparator(CharSequence chars, int from, int end) {
+        int position = from;
+        while (position < end) {
+            if (indexOf(chars, SEPARATOR_STRING, position, Math.min(end, position + SEPARATOR_STRING.length())) != position) {
+                return position;
+            }
+            position += SEPARATOR_STRING.length();
+        }
+        return -1;
+    }
+
+    /**
+     * Creates the exception for an invalid key-value pair.
+     *
+     * @param chars The characters that hold the pair.
+     * @param start The position of the first character of the pair.
+     * @param end   The position after the last character of the pair.
+     * @return the exception
+     */
+    private static IllegalArgumentException invalidPair(CharSequence chars, int start, int end) {
+        return new IllegalArgumentException("Invalid key-value pair: " + chars.subSequence(start, end));
+    }
+
+    /**
+     * Receives the positions of a key-value pair in a String representation of a map.
+     */
+    public interface PairConsumer {
+        /**
+         * Receives a key-value pair.
+         *
+         * @param chars      The characters that hold the pair.
+         * @param keyStart   The position of the first character of the key.
+         * @param keyEnd     The position after the last character of the key.
+         * @param valueStart The position of the first character of the value.
+         * @param valueEnd   The position after the last character of the value.
+         */
+        void accept(CharSequence chars, int keyStart, int keyEnd, int valueStart, int valueEnd);
     }
 }
@@ -0,0 +1,224 @@
+package main.utils.scheduling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * The TimerWheel class keeps track of the deadlines of keys, and gives back the keys whose deadline has passed.
+ * <p>
+ * Time is divided into ticks. The wheel has one slot for each of the next ticks it covers, and a key whose deadline
+ * falls in one of them is put in the slot of its tick, so a slot only ever holds keys that are due at that tick.
+ * Keys due later than the wheel covers are kept aside in order of deadline, and are moved into the wheel as it turns.
+ * Scheduling and cancelling a key take constant time, or logarithmic time for a key kept aside, and advancing the
+ * wheel takes time proportional to the number of keys that are due, however many keys are scheduled.
+ *
+ * @param <K> the type of the keys
+ */
+public class TimerWheel<K> {
+
+    /**
+     * The length of a tick in milliseconds.
+     */
+    private final long tickMillis;
+
+    /**
+     * The keys due at each of the ticks that the wheel covers, at the position of the tick modulo the number of slots.
+     */
+    private final List<Set<K>> slots;
+
+    /**
+     * The keys due later than the wheel covers, in order of their tick.
+     * Entries of keys that have been cancelled or scheduled again are left in place, and skipped when they come up.
+     */
+    private final PriorityQueue<Deadline<K>> keptAside;
+
+    /**
+     * The tick at which each scheduled key is due.
+     */
+    private final Map<K, Long> tickByKey;
+
+    /**
+     * The number of keys in the slots of the wheel.
+     */
+    private int keysInWheel = 0;
+
+    /**
+     * The last tick that the wheel has reached.
+     */
+    private long currentTick;
+
+    /**
+     * Creates a new timer wheel.
+     *
+     * @param tickMillis the length of a tick in milliseconds
+     * @param wheelSize  the number of ticks that the wheel covers
+     * @param nowMillis  the current time in milliseconds
+     */
+    public TimerWheel(long tickMillis, int wheelSize, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+        this.keptAside = new PriorityQueue<>();
+        this.tickByKey = new HashMap<>();
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules a key to be due at a deadline, replacing the deadline it had.
+     * A deadline that has already passed is due at the next tick.
+     *
+     * @param key            the key
+     * @param deadlineMillis the deadline in milliseconds
+     */
+    public void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long tick = Math.max(currentTick + 1, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        tickByKey.put(key, tick);
+        if (tick - currentTick < slots.size()) {
+            slotOf(tick).add(key);
+            keysInWheel++;
+        } else {
+            keptAside.add(new Deadline<>(tick, key));
+        }
+    }
+
+    /**
+     * Cancels the deadline of a key.
+     *
+     * @param key the key
+     * @return true if the key was scheduled, false otherwise
+     */
+    public boolean cancel(K key) {
+        Long tick = tickByKey.remove(key);
+        if (tick == null) {
+            return false;
+        }
+        if (slotOf(tick).remove(key)) {
+            keysInWheel--;
+        }
+        return true;
+    }
+
+    /**
+     * Cancels the deadlines of all keys.
+     */
+    public void clear() {
+        for (Set<K> slot : slots) {
+            slot.clear();
+        }
+        keptAside.clear();
+        tickByKey.clear();
+        keysInWheel = 0;
+    }
+
+    /**
+     * Checks whether a key is scheduled.
+     *
+     * @param key the key
+     * @return true if the key is scheduled, false otherwise
+     */
+    public boolean isScheduled(K key) {
+        return tickByKey.containsKey(key);
+    }
+
+    /**
+     * Turns the wheel to the current time, and takes the keys whose deadline has passed.
+     * Ticks at which no key is due are skipped at once.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @return the keys whose deadline has passed, in order of deadline, which are no longer scheduled
+     */
+    public List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> dueKeys = new ArrayList<>();
+        while (currentTick < targetTick) {
+            if (keysInWheel == 0) {
+                Deadline<K> next = nextKeptAside();
+                if (next == null) {
+                    currentTick = targetTick;
+                    break;
+                }
+                currentTick = Math.max(currentTick, Math.min(targetTick, next.tick - 1));
+                if (currentTick == targetTick) {
+                    break;
+                }
+            }
+            currentTick++;
+            bringIntoWheel();
+            Set<K> slot = slotOf(currentTick);
+            for (K key : slot) {
+                tickByKey.remove(key);
+                dueKeys.add(key);
+            }
+            keysInWheel -= slot.size();
+            slot.clear();
+        }
+        return dueKeys;
+    }
+
+    /**
+     * Moves the keys kept aside that are now covered by the wheel into their slots.
+     */
+    private void bringIntoWheel() {
+        Deadline<K> next;
+        while ((next = nextKeptAside()) != null && next.tick - currentTick < slots.size()) {
+            keptAside.poll();
+            slotOf(next.tick).add(next.key);
+            keysInWheel++;
+        }
+    }
+
+    /**
+     * Gets the earliest deadline kept aside that is still scheduled, dropping the entries that are not.
+     *
+     * @return the deadline, or null if there is none
+     */
+    private Deadline<K> nextKeptAside() {
+        Deadline<K> next;
+        while ((next = keptAside.peek()) != null) {
+            Long tick = tickByKey.get(next.key);
+            if (tick != null && tick == next.tick) {
+                return next;
+            }
+            keptAside.poll();
+        }
+        return null;
+    }
+
+    /**
+     * Gets the slot of a tick.
+     *
+     * @param tick the tick
+     * @return the slot
+     */
+    private Set<K> slotOf(long tick) {
+        return slots.get((int) Math.floorMod(tick, (long) slots.size()));
+    }
+
+    /**
+     * The tick at which a key kept aside is due.
+     *
+     * @param tick the tick
+     * @param key  the key
+     * @param <K>  the type of the key
+     */
+    private record Deadline<K>(long tick, K key) implements Comparable<Deadline<K>> {
+        /**
+         * Compares two deadlines by their tick.
+         *
+         * @param other the other deadline
+         * @return a negative number, zero, or a positive number if this deadline is earlier, at the same tick, or later
+         */
+        @Override
+        public int compareTo(Deadline<K> other) {
+            return Long.compare(tick, other.tick);
+        }
+    }
+}
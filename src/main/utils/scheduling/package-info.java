@@ -0,0 +1,4 @@
+/**
+ * This package contains the classes that keep track of deadlines.
+ */
+package main.utils.scheduling;
@@ -0,0 +1,78 @@
+package main.utils.ui;
+
+/**
+ * The RowTemplate class writes the rows of a table, such as {@code | label | value |}, with the cells padded to fixed widths.
+ * <p>
+ * It writes the same rows as {@code String.format("| %-Ws | %-Ws |\n", ...)} with one width for each cell, but the
+ * widths are fixed when the template is created, so no format string is parsed and no string is made for each row.
+ */
+public class RowTemplate {
+
+    /**
+     * The spaces used to pad the cells.
+     */
+    private static final String SPACES = " ".repeat(64);
+
+    /**
+     * The width of each cell.
+     */
+    private final int[] widths;
+
+    /**
+     * Creates a new template for rows with the given cell widths.
+     *
+     * @param widths the width of each cell; a cell longer than its width is written in full
+     */
+    public RowTemplate(int... widths) {
+        this.widths = widths.clone();
+    }
+
+    /**
+     * Appends a row to a builder.
+     *
+     * @param builder the builder
+     * @param cells   the values of the cells, one for each width, written as by {@link String#valueOf(Object)}
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder builder, Object... cells) {
+        if (cells.length != widths.length) {
+            throw new IllegalArgumentException("Expected " + widths.length + " cells but got " + cells.length);
+        }
+        builder.append('|');
+        for (int i = 0; i < widths.length; i++) {
+            builder.append(' ');
+            appendPadded(builder, String.valueOf(cells[i]), widths[i]);
+            builder.append(" |");
+        }
+        return builder.append('\n');
+    }
+
+    /**
+     * Appends a text to a builder, followed by spaces up to a width.
+     *
+     * @param builder the builder
+     * @param text    the text
+     * @param width   the width; a text longer than the width is appended in full
+     * @return the builder
+     */
+    public static StringBuilder appendPadded(StringBuilder builder, String text, int width) {
+        builder.append(text);
+        return appendSpaces(builder, width - text.length());
+    }
+
+    /**
+     * Appends spaces to a builder.
+     *
+     * @param builder the builder
+     * @param count   the number of spaces, which may be zero or negative to append none
+     * @return the builder
+     */
+    public static StringBuilder appendSpaces(StringBuilder builder, int count) {
+        while (count > 0) {
+            int length = Math.min(count, SPACES.length());
+            builder.append(SPACES, 0, length);
+            count -= length;
+        }
+        return builder;
+    }
+}
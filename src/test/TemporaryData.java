@@ -0,0 +1,108 @@
+package test;
+
+import main.model.project.Project;
+import main.model.project.ProjectStatus;
+import main.model.request.StudentRegistrationRequest;
+import main.model.user.Student;
+import main.model.user.StudentStatus;
+import main.repository.UnitOfWork;
+import main.repository.project.ProjectRepository;
+import main.repository.request.RequestRepository;
+import main.repository.user.CoordinatorRepository;
+import main.repository.user.FacultyRepository;
+import main.repository.user.StudentRepository;
+import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.exception.ModelNotFoundException;
+import main.utils.iocontrol.GroupCommit;
+import main.utils.iocontrol.LogCompactor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * This class is used to point the shared repositories at empty data files in a temporary directory while a test
+ * changes them through the managers, so that the data files of the program are left as they are.
+ */
+public class TemporaryData {
+    /**
+     * The temporary directory that holds the data files.
+     */
+    private final Path directory;
+
+    /**
+     * Creates the temporary data from its directory.
+     *
+     * @param directory The temporary directory.
+     */
+    private TemporaryData(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a temporary directory, and makes repositories that keep their data in it the shared repositories.
+     *
+     * @return The temporary data.
+     * @throws IOException If the temporary directory could not be created.
+     */
+    public static TemporaryData create() throws IOException {
+        Path directory = Files.createTempDirectory("data");
+        StudentRepository.setInstance(new StudentRepository(directory.resolve("student.txt").toString()));
+        FacultyRepository.setInstance(new FacultyRepository(directory.resolve("faculty.txt").toString()));
+        CoordinatorRepository.setInstance(new CoordinatorRepository(directory.resolve("coordinator.txt").toString()));
+        ProjectRepository.setInstance(new ProjectRepository(directory.resolve("project.txt").toString()));
+        RequestRepository.setInstance(new RequestRepository(directory.resolve("request.txt").toString()));
+        return new TemporaryData(directory);
+    }
+
+    /**
+     * Makes a student ask to register for a project, as the student manager does, but with a given request ID,
+     * so that the sequence file of the request IDs of the program is not used.
+     *
+     * @param requestID The ID of the request.
+     * @param projectID The ID of the project, which is reserved.
+     * @param studentID The ID of the student, who is made pending.
+     * @return The ID of the request.
+     * @throws ModelNotFoundException      If the project or student is not found.
+     * @throws ModelAlreadyExistsException If the request already exists.
+     */
+    public static String addRegistration(String requestID, String projectID, String studentID)
+            throws ModelNotFoundException, ModelAlreadyExistsException {
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            Project project = ProjectRepository.getInstance().getByID(projectID);
+            project.setStatus(ProjectStatus.RESERVED);
+            ProjectRepository.getInstance().update(project);
+            Student student = StudentRepository.getInstance().getByID(studentID);
+            student.setStatus(StudentStatus.PENDING);
+            StudentRepository.getInstance().update(student);
+            RequestRepository.getInstance().add(new StudentRegistrationRequest(requestID, studentID, project.getSupervisorID(), projectID));
+            unitOfWork.commit();
+        }
+        return requestID;
+    }
+
+    /**
+     * Gives the shared repositories back to the data files of the program, and deletes the temporary directory,
+     * after writing the changes that are pending and compacting the logs that are waiting.
+     *
+     * @throws IOException If the temporary directory could not be deleted.
+     */
+    public void delete() throws IOException {
+        GroupCommit.flush();
+        LogCompactor.awaitCompactions();
+        StudentRepository.setInstance(null);
+        FacultyRepository.setInstance(null);
+        CoordinatorRepository.setInstance(null);
+        ProjectRepository.setInstance(null);
+        RequestRepository.setInstance(null);
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> sorted = paths.sorted(Comparator.reverseOrder()).toList();
+            for (Path path : sorted) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package test.controller;
+
+import main.controller.project.AllocationEngine;
+import main.controller.project.ProjectManager;
+import main.model.project.Project;
+import main.model.project.ProjectStatus;
+import main.model.user.Student;
+import main.model.user.StudentStatus;
+import main.model.user.Supervisor;
+import main.repository.project.ProjectRepository;
+import main.repository.user.FacultyRepository;
+import main.repository.user.StudentRepository;
+import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.exception.ModelNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import test.TemporaryData;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test allocating projects to students from their preferences.
+ */
+public class AllocationEngineTest {
+    /**
+     * The temporary data files that the shared repositories keep their data in during each test.
+     */
+    private TemporaryData data;
+
+    /**
+     * This method sets up four students, three projects of one supervisor and one project of another.
+     *
+     * @throws IOException                 if the temporary data files could not be created.
+     * @throws ModelAlreadyExistsException if the model already exists in the repository.
+     */
+    @BeforeEach
+    public void setUp() throws IOException, ModelAlreadyExistsException {
+        data = TemporaryData.create();
+        StudentRepository.getInstance().add(new Student("S1", "Pu Fanyi", "pufanyi@gmail.com"));
+        StudentRepository.getInstance().add(new Student("S2", "Jin Qingyang", "jinqingyang@gmail.com"));
+        StudentRepository.getInstance().add(new Student("S3", "Lucas", "lucas@gmail.com"));
+        StudentRepository.getInstance().add(new Student("S4", "Li Xin", "lixin@gmail.com"));
+        FacultyRepository.getInstance().add(new Supervisor("BOAN001", "BO AN", "boan@ntu.edu.sg"));
+        FacultyRepository.getInstance().add(new Supervisor("LIYI001", "LI YI", "liyi@ntu.edu.sg"));
+        ProjectRepository.getInstance().add(new Project("P1", "Blockchain technology", "BOAN001"));
+        ProjectRepository.getInstance().add(new Project("P2", "Computer vision", "BOAN001"));
+        ProjectRepository.getInstance().add(new Project("P3", "Game theory", "BOAN001"));
+        ProjectRepository.getInstance().add(new Project("P4", "Robotics", "LIYI001"));
+        ProjectManager.updateProjectsStatus();
+    }
+
+    /**
+     * This method deletes the temporary data files, and gives the shared repositories back to the data files.
+     *
+     * @throws IOException if the temporary data files could not be deleted.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        data.delete();
+    }
+
+    /**
+     * Test that students of higher priority get their preferred projects first, and that a student of lower
+     * priority gets the next project on their list.
+     */
+    @Test
+    @DisplayName("Test rank order")
+    public void rankOrderTest() {
+        Map<String, List<String>> preferences = new LinkedHashMap<>();
+        preferences.put("S1", List.of("P1", "P4"));
+        preferences.put("S2", List.of("P1", "P2"));
+        preferences.put("S3", List.of("P4"));
+
+        Map<String, String> allocation = AllocationEngine.computeAllocation(preferences);
+
+        assertEquals(Map.of("S1", "P1", "S2", "P2", "S3", "P4"), allocation);
+        assertIterableEquals(List.of("S1", "S2", "S3"), allocation.keySet());
+    }
+
+    /**
+     * Test that a supervisor is not given more students than the limit, and that the student is given the next
+     * project on their list instead.
+     */
+    @Test
+    @DisplayName("Test limit of students per supervisor")
+    public void supervisorLimitTest() {
+        Map<String, List<String>> preferences = new LinkedHashMap<>();
+        preferences.put("S1", List.of("P1"));
+        preferences.put("S2", List.of("P2"));
+        preferences.put("S3", List.of("P3", "P4"));
+        preferences.put("S4", List.of("P3"));
+
+        Map<String, String> allocation = AllocationEngine.computeAllocation(preferences);
+
+        assertEquals(Map.of("S1", "P1", "S2", "P2", "S3", "P4"), allocation);
+    }
+
+    /**
+     * Test that students who are not unregistered, or who do not exist, are not given a project.
+     *
+     * @throws ModelNotFoundException if the model is not found in the repository.
+     */
+    @Test
+    @DisplayName("Test only unregistered students are allocated")
+    public void unregisteredStudentsTest() throws ModelNotFoundException {
+        Student pending = StudentRepository.getInstance().getByID("S1");
+        pending.setStatus(StudentStatus.PENDING);
+        StudentRepository.getInstance().update(pending);
+        Map<String, List<String>> preferences = new LinkedHashMap<>();
+        preferences.put("S1", List.of("P1"));
+        preferences.put("S9", List.of("P1"));
+        preferences.put("S2", List.of("P1"));
+
+        Map<String, String> allocation = AllocationEngine.computeAllocation(preferences);
+
+        assertEquals(Map.of("S2", "P1"), allocation);
+        assertEquals(3, AllocationEngine.getUnregisteredStudents().size());
+    }
+
+    /**
+     * Test that the allocation is saved: the students are registered, the projects allocated, and the other projects
+     * of a supervisor who has reached the limit are made unavailable.
+     *
+     * @throws ModelNotFoundException if the model is not found in the repository.
+     */
+    @Test
+    @DisplayName("Test allocation is saved")
+    public void allocateTest() throws ModelNotFoundException {
+        Map<String, List<String>> preferences = new LinkedHashMap<>();
+        preferences.put("S1", List.of("P1"));
+        preferences.put("S2", List.of("P2"));
+
+        Map<String, String> allocation = AllocationEngine.allocate(preferences);
+
+        assertEquals(Map.of("S1", "P1", "S2", "P2"), allocation);
+        Student student = StudentRepository.getInstance().getByID("S1");
+        assertEquals(StudentStatus.REGISTERED, student.getStatus());
+        assertEquals("P1", student.getProjectID());
+        assertEquals("BOAN001", student.getSupervisorID());
+        Project project = ProjectRepository.getInstance().getByID("P2");
+        assertEquals(ProjectStatus.ALLOCATED, project.getStatus());
+        assertEquals("S2", project.getStudentID());
+        assertEquals(ProjectStatus.UNAVAILABLE, ProjectRepository.getInstance().getByID("P3").getStatus());
+        assertEquals(ProjectStatus.AVAILABLE, ProjectRepository.getInstance().getByID("P4").getStatus());
+    }
+}
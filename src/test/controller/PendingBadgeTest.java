@@ -0,0 +1,105 @@
+package test.controller;
+
+import main.controller.project.ProjectManager;
+import main.controller.request.CoordinatorManager;
+import main.controller.request.RequestManager;
+import main.controller.request.SupervisorManager;
+import main.model.project.Project;
+import main.model.request.StudentChangeTitleRequest;
+import main.model.user.Student;
+import main.model.user.Supervisor;
+import main.repository.project.ProjectRepository;
+import main.repository.request.RequestRepository;
+import main.repository.user.FacultyRepository;
+import main.repository.user.StudentRepository;
+import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.exception.ModelNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import test.TemporaryData;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the counts of pending requests behind the NEW badges of the main pages.
+ */
+public class PendingBadgeTest {
+    /**
+     * The temporary data files that the shared repositories keep their data in during each test.
+     */
+    private TemporaryData data;
+
+    /**
+     * This method sets up two students and two projects of one supervisor, with no requests.
+     *
+     * @throws IOException                 if the temporary data files could not be created.
+     * @throws ModelAlreadyExistsException if the model already exists in the repository.
+     */
+    @BeforeEach
+    public void setUp() throws IOException, ModelAlreadyExistsException {
+        data = TemporaryData.create();
+        StudentRepository.getInstance().add(new Student("FPU001", "Pu Fanyi", "pufanyi@gmail.com"));
+        StudentRepository.getInstance().add(new Student("JQY001", "Jin Qingyang", "jinqingyang@gmail.com"));
+        FacultyRepository.getInstance().add(new Supervisor("BOAN001", "BO AN", "boan@ntu.edu.sg"));
+        ProjectRepository.getInstance().add(new Project("P1", "Blockchain technology", "BOAN001"));
+        ProjectRepository.getInstance().add(new Project("P2", "Computer vision", "BOAN001"));
+        ProjectManager.updateProjectsStatus();
+    }
+
+    /**
+     * This method deletes the temporary data files, and gives the shared repositories back to the data files.
+     *
+     * @throws IOException if the temporary data files could not be deleted.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        data.delete();
+    }
+
+    /**
+     * Test that the counts follow requests as they are made, approved and rejected, that a change of title is counted
+     * for the supervisor only, and that the counts are the same after the requests are loaded again.
+     *
+     * @throws ModelNotFoundException      if the model is not found in the repository.
+     * @throws ModelAlreadyExistsException if the model already exists in the repository.
+     */
+    @Test
+    @DisplayName("Badge counts follow status changes")
+    public void countsFollowStatusChangesTest() throws ModelNotFoundException, ModelAlreadyExistsException {
+        assertCounts(0, 0);
+
+        String first = TemporaryData.addRegistration("R1", "P1", "FPU001");
+        String second = TemporaryData.addRegistration("R2", "P2", "JQY001");
+        assertCounts(2, 2);
+
+        RequestManager.approveRequests(List.of(first));
+        assertCounts(1, 1);
+
+        RequestManager.rejectRequests(List.of(second));
+        assertCounts(0, 0);
+
+        RequestRepository.getInstance().add(new StudentChangeTitleRequest("R3", "FPU001", "BOAN001", "P1", "Blockchain security"));
+        assertCounts(0, 1);
+
+        RequestRepository.getInstance().load();
+        assertCounts(0, 1);
+    }
+
+    /**
+     * Asserts the counts of pending requests of the coordinator and of the supervisor, and that they match the
+     * pending requests listed for them.
+     *
+     * @param coordinatorCount the number of pending requests the coordinator can manage
+     * @param supervisorCount  the number of pending requests of the supervisor
+     */
+    private static void assertCounts(int coordinatorCount, int supervisorCount) {
+        assertEquals(coordinatorCount, CoordinatorManager.countPendingRequestsCoordinatorCanManage());
+        assertEquals(supervisorCount, SupervisorManager.countPendingRequestsBySupervisor("BOAN001"));
+        assertEquals(supervisorCount, SupervisorManager.getPendingRequestsBySupervisor("BOAN001").size());
+    }
+}
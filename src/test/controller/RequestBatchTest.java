@@ -0,0 +1,126 @@
+package test.controller;
+
+import main.controller.project.ProjectManager;
+import main.controller.request.RequestManager;
+import main.model.project.Project;
+import main.model.project.ProjectStatus;
+import main.model.request.RequestStatus;
+import main.model.request.StudentDeregistrationRequest;
+import main.model.user.Student;
+import main.model.user.StudentStatus;
+import main.model.user.Supervisor;
+import main.repository.project.ProjectRepository;
+import main.repository.request.RequestRepository;
+import main.repository.user.FacultyRepository;
+import main.repository.user.StudentRepository;
+import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.exception.ModelNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import test.TemporaryData;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test approving and rejecting requests in bulk.
+ */
+public class RequestBatchTest {
+    /**
+     * The temporary data files that the shared repositories keep their data in during each test.
+     */
+    private TemporaryData data;
+
+    /**
+     * This method sets up two students who have asked to register for two projects of one supervisor.
+     *
+     * @throws IOException                 if the temporary data files could not be created.
+     * @throws ModelAlreadyExistsException if the model already exists in the repository.
+     */
+    @BeforeEach
+    public void setUp() throws IOException, ModelAlreadyExistsException {
+        data = TemporaryData.create();
+        StudentRepository.getInstance().add(new Student("FPU001", "Pu Fanyi", "pufanyi@gmail.com"));
+        StudentRepository.getInstance().add(new Student("JQY001", "Jin Qingyang", "jinqingyang@gmail.com"));
+        FacultyRepository.getInstance().add(new Supervisor("BOAN001", "BO AN", "boan@ntu.edu.sg"));
+        ProjectRepository.getInstance().add(new Project("P1", "Blockchain technology", "BOAN001"));
+        ProjectRepository.getInstance().add(new Project("P2", "Computer vision", "BOAN001"));
+        ProjectManager.updateProjectsStatus();
+    }
+
+    /**
+     * This method deletes the temporary data files, and gives the shared repositories back to the data files.
+     *
+     * @throws IOException if the temporary data files could not be deleted.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        data.delete();
+    }
+
+    /**
+     * Test that the requests of a batch are approved together, that a missing or repeated request is reported once,
+     * and that a request that cannot be approved is left pending without keeping the others from being approved.
+     *
+     * @throws ModelNotFoundException      if the model is not found in the repository.
+     * @throws ModelAlreadyExistsException if the model already exists in the repository.
+     */
+    @Test
+    @DisplayName("Approve requests in bulk")
+    public void approveRequestsTest() throws ModelNotFoundException, ModelAlreadyExistsException {
+        String first = TemporaryData.addRegistration("R1", "P1", "FPU001");
+        String second = TemporaryData.addRegistration("R2", "P2", "JQY001");
+        RequestRepository.getInstance().add(new StudentDeregistrationRequest("D1", "JQY001", "BOAN001", "P2"));
+
+        List<RequestManager.RequestOutcome> outcomes = RequestManager.approveRequests(List.of("D1", first, "R999", second, first));
+
+        assertEquals(4, outcomes.size());
+        assertEquals("D1", outcomes.get(0).requestID());
+        assertFalse(outcomes.get(0).succeeded());
+        assertEquals("The project status is not ALLOCATED", outcomes.get(0).message());
+        assertTrue(outcomes.get(1).succeeded());
+        assertEquals("R999", outcomes.get(2).requestID());
+        assertFalse(outcomes.get(2).succeeded());
+        assertTrue(outcomes.get(3).succeeded());
+
+        assertEquals(RequestStatus.APPROVED, RequestRepository.getInstance().getByID(first).getStatus());
+        assertEquals(RequestStatus.APPROVED, RequestRepository.getInstance().getByID(second).getStatus());
+        assertEquals(RequestStatus.PENDING, RequestRepository.getInstance().getByID("D1").getStatus());
+        assertEquals(StudentStatus.REGISTERED, StudentRepository.getInstance().getByID("FPU001").getStatus());
+        assertEquals(StudentStatus.REGISTERED, StudentRepository.getInstance().getByID("JQY001").getStatus());
+        assertEquals(ProjectStatus.ALLOCATED, ProjectRepository.getInstance().getByID("P1").getStatus());
+        assertEquals(ProjectStatus.ALLOCATED, ProjectRepository.getInstance().getByID("P2").getStatus());
+    }
+
+    /**
+     * Test that the requests of a batch are rejected together, releasing their projects and students,
+     * and that a request that is no longer pending is reported.
+     *
+     * @throws ModelNotFoundException      if the model is not found in the repository.
+     * @throws ModelAlreadyExistsException if the model already exists in the repository.
+     */
+    @Test
+    @DisplayName("Reject requests in bulk")
+    public void rejectRequestsTest() throws ModelNotFoundException, ModelAlreadyExistsException {
+        String first = TemporaryData.addRegistration("R1", "P1", "FPU001");
+        String second = TemporaryData.addRegistration("R2", "P2", "JQY001");
+        RequestManager.rejectRequests(List.of(second));
+
+        List<RequestManager.RequestOutcome> outcomes = RequestManager.rejectRequests(List.of(first, second));
+
+        assertEquals(2, outcomes.size());
+        assertTrue(outcomes.get(0).succeeded());
+        assertFalse(outcomes.get(1).succeeded());
+        assertEquals("Request is not pending.", outcomes.get(1).message());
+        assertEquals(RequestStatus.DENIED, RequestRepository.getInstance().getByID(first).getStatus());
+        assertEquals(RequestStatus.DENIED, RequestRepository.getInstance().getByID(second).getStatus());
+        assertEquals(StudentStatus.UNREGISTERED, StudentRepository.getInstance().getByID("FPU001").getStatus());
+        assertEquals(StudentStatus.UNREGISTERED, StudentRepository.getInstance().getByID("JQY001").getStatus());
+        assertEquals(ProjectStatus.AVAILABLE, ProjectRepository.getInstance().getByID("P1").getStatus());
+        assertEquals(ProjectStatus.AVAILABLE, ProjectRepository.getInstance().getByID("P2").getStatus());
+    }
+}
@@ -0,0 +1,204 @@
+package test.repository;
+
+import main.model.project.Project;
+import main.repository.Repository;
+import main.repository.project.ProjectRepository;
+import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.iocontrol.GroupCommit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test paging through a repository with cursors.
+ */
+public class RepositoryPageTest {
+    /**
+     * The number of model objects on a page.
+     */
+    private static final int PAGE_SIZE = 3;
+
+    /**
+     * The temporary directory that holds the project file.
+     */
+    private Path directory;
+
+    /**
+     * The repository of the projects, kept in the temporary directory.
+     */
+    private ProjectRepository projectRepository;
+
+    /**
+     * This method creates an empty project repository in a temporary directory before each test.
+     *
+     * @throws IOException If the temporary directory could not be created.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("repository-page");
+        projectRepository = new ProjectRepository(directory.resolve("project.txt").toString());
+    }
+
+    /**
+     * This method deletes the temporary directory and the files in it after each test.
+     *
+     * @throws IOException If the files could not be deleted.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        GroupCommit.flush();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Adds projects P1 to Pn, alternating between the supervisors BOAN001 and LIYI001.
+     *
+     * @param count the number of projects
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    private void addProjects(int count) throws ModelAlreadyExistsException {
+        for (int i = 1; i <= count; i++) {
+            projectRepository.add(new Project("P" + i, "Project " + i, i % 2 == 1 ? "BOAN001" : "LIYI001"));
+        }
+    }
+
+    /**
+     * Gets the IDs of the projects on a page.
+     *
+     * @param page the page
+     * @return the IDs of the projects, in order
+     */
+    private static List<String> getIDs(Repository.Page<Project> page) {
+        List<String> projectIDs = new ArrayList<>();
+        for (Project project : page.items()) {
+            projectIDs.add(project.getID());
+        }
+        return projectIDs;
+    }
+
+    /**
+     * Test that an empty repository has one empty page with no page before or after it,
+     * and that any page number is kept to that page.
+     */
+    @Test
+    @DisplayName("Empty repository")
+    public void emptyTest() {
+        Repository.Page<Project> page = projectRepository.getPage(0, PAGE_SIZE);
+
+        assertEquals(List.of(), page.items());
+        assertFalse(page.hasNext());
+        assertFalse(page.hasPrevious());
+        assertEquals(0, page.number());
+        assertEquals(1, page.pageCount());
+        assertEquals(0, projectRepository.getPageCursor(5, PAGE_SIZE));
+
+        Repository.Page<Project> indexPage = projectRepository.findPageByIndex(ProjectRepository.SUPERVISOR_ID, "BOAN001", 0, PAGE_SIZE);
+        assertEquals(List.of(), indexPage.items());
+        assertFalse(indexPage.hasNext());
+        assertFalse(indexPage.hasPrevious());
+        assertEquals(1, indexPage.pageCount());
+        assertEquals(0, projectRepository.findPageCursorByIndex(ProjectRepository.SUPERVISOR_ID, "BOAN001", 5, PAGE_SIZE));
+    }
+
+    /**
+     * Test walking forwards and backwards through the pages with their cursors, up to a last page that is not full.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    @Test
+    @DisplayName("Walk to the last page and back")
+    public void lastPageTest() throws ModelAlreadyExistsException {
+        addProjects(7);
+
+        Repository.Page<Project> first = projectRepository.getPage(0, PAGE_SIZE);
+        assertEquals(List.of("P1", "P2", "P3"), getIDs(first));
+        assertFalse(first.hasPrevious());
+        assertEquals(3, first.pageCount());
+
+        Repository.Page<Project> second = projectRepository.getPage(first.nextCursor(), PAGE_SIZE);
+        Repository.Page<Project> last = projectRepository.getPage(second.nextCursor(), PAGE_SIZE);
+        assertEquals(List.of("P7"), getIDs(last));
+        assertFalse(last.hasNext());
+        assertEquals(2, last.number());
+
+        Repository.Page<Project> back = projectRepository.getPage(last.previousCursor(), PAGE_SIZE);
+        assertEquals(getIDs(second), getIDs(back));
+        assertEquals(List.of("P4", "P5", "P6"), getIDs(back));
+    }
+
+    /**
+     * Test that a last page that is exactly full has no page after it.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    @Test
+    @DisplayName("Full last page")
+    public void fullLastPageTest() throws ModelAlreadyExistsException {
+        addProjects(6);
+
+        Repository.Page<Project> last = projectRepository.getPage(projectRepository.getPageCursor(1, PAGE_SIZE), PAGE_SIZE);
+
+        assertEquals(List.of("P4", "P5", "P6"), getIDs(last));
+        assertFalse(last.hasNext());
+        assertEquals(2, last.pageCount());
+    }
+
+    /**
+     * Test that jumping to a page past the end, or before the start, gives the last or first page.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    @Test
+    @DisplayName("Jump past the end")
+    public void jumpPastEndTest() throws ModelAlreadyExistsException {
+        addProjects(7);
+
+        assertEquals(6, projectRepository.getPageCursor(10, PAGE_SIZE));
+        assertEquals(0, projectRepository.getPageCursor(-1, PAGE_SIZE));
+        assertEquals(List.of("P7"), getIDs(projectRepository.getPage(projectRepository.getPageCursor(10, PAGE_SIZE), PAGE_SIZE)));
+        assertThrows(IllegalArgumentException.class, () -> projectRepository.getPage(0, 0));
+    }
+
+    /**
+     * Test paging through the projects of one supervisor, including jumping past the end of their pages.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    @Test
+    @DisplayName("Pages of an index")
+    public void indexPagesTest() throws ModelAlreadyExistsException {
+        addProjects(7);
+
+        Repository.Page<Project> first = projectRepository.findPageByIndex(ProjectRepository.SUPERVISOR_ID, "BOAN001", 0, PAGE_SIZE);
+        assertEquals(List.of("P1", "P3", "P5"), getIDs(first));
+        assertEquals(2, first.pageCount());
+
+        int cursor = projectRepository.findPageCursorByIndex(ProjectRepository.SUPERVISOR_ID, "BOAN001", 9, PAGE_SIZE);
+        assertEquals(first.nextCursor(), cursor);
+        Repository.Page<Project> last = projectRepository.findPageByIndex(ProjectRepository.SUPERVISOR_ID, "BOAN001", cursor, PAGE_SIZE);
+        assertEquals(List.of("P7"), getIDs(last));
+        assertFalse(last.hasNext());
+        assertEquals(1, last.number());
+        assertEquals(0, last.previousCursor());
+
+        Repository.Page<Project> other = projectRepository.findPageByIndex(ProjectRepository.SUPERVISOR_ID, "LIYI001", 0, PAGE_SIZE);
+        assertEquals(List.of("P2", "P4", "P6"), getIDs(other));
+        assertFalse(other.hasNext());
+        assertEquals(1, other.pageCount());
+    }
+}
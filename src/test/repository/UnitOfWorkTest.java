@@ -0,0 +1,325 @@
+package test.repository;
+
+import main.model.user.Supervisor;
+import main.repository.Repository;
+import main.repository.UnitOfWork;
+import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.exception.ModelNotFoundException;
+import main.utils.iocontrol.GroupCommit;
+import main.utils.iocontrol.Journal;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static main.utils.iocontrol.ObjectOutputControlCharacters.LOG_SEPARATOR_STRING;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test committing, rolling back and recovering units of work.
+ */
+public class UnitOfWorkTest {
+    /**
+     * The temporary directory that holds the repository files.
+     */
+    private Path directory;
+
+    /**
+     * This method is used to create the temporary directory before each test.
+     *
+     * @throws IOException If the directory could not be created.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("unit-of-work");
+    }
+
+    /**
+     * This method is used to delete the temporary directory and any journal left behind after each test.
+     *
+     * @throws IOException If the directory could not be deleted.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        GroupCommit.flush();
+        Files.deleteIfExists(Paths.get(Journal.JOURNAL_PATH));
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Test that the changes committed in a unit of work are saved to all the repositories.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    @Test
+    @DisplayName("Test commit")
+    public void commitTest() throws ModelAlreadyExistsException {
+        Repository<Supervisor> first = createTemporaryRepository(directory.resolve("first.txt"));
+        Repository<Supervisor> second = createTemporaryRepository(directory.resolve("second.txt"));
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            first.add(new Supervisor("BOAN001", "Bo An", "boan@ntu.edu.sg"));
+            second.add(new Supervisor("LIYI001", "Li Yi", "liyi@ntu.edu.sg"));
+            unitOfWork.commit();
+        }
+        GroupCommit.flush();
+        assertFalse(Files.exists(Paths.get(Journal.JOURNAL_PATH)));
+        assertTrue(createTemporaryRepository(directory.resolve("first.txt")).contains("BOAN001"));
+        assertTrue(createTemporaryRepository(directory.resolve("second.txt")).contains("LIYI001"));
+    }
+
+    /**
+     * Test that a unit of work that is closed without being committed saves nothing, and restores the model objects
+     * got from its repositories, even one that was changed without being passed back to its repository.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     * @throws ModelNotFoundException      If the model is not found.
+     */
+    @Test
+    @DisplayName("Test rollback")
+    public void rollbackTest() throws ModelAlreadyExistsException, ModelNotFoundException {
+        Repository<Supervisor> others = createTemporaryRepository(directory.resolve("first.txt"));
+        Repository<Supervisor> supervisors = createTemporaryRepository(directory.resolve("second.txt"));
+        supervisors.add(new Supervisor("BOAN001", "Bo An", "boan@ntu.edu.sg", "before"));
+        GroupCommit.flush();
+        UnitOfWork unitOfWork = UnitOfWork.begin();
+        others.add(new Supervisor("LIYI001", "Li Yi", "liyi@ntu.edu.sg"));
+        supervisors.getByID("BOAN001").setHashedPassword("after");
+        unitOfWork.close();
+        assertFalse(others.contains("LIYI001"));
+        assertEquals("before", supervisors.getByID("BOAN001").getHashedPassword());
+        GroupCommit.flush();
+        assertFalse(createTemporaryRepository(directory.resolve("first.txt")).contains("LIYI001"));
+    }
+
+    /**
+     * Test that a savepoint that is closed without being committed undoes only its own changes, even when a unit of
+     * work that joined it was rolled back, and that the changes made before it are still committed.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     * @throws ModelNotFoundException      If the model is not found.
+     */
+    @Test
+    @DisplayName("Test rollback of a savepoint")
+    public void savepointRollbackTest() throws ModelAlreadyExistsException, ModelNotFoundException {
+        Path file = directory.resolve("first.txt");
+        Repository<Supervisor> repository = createTemporaryRepository(file);
+        repository.add(new Supervisor("BOAN001", "Bo An", "boan@ntu.edu.sg", "before"));
+        GroupCommit.flush();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            repository.add(new Supervisor("LIYI001", "Li Yi", "liyi@ntu.edu.sg"));
+            try (UnitOfWork savepoint = UnitOfWork.savepoint()) {
+                Supervisor supervisor = repository.getByID("BOAN001");
+                supervisor.setHashedPassword("after");
+                repository.update(supervisor);
+                UnitOfWork joined = UnitOfWork.begin();
+                repository.remove("LIYI001");
+                joined.close();
+                assertThrows(IllegalStateException.class, savepoint::commit);
+            }
+            assertTrue(repository.contains("LIYI001"));
+            assertEquals("before", repository.getByID("BOAN001").getHashedPassword());
+            unitOfWork.commit();
+        }
+        GroupCommit.flush();
+        Repository<Supervisor> reloaded = createTemporaryRepository(file);
+        assertTrue(reloaded.contains("LIYI001"));
+        assertEquals("before", reloaded.getByID("BOAN001").getHashedPassword());
+    }
+
+    /**
+     * Test that a repository taking part in a unit of work is not reloaded when its file is changed on another thread,
+     * which would drop the changes kept for it, but fails the unit of work, whose rollback reloads the repository.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     * @throws ModelNotFoundException      If the model is not found.
+     * @throws InterruptedException        If the test is interrupted.
+     */
+    @Test
+    @DisplayName("Test outdated repository in a unit of work")
+    public void outdatedInUnitOfWorkTest() throws ModelAlreadyExistsException, ModelNotFoundException, InterruptedException {
+        Path file = directory.resolve("first.txt");
+        Repository<Supervisor> repository = createTemporaryRepository(file);
+        repository.add(new Supervisor("BOAN001", "Bo An", "boan@ntu.edu.sg"));
+        GroupCommit.flush();
+        Repository<Supervisor> other = createTemporaryRepository(file);
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            repository.getByID("BOAN001");
+            Thread thread = new Thread(() -> {
+                try {
+                    other.add(new Supervisor("LIYI001", "Li Yi", "liyi@ntu.edu.sg"));
+                } catch (ModelAlreadyExistsException e) {
+                    throw new IllegalStateException(e);
+                }
+                GroupCommit.flush();
+            });
+            thread.start();
+            thread.join();
+            assertThrows(IllegalStateException.class, repository::reloadIfOutdated);
+            assertThrows(IllegalStateException.class, unitOfWork::commit);
+        }
+        assertTrue(repository.contains("LIYI001"));
+    }
+
+    /**
+     * Test that counting model objects in a unit of work makes the repository take part in it, like the other
+     * queries, so a model object changed by a rule is restored when the unit of work is rolled back.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     * @throws ModelNotFoundException      If the model is not found.
+     */
+    @Test
+    @DisplayName("Test rollback after a count")
+    public void countRollbackTest() throws ModelAlreadyExistsException, ModelNotFoundException {
+        Repository<Supervisor> repository = createTemporaryRepository(directory.resolve("first.txt"));
+        repository.add(new Supervisor("BOAN001", "Bo An", "boan@ntu.edu.sg", "before"));
+        GroupCommit.flush();
+        UnitOfWork unitOfWork = UnitOfWork.begin();
+        assertEquals(1, repository.count(supervisor -> {
+            supervisor.setHashedPassword("after");
+            return true;
+        }));
+        unitOfWork.close();
+        assertEquals("before", repository.getByID("BOAN001").getHashedPassword());
+    }
+
+    /**
+     * Test that a unit of work can be committed to a repository that has not been loaded yet.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    @Test
+    @DisplayName("Test commit before the first load")
+    public void commitBeforeLoadTest() throws ModelAlreadyExistsException {
+        Path file = directory.resolve("first.txt");
+        Repository<Supervisor> repository = newTemporaryRepository(file);
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            repository.add(new Supervisor("BOAN001", "Bo An", "boan@ntu.edu.sg"));
+            unitOfWork.commit();
+        }
+        assertTrue(createTemporaryRepository(file).contains("BOAN001"));
+    }
+
+    /**
+     * Test that a change to a whole repository committed in a unit of work is saved, without copying the model
+     * objects into the journal.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    @Test
+    @DisplayName("Test commit of a whole repository")
+    public void wholeRepositoryCommitTest() throws ModelAlreadyExistsException {
+        Path file = directory.resolve("first.txt");
+        Repository<Supervisor> repository = createTemporaryRepository(file);
+        repository.add(new Supervisor("BOAN001", "Bo An", "boan@ntu.edu.sg"));
+        GroupCommit.flush();
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            repository.updateAll(List.of(new Supervisor("LIYI001", "Li Yi", "liyi@ntu.edu.sg")));
+            unitOfWork.commit();
+        }
+        GroupCommit.flush();
+        assertFalse(Files.exists(Paths.get(file + ".commit")));
+        Repository<Supervisor> reloaded = createTemporaryRepository(file);
+        assertEquals(1, reloaded.size());
+        assertTrue(reloaded.contains("LIYI001"));
+    }
+
+    /**
+     * Test that the records of a committed journal left behind are recovered the next time a repository is loaded,
+     * and that a journal that was never committed is discarded.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     * @throws IOException                 If the files could not be read or written.
+     */
+    @Test
+    @DisplayName("Test journal recovery")
+    public void journalRecoveryTest() throws ModelAlreadyExistsException, IOException {
+        Path file = directory.resolve("first.txt");
+        Path log = directory.resolve("first.log");
+        Repository<Supervisor> repository = createTemporaryRepository(file);
+        repository.add(new Supervisor("BOAN001", "Bo An", "boan@ntu.edu.sg"));
+        GroupCommit.flush();
+        List<String> records = Files.readAllLines(log, Charset.defaultCharset());
+        Files.delete(log);
+
+        Files.createDirectories(Paths.get(Journal.JOURNAL_PATH).getParent());
+        Files.writeString(Paths.get(Journal.JOURNAL_PATH), file + LOG_SEPARATOR_STRING + records.get(0) + System.lineSeparator(), Charset.defaultCharset());
+        assertFalse(createTemporaryRepository(file).contains("BOAN001"));
+        assertFalse(Files.exists(Paths.get(Journal.JOURNAL_PATH)));
+
+        Journal.write(Map.of(file.toString(), records), List.of());
+        assertTrue(createTemporaryRepository(file).contains("BOAN001"));
+        assertFalse(Files.exists(Paths.get(Journal.JOURNAL_PATH)));
+    }
+
+    /**
+     * Test that a committed journal left behind replaces a file with its commit file the next time the repository
+     * is loaded.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     * @throws IOException                 If the files could not be read or written.
+     */
+    @Test
+    @DisplayName("Test journal recovery of a whole repository")
+    public void commitFileRecoveryTest() throws ModelAlreadyExistsException, IOException {
+        Path file = directory.resolve("first.txt");
+        Path other = directory.resolve("second.txt");
+        Repository<Supervisor> repository = createTemporaryRepository(other);
+        repository.add(new Supervisor("LIYI001", "Li Yi", "liyi@ntu.edu.sg"));
+        repository.save();
+        GroupCommit.flush();
+        Files.copy(other, Paths.get(file + ".commit"));
+
+        Repository<Supervisor> replaced = createTemporaryRepository(file);
+        replaced.add(new Supervisor("BOAN001", "Bo An", "boan@ntu.edu.sg"));
+        GroupCommit.flush();
+        Journal.write(Map.of(), List.of(file.toString()));
+
+        Repository<Supervisor> reloaded = createTemporaryRepository(file);
+        assertEquals(1, reloaded.size());
+        assertTrue(reloaded.contains("LIYI001"));
+        assertFalse(Files.exists(Paths.get(file + ".commit")));
+    }
+
+    /**
+     * This method is used to create a repository of supervisors kept on a temporary file.
+     *
+     * @param file The temporary file.
+     * @return The repository, loaded from the file.
+     */
+    private static Repository<Supervisor> createTemporaryRepository(Path file) {
+        Repository<Supervisor> repository = newTemporaryRepository(file);
+        repository.load();
+        return repository;
+    }
+
+    /**
+     * This method is used to create a repository of supervisors kept on a temporary file, without loading it.
+     *
+     * @param file The temporary file.
+     * @return The repository, which is empty.
+     */
+    private static Repository<Supervisor> newTemporaryRepository(Path file) {
+        return new Repository<>() {
+            @Override
+            public String getFilePath() {
+                return file.toString();
+            }
+
+            @Override
+            protected Supervisor newMappableObject(CharSequence chars, int start, int end) {
+                return new Supervisor();
+            }
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package test.repository.project;
+
+import main.model.project.Project;
+import main.model.project.ProjectStatus;
+import main.model.user.StudentStatus;
+import main.repository.Criterion;
+import main.repository.project.ProjectRepository;
+import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.exception.ModelNotFoundException;
+import main.utils.iocontrol.GroupCommit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class is used to test the indexes of the project repository.
+ */
+public class ProjectRepositoryTest {
+    /**
+     * The temporary directory that holds the project file.
+     */
+    private Path directory;
+
+    /**
+     * The project repository under test, kept in the temporary directory rather than in the data files.
+     */
+    private ProjectRepository projectRepository;
+
+    /**
+     * This method is used to fill a project repository in a temporary directory with three projects of two
+     * supervisors before each test.
+     *
+     * @throws IOException                 If the temporary directory could not be created.
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    @BeforeEach
+    public void setUp() throws IOException, ModelAlreadyExistsException {
+        directory = Files.createTempDirectory("project-repository");
+        projectRepository = new ProjectRepository(directory.resolve("project.txt").toString());
+        projectRepository.add(new Project("P1", "Blockchain technology", "BOAN001"));
+        projectRepository.add(new Project("P2", "Computer vision", "LIYI001"));
+        projectRepository.add(new Project("P3", "Game theory", "BOAN001"));
+    }
+
+    /**
+     * This method is used to delete the temporary directory and the files in it after each test.
+     *
+     * @throws IOException If the files could not be deleted.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        GroupCommit.flush();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Test finding projects by supervisor ID, regardless of case.
+     */
+    @Test
+    @DisplayName("Find projects by supervisor")
+    public void findBySupervisorTest() {
+        assertEquals(2, projectRepository.findByIndex(ProjectRepository.SUPERVISOR_ID, "BOAN001").size());
+        assertEquals(2, projectRepository.findByIndex(ProjectRepository.SUPERVISOR_ID, "boan001").size());
+        assertEquals("P3", projectRepository.findByIndex(ProjectRepository.SUPERVISOR_ID, "BOAN001",
+                project -> project.getProjectTitle().equals("Game theory")).get(0).getID());
+        assertEquals(0, projectRepository.findByIndex(ProjectRepository.SUPERVISOR_ID, "hahaha").size());
+        assertThrows(IllegalArgumentException.class, () -> projectRepository.findByIndex("hahaha", "BOAN001"));
+    }
+
+    /**
+     * Test that the indexes follow updates and removals.
+     *
+     * @throws ModelNotFoundException If the model is not found.
+     */
+    @Test
+    @DisplayName("Indexes follow updates and removals")
+    public void indexConsistencyTest() throws ModelNotFoundException {
+        Project project = projectRepository.getByID("P1");
+        project.setSupervisorID("LIYI001");
+        project.setStudentID("FPU001");
+        projectRepository.update(project);
+        assertEquals(1, projectRepository.findByIndex(ProjectRepository.SUPERVISOR_ID, "BOAN001").size());
+        assertEquals(2, projectRepository.findByIndex(ProjectRepository.SUPERVISOR_ID, "LIYI001").size());
+        assertEquals("P1", projectRepository.findByIndex(ProjectRepository.STUDENT_ID, "FPU001").get(0).getID());
+        projectRepository.remove("P1");
+        assertEquals(0, projectRepository.findByIndex(ProjectRepository.STUDENT_ID, "FPU001").size());
+        assertEquals("P2", projectRepository.findByIndex(ProjectRepository.SUPERVISOR_ID, "LIYI001").get(0).getID());
+        assertEquals("P3", projectRepository.findByIndex(ProjectRepository.SUPERVISOR_ID, "BOAN001").get(0).getID());
+    }
+
+    /**
+     * Test finding projects by status through the bitmap index, including after a status change.
+     *
+     * @throws ModelNotFoundException If the model is not found.
+     */
+    @Test
+    @DisplayName("Find projects by status")
+    public void findByStatusTest() throws ModelNotFoundException {
+        assertEquals(3, projectRepository.getPositions(ProjectRepository.STATUS, ProjectStatus.AVAILABLE).cardinality());
+        Project project = projectRepository.getByID("P2");
+        project.setStatus(ProjectStatus.RESERVED);
+        projectRepository.update(project);
+        BitSet positions = projectRepository.getPositions(ProjectRepository.STATUS, ProjectStatus.AVAILABLE, ProjectStatus.RESERVED);
+        positions.andNot(projectRepository.getPositions(ProjectRepository.STATUS, ProjectStatus.AVAILABLE));
+        assertEquals("P2", projectRepository.findByPositions(positions).get(0).getID());
+        assertEquals(2, projectRepository.findByPositions(projectRepository.getPositions(ProjectRepository.STATUS, ProjectStatus.AVAILABLE)).size());
+        assertThrows(IllegalArgumentException.class, () -> projectRepository.getPositions(ProjectRepository.STATUS, StudentStatus.PENDING));
+    }
+
+    /**
+     * Test finding projects by criteria answered from the indexes, and the plan that is followed.
+     *
+     * @throws ModelNotFoundException If the model is not found.
+     */
+    @Test
+    @DisplayName("Find projects by criteria")
+    public void findByCriteriaTest() throws ModelNotFoundException {
+        Project project = projectRepository.getByID("P3");
+        project.setStatus(ProjectStatus.ALLOCATED);
+        projectRepository.update(project);
+        assertEquals("P3", projectRepository.findByCriteria(
+                Criterion.equalTo(ProjectRepository.SUPERVISOR_ID, "boan001"),
+                Criterion.is(ProjectRepository.STATUS, ProjectStatus.ALLOCATED)).get(0).getID());
+        assertEquals(2, projectRepository.findByCriteria(
+                Criterion.not(Criterion.is(ProjectRepository.STATUS, ProjectStatus.ALLOCATED))).size());
+        assertEquals("P2", projectRepository.findByCriteria(
+                Criterion.in(ProjectRepository.SUPERVISOR_ID, List.of("BOAN001", "LIYI001")),
+                Criterion.not(Criterion.equalTo(ProjectRepository.SUPERVISOR_ID, "BOAN001"))).get(0).getID());
+        assertEquals("P1", projectRepository.findByCriteria(
+                Criterion.equalTo(ProjectRepository.SUPERVISOR_ID, "BOAN001"),
+                Criterion.matches(p -> p.getProjectTitle().startsWith("Block"))).get(0).getID());
+        assertTrue(projectRepository.explain(
+                Criterion.equalTo(ProjectRepository.SUPERVISOR_ID, "BOAN001"),
+                Criterion.is(ProjectRepository.STATUS, ProjectStatus.AVAILABLE)).startsWith("look up supervisorID = BOAN001"));
+        assertThrows(IllegalArgumentException.class, () -> projectRepository.findByCriteria(Criterion.equalTo("hahaha", "BOAN001")));
+    }
+}
@@ -0,0 +1,163 @@
+package test.repository.project;
+
+import main.model.project.Project;
+import main.model.project.ProjectStatus;
+import main.repository.UnitOfWork;
+import main.repository.project.ProjectRepository;
+import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.exception.ModelNotFoundException;
+import main.utils.iocontrol.GroupCommit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test reserving a project with a compare-and-set on its status.
+ */
+public class ProjectReservationTest {
+    /**
+     * The number of threads that try to reserve the same project at the same time.
+     */
+    private static final int NUM_OF_THREADS = 200;
+
+    /**
+     * The temporary directory that holds the project file.
+     */
+    private Path directory;
+
+    /**
+     * The path of the project file.
+     */
+    private String filePath;
+
+    /**
+     * This method creates a project file in a temporary directory holding one available project.
+     *
+     * @throws IOException                 If the temporary directory could not be created.
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    @BeforeEach
+    public void setUp() throws IOException, ModelAlreadyExistsException {
+        directory = Files.createTempDirectory("project-reservation");
+        filePath = directory.resolve("project.txt").toString();
+        ProjectRepository projectRepository = new ProjectRepository(filePath);
+        projectRepository.add(new Project("P1", "Blockchain technology", "BOAN001"));
+        GroupCommit.flush();
+    }
+
+    /**
+     * This method deletes the temporary directory and the files in it.
+     *
+     * @throws IOException If the files could not be deleted.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        GroupCommit.flush();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Test that of many threads that try to reserve the same project at the same time, exactly one succeeds,
+     * and that the reservation is saved.
+     *
+     * @throws InterruptedException   If the test is interrupted.
+     * @throws ExecutionException     If a thread fails.
+     * @throws ModelNotFoundException If the model is not found.
+     */
+    @Test
+    @DisplayName("Exactly one of many threads reserves a project")
+    public void concurrentReservationTest() throws InterruptedException, ExecutionException, ModelNotFoundException {
+        ProjectRepository projectRepository = new ProjectRepository(filePath);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_OF_THREADS);
+        List<Future<Boolean>> results = new ArrayList<>();
+        Callable<Boolean> reserve = () -> {
+            start.await();
+            return projectRepository.compareAndSetStatus("P1", ProjectStatus.AVAILABLE, ProjectStatus.RESERVED);
+        };
+        for (int i = 0; i < NUM_OF_THREADS; i++) {
+            results.add(executor.submit(reserve));
+        }
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, succeeded);
+        GroupCommit.flush();
+        assertEquals(ProjectStatus.RESERVED, new ProjectRepository(filePath).getByID("P1").getStatus());
+    }
+
+    /**
+     * Test that the status is compared with the saved one, so that a repository that loaded the project before
+     * another repository reserved and saved it does not reserve it again.
+     *
+     * @throws ModelNotFoundException If the model is not found.
+     */
+    @Test
+    @DisplayName("Status is compared with the saved one")
+    public void savedStatusTest() throws ModelNotFoundException {
+        ProjectRepository first = new ProjectRepository(filePath);
+        ProjectRepository second = new ProjectRepository(filePath);
+
+        assertTrue(first.compareAndSetStatus("P1", ProjectStatus.AVAILABLE, ProjectStatus.RESERVED));
+        GroupCommit.flush();
+
+        assertFalse(second.compareAndSetStatus("P1", ProjectStatus.AVAILABLE, ProjectStatus.RESERVED));
+        assertEquals(ProjectStatus.RESERVED, second.getByID("P1").getStatus());
+    }
+
+    /**
+     * Test that a reservation made in a unit of work keeps another repository of the same file from comparing the
+     * status until the unit of work is saved, and that the other repository then sees the reservation.
+     *
+     * @throws InterruptedException   If the test is interrupted.
+     * @throws ExecutionException     If the other thread fails.
+     * @throws ModelNotFoundException If the model is not found.
+     */
+    @Test
+    @DisplayName("Reservation is guarded until it is saved")
+    public void guardedUntilSavedTest() throws InterruptedException, ExecutionException, ModelNotFoundException {
+        ProjectRepository first = new ProjectRepository(filePath);
+        ProjectRepository second = new ProjectRepository(filePath);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Boolean> other;
+        try (UnitOfWork unitOfWork = UnitOfWork.begin()) {
+            assertTrue(first.compareAndSetStatus("P1", ProjectStatus.AVAILABLE, ProjectStatus.RESERVED));
+            other = executor.submit(() -> second.compareAndSetStatus("P1", ProjectStatus.AVAILABLE, ProjectStatus.RESERVED));
+            assertThrows(TimeoutException.class, () -> other.get(200, TimeUnit.MILLISECONDS));
+            unitOfWork.commit();
+        }
+
+        assertFalse(other.get());
+        executor.shutdown();
+        assertEquals(ProjectStatus.RESERVED, second.getByID("P1").getStatus());
+    }
+}
@@ -0,0 +1,60 @@
+package test.repository.project;
+
+import main.model.project.Project;
+import main.model.project.ProjectStatus;
+import main.repository.project.SupervisorWorkload;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the workload of the supervisors.
+ */
+public class SupervisorWorkloadTest {
+    /**
+     * Test that every supervisor is marked as changed when the projects are loaded, including one with no
+     * students whose project was saved as unavailable, so that its availability is recomputed.
+     */
+    @Test
+    @DisplayName("Test supervisors marked as changed on load")
+    public void rebuildMarksEverySupervisorTest() {
+        Project allocated = new Project("P1", "Blockchain technology", "BOAN001");
+        allocated.setStatus(ProjectStatus.ALLOCATED);
+        Project unavailable = new Project("P2", "Computer vision", "LIYI001");
+        unavailable.setStatus(ProjectStatus.UNAVAILABLE);
+
+        SupervisorWorkload workload = new SupervisorWorkload("workload");
+        workload.rebuild(List.of(allocated, unavailable));
+
+        assertEquals(1, workload.getCount("BOAN001"));
+        assertEquals(0, workload.getCount("LIYI001"));
+        List<String> changed = workload.takeChangedSupervisorIDs();
+        assertTrue(changed.contains("boan001"));
+        assertTrue(changed.contains("liyi001"));
+        assertTrue(workload.takeChangedSupervisorIDs().isEmpty());
+
+        workload.rebuild(List.of(unavailable));
+        changed = workload.takeChangedSupervisorIDs();
+        assertTrue(changed.contains("boan001"));
+        assertTrue(changed.contains("liyi001"));
+    }
+
+    /**
+     * Test that supervisors put back after a failed update are taken again by the next update.
+     */
+    @Test
+    @DisplayName("Test supervisors put back after a failed update")
+    public void putBackTest() {
+        SupervisorWorkload workload = new SupervisorWorkload("workload");
+        workload.rebuild(List.of(new Project("P1", "Blockchain technology", "BOAN001")));
+
+        List<String> taken = workload.takeChangedSupervisorIDs();
+        workload.putBackChangedSupervisorIDs(taken);
+
+        assertEquals(List.of("boan001"), workload.takeChangedSupervisorIDs());
+        assertTrue(workload.takeChangedSupervisorIDs().isEmpty());
+    }
+}
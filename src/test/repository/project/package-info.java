@@ -0,0 +1,4 @@
+/**
+ * This package tests the project repository classes.
+ */
+package test.repository.project;
\ No newline at end of file
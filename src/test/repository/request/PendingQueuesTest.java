@@ -0,0 +1,113 @@
+package test.repository.request;
+
+import main.model.request.Request;
+import main.model.request.RequestStatus;
+import main.model.request.StudentChangeTitleRequest;
+import main.model.request.StudentDeregistrationRequest;
+import main.model.request.StudentRegistrationRequest;
+import main.model.request.TransferStudentRequest;
+import main.repository.request.PendingQueues;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the queues of the pending requests for each approver.
+ */
+public class PendingQueuesTest {
+    /**
+     * Creates the queues of a list of requests of every type, some of which are no longer pending:
+     * <ol start="0">
+     *     <li>a registration for BOAN001</li>
+     *     <li>a change of title for BOAN001</li>
+     *     <li>a transfer from BOAN001</li>
+     *     <li>a deregistration for LIYI001</li>
+     *     <li>a registration for LIYI001 that has been approved</li>
+     *     <li>a registration for BOAN001</li>
+     *     <li>a transfer from LIYI001</li>
+     * </ol>
+     *
+     * @param requests the list to fill with the requests
+     * @return the queues
+     */
+    private static PendingQueues createQueues(List<Request> requests) {
+        requests.add(new StudentRegistrationRequest("R1", "S1", "BOAN001", "P1"));
+        requests.add(new StudentChangeTitleRequest("R2", "S2", "BOAN001", "P2", "New title"));
+        requests.add(new TransferStudentRequest("R3", "P3", "BOAN001", "LIYI001", "S3"));
+        requests.add(new StudentDeregistrationRequest("R4", "S4", "LIYI001", "P4"));
+        Request approved = new StudentRegistrationRequest("R5", "S5", "LIYI001", "P5");
+        approved.setStatus(RequestStatus.APPROVED);
+        requests.add(approved);
+        requests.add(new StudentRegistrationRequest("R6", "S6", "BOAN001", "P6"));
+        requests.add(new TransferStudentRequest("R7", "P7", "LIYI001", "BOAN001", "S7"));
+        PendingQueues pendingQueues = new PendingQueues("pendingQueues");
+        pendingQueues.rebuild(requests);
+        return pendingQueues;
+    }
+
+    /**
+     * Test that the queue of the coordinator holds the pending requests other than changes of title, ordered by type
+     * and then by age, and that the queue of a supervisor holds their pending requests other than transfers.
+     */
+    @Test
+    @DisplayName("Queues are ordered by type and then by age")
+    public void queueOrderTest() {
+        PendingQueues pendingQueues = createQueues(new ArrayList<>());
+
+        assertEquals(List.of(2, 6, 0, 5, 3), pendingQueues.getCoordinatorQueue());
+        assertEquals(List.of(0, 5, 1), pendingQueues.getSupervisorQueue("BOAN001"));
+        assertEquals(List.of(3), pendingQueues.getSupervisorQueue("LIYI001"));
+        assertEquals(List.of(), pendingQueues.getSupervisorQueue("NOBODY"));
+    }
+
+    /**
+     * Test that a request leaves its queues when it is decided, and enters them again in its place if it is
+     * pending again.
+     */
+    @Test
+    @DisplayName("Queues follow status changes")
+    public void updateTest() {
+        List<Request> requests = new ArrayList<>();
+        PendingQueues pendingQueues = createQueues(requests);
+
+        requests.get(0).setStatus(RequestStatus.DENIED);
+        pendingQueues.update(0, requests.get(0));
+        requests.get(3).setStatus(RequestStatus.APPROVED);
+        pendingQueues.update(3, requests.get(3));
+
+        assertEquals(List.of(2, 6, 5), pendingQueues.getCoordinatorQueue());
+        assertEquals(List.of(5, 1), pendingQueues.getSupervisorQueue("BOAN001"));
+        assertEquals(List.of(), pendingQueues.getSupervisorQueue("LIYI001"));
+
+        requests.get(0).setStatus(RequestStatus.PENDING);
+        pendingQueues.update(0, requests.get(0));
+
+        assertEquals(List.of(2, 6, 0, 5), pendingQueues.getCoordinatorQueue());
+    }
+
+    /**
+     * Test walking a queue one request at a time, including from a request that has left the queue.
+     */
+    @Test
+    @DisplayName("Walk a queue one request at a time")
+    public void nextInQueueTest() {
+        List<Request> requests = new ArrayList<>();
+        PendingQueues pendingQueues = createQueues(requests);
+
+        assertEquals(2, pendingQueues.getNextInCoordinatorQueue(-1));
+        assertEquals(0, pendingQueues.getNextInCoordinatorQueue(6));
+        assertEquals(-1, pendingQueues.getNextInCoordinatorQueue(3));
+
+        requests.get(0).setStatus(RequestStatus.APPROVED);
+        pendingQueues.update(0, requests.get(0));
+
+        assertEquals(5, pendingQueues.getNextInCoordinatorQueue(0));
+        assertEquals(5, pendingQueues.getNextInSupervisorQueue("BOAN001", -1));
+        assertEquals(1, pendingQueues.getNextInSupervisorQueue("BOAN001", 5));
+        assertEquals(-1, pendingQueues.getNextInSupervisorQueue("NOBODY", -1));
+    }
+}
@@ -0,0 +1,148 @@
+package test.repository.request;
+
+import main.model.request.Request;
+import main.model.request.RequestStatus;
+import main.model.request.StudentDeregistrationRequest;
+import main.model.request.StudentRegistrationRequest;
+import main.repository.request.RequestRepository;
+import main.repository.request.ReservationDeadlines;
+import main.utils.config.Reservation;
+import main.utils.exception.ModelAlreadyExistsException;
+import main.utils.exception.ModelNotFoundException;
+import main.utils.iocontrol.GroupCommit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is used to test the deadlines of the pending registration requests.
+ */
+public class ReservationDeadlinesTest {
+    /**
+     * The temporary directory that holds the request file.
+     */
+    private Path directory;
+
+    /**
+     * The path of the request file.
+     */
+    private String filePath;
+
+    /**
+     * This method creates an empty request file in a temporary directory.
+     *
+     * @throws IOException If the temporary directory could not be created.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("reservation-deadlines");
+        filePath = directory.resolve("request.txt").toString();
+    }
+
+    /**
+     * This method deletes the temporary directory and the files in it.
+     *
+     * @throws IOException If the files could not be deleted.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        GroupCommit.flush();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Test that only pending registrations are scheduled, that they are due at their expiry time,
+     * and that a registration is cancelled as soon as it is no longer pending.
+     */
+    @Test
+    @DisplayName("Only pending registrations are scheduled")
+    public void pendingRegistrationsTest() {
+        StudentRegistrationRequest first = new StudentRegistrationRequest("R1", "S1", "BOAN001", "P1");
+        StudentRegistrationRequest second = new StudentRegistrationRequest("R2", "S2", "BOAN001", "P2");
+        Request deregistration = new StudentDeregistrationRequest("R3", "S3", "BOAN001", "P3");
+        ReservationDeadlines deadlines = new ReservationDeadlines("deadlines");
+        deadlines.rebuild(List.of(first, second, deregistration));
+
+        second.setStatus(RequestStatus.APPROVED);
+        deadlines.update(1, second);
+
+        long expiryTime = Math.max(first.getExpiryTime(), second.getExpiryTime());
+        assertEquals(List.of(), deadlines.takeExpired(first.getExpiryTime() - Reservation.TICK_MILLIS));
+        assertEquals(List.of("r1"), deadlines.takeExpired(expiryTime + Reservation.TICK_MILLIS));
+    }
+
+    /**
+     * Test that the deadlines saved with the requests are scheduled again when the requests are loaded
+     * after a restart, and that a registration decided before the restart is not.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     * @throws ModelNotFoundException      If the model is not found.
+     */
+    @Test
+    @DisplayName("Deadlines are recovered after a restart")
+    public void restartTest() throws ModelAlreadyExistsException, ModelNotFoundException {
+        RequestRepository requestRepository = new RequestRepository(filePath);
+        StudentRegistrationRequest pending = new StudentRegistrationRequest("R1", "S1", "BOAN001", "P1");
+        StudentRegistrationRequest decided = new StudentRegistrationRequest("R2", "S2", "BOAN001", "P2");
+        requestRepository.add(pending);
+        requestRepository.add(decided);
+        decided.setStatus(RequestStatus.DENIED);
+        requestRepository.update(decided);
+        GroupCommit.flush();
+
+        RequestRepository restarted = new RequestRepository(filePath);
+        long expiryTime = restarted.getByID("R1") instanceof StudentRegistrationRequest registration
+                ? registration.getExpiryTime() : -1;
+
+        assertEquals(pending.getExpiryTime(), expiryTime);
+        ReservationDeadlines deadlines = restarted.getReservationDeadlines();
+        assertEquals(List.of(), deadlines.takeExpired(expiryTime - Reservation.TICK_MILLIS));
+        assertEquals(List.of("r1"), deadlines.takeExpired(expiryTime + Reservation.TICK_MILLIS));
+    }
+
+    /**
+     * Test that a pending registration saved without an expiry time is given one when the requests are loaded,
+     * and that the expiry time is saved, so it is the same when the requests are loaded again.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists.
+     * @throws ModelNotFoundException      If the model is not found.
+     */
+    @Test
+    @DisplayName("A missing deadline is given once and saved")
+    public void missingExpiryTimeTest() throws ModelAlreadyExistsException, ModelNotFoundException {
+        RequestRepository requestRepository = new RequestRepository(filePath);
+        StudentRegistrationRequest legacy = new StudentRegistrationRequest("R1", "S1", "BOAN001", "P1");
+        legacy.setExpiryTime(0);
+        requestRepository.add(legacy);
+        GroupCommit.flush();
+
+        long before = System.currentTimeMillis();
+        RequestRepository restarted = new RequestRepository(filePath);
+        long expiryTime = restarted.getByID("R1") instanceof StudentRegistrationRequest registration
+                ? registration.getExpiryTime() : -1;
+        GroupCommit.flush();
+        RequestRepository restartedAgain = new RequestRepository(filePath);
+        long expiryTimeAgain = restartedAgain.getByID("R1") instanceof StudentRegistrationRequest registration
+                ? registration.getExpiryTime() : -1;
+
+        assertTrue(expiryTime >= before + Reservation.TIMEOUT_MILLIS);
+        assertEquals(expiryTime, expiryTimeAgain);
+        ReservationDeadlines deadlines = restartedAgain.getReservationDeadlines();
+        assertEquals(List.of(), deadlines.takeExpired(expiryTime - Reservation.TICK_MILLIS));
+        assertEquals(List.of("r1"), deadlines.takeExpired(expiryTime + Reservation.TICK_MILLIS));
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * This package tests the request repository classes.
+ */
+package test.repository.request;
\ No newline at end of file
@@ -1,11 +1,17 @@
 package test.repository.user;
 
 import main.model.user.Supervisor;
+import main.repository.Repository;
 import main.repository.user.FacultyRepository;
 import main.utils.exception.ModelAlreadyExistsException;
 import main.utils.exception.ModelNotFoundException;
+import main.utils.iocontrol.GroupCommit;
 import org.junit.jupiter.api.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -162,4 +168,150 @@ public class UserRepositoryTest {
         assertEquals(0, facultyRepository.findByRules(supervisor -> supervisor.getID().equals("A1234567A") && supervisor.getID().equals("12345")).size());
         assertEquals(0, facultyRepository.findByRules(supervisor -> supervisor.getID().equals("A1234567A"), supervisor -> supervisor.getID().equals("12345")).size());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test counting, finding and checking Supervisors in {@link FacultyRepository} without collecting them.
+     *
+     * @throws ModelAlreadyExistsException If the model already exists when creating the repository.
+     */
+    @Test
+    @DisplayName("Lazy Query Test")
+    public void lazyQueryTest() throws ModelAlreadyExistsException {
+        FacultyRepository facultyRepository = createFacultyList();
+        assertEquals(3, facultyRepository.count());
+        assertEquals(2, facultyRepository.count(supervisor -> supervisor.getID().equals("A1234567A") || supervisor.getID().equals("12345")));
+        assertEquals(0, facultyRepository.count(supervisor -> supervisor.getID().equals("A1234567A"), supervisor -> supervisor.getID().equals("12345")));
+        assertEquals("12345", facultyRepository.findFirst(supervisor -> supervisor.getUserName().startsWith("pu")).orElseThrow().getID());
+        assertTrue(facultyRepository.findFirst(supervisor -> supervisor.getUserName().equals("nobody")).isEmpty());
+        assertTrue(facultyRepository.exists(supervisor -> supervisor.getEmail().endsWith("ntu.edu.sg")));
+        assertFalse(facultyRepository.exists(supervisor -> supervisor.getEmail().isEmpty()));
+        assertEquals(3, facultyRepository.stream().filter(supervisor -> !supervisor.getID().isEmpty()).count());
+    }
+
+    /**
+     * Test finding Supervisors in {@link FacultyRepository} by ID regardless of case, including after a removal
+     * moves the remaining Supervisors in the list.
+     *
+     * @throws ModelNotFoundException      If the model is not found.
+     * @throws ModelAlreadyExistsException If the model already exists when creating the repository.
+     */
+    @Test
+    @DisplayName("Test get user by ID ignoring case")
+    public void getUserIgnoringCaseTest() throws ModelNotFoundException, ModelAlreadyExistsException {
+        FacultyRepository facultyRepository = createFacultyList();
+        assertEquals(supervisors[0], facultyRepository.getByID("a1234567a"));
+        assertThrows(ModelAlreadyExistsException.class, () -> facultyRepository.add(new Supervisor("a1234567a", "Lucas", "Lucas@e.ntu.edu.sg")));
+        facultyRepository.remove(supervisors[0].getID());
+        assertFalse(facultyRepository.contains("A1234567A"));
+        assertEquals(supervisors[1], facultyRepository.getByID(supervisors[1].getID()));
+        assertEquals(supervisors[2], facultyRepository.getByID(supervisors[2].getID()));
+    }
+
+    /**
+     * Test that additions, updates and removals made to {@link FacultyRepository} are found again
+     * when the repository is loaded from its file.
+     *
+     * @throws ModelNotFoundException      If the model is not found.
+     * @throws ModelAlreadyExistsException If the model already exists when creating the repository.
+     */
+    @Test
+    @DisplayName("Test reload user")
+    public void reloadUserTest() throws ModelNotFoundException, ModelAlreadyExistsException {
+        FacultyRepository facultyRepository = createFacultyList();
+        Supervisor supervisor = facultyRepository.getByID(supervisors[2].getID());
+        supervisor.setHashedPassword("new password");
+        facultyRepository.update(supervisor);
+        facultyRepository.remove(supervisors[1].getID());
+        FacultyRepository reloadedRepository = new FacultyRepository();
+        assertEquals(2, reloadedRepository.size());
+        assertFalse(reloadedRepository.contains(supervisors[1].getID()));
+        assertEquals("new password", reloadedRepository.getByID(supervisors[2].getID()).getHashedPassword());
+        assertEquals(supervisors[0].getID(), reloadedRepository.getList().get(0).getID());
+    }
+
+    /**
+     * Test that a change appended to the file by another repository is not hidden by a change appended after it,
+     * so both repositories see both changes once they reload the file.
+     * The repositories are kept on a temporary file.
+     *
+     * @throws IOException                 If the temporary file cannot be created or deleted.
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    @Test
+    @DisplayName("Test changes appended by another repository")
+    public void appendedElsewhereTest() throws IOException, ModelAlreadyExistsException {
+        Path file = Files.createTempFile("faculty", ".txt");
+        try {
+            Repository<Supervisor> first = createTemporaryRepository(file);
+            Repository<Supervisor> second = createTemporaryRepository(file);
+            first.add(supervisors[0]);
+            GroupCommit.flush();
+            second.add(supervisors[1]);
+            GroupCommit.flush();
+            assertTrue(second.isOutdated());
+            second.reloadIfOutdated();
+            assertEquals(2, second.size());
+            assertTrue(first.isOutdated());
+            first.reloadIfOutdated();
+            assertEquals(2, first.size());
+            assertFalse(first.isOutdated());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(file.resolveSibling(file.getFileName().toString().replace(".txt", ".log")));
+        }
+    }
+
+    /**
+     * Test that a change that could not be saved in the background is reported on the thread that next changes
+     * the repository, and is not passed over in silence.
+     * The repository is kept in a temporary directory, which is replaced by a file so that it cannot be written.
+     *
+     * @throws IOException                 If the temporary directory cannot be created or deleted.
+     * @throws InterruptedException        If the test is interrupted while waiting for the background flush.
+     * @throws ModelAlreadyExistsException If the model already exists.
+     */
+    @Test
+    @DisplayName("Test failed background save is reported")
+    public void backgroundFailureTest() throws IOException, InterruptedException, ModelAlreadyExistsException {
+        Path directory = Files.createTempDirectory("faculty");
+        Path file = directory.resolve("faculty.txt");
+        try {
+            Repository<Supervisor> repository = createTemporaryRepository(file);
+            Files.delete(file);
+            Files.delete(directory);
+            Files.createFile(directory);
+            repository.add(supervisors[0]);
+            Thread.sleep(200);
+            assertThrows(RuntimeException.class, () -> repository.add(supervisors[1]));
+            assertThrows(RuntimeException.class, GroupCommit::flush);
+            assertDoesNotThrow(() -> GroupCommit.flush());
+        } finally {
+            if (Files.isDirectory(directory)) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * This method is used to create a repository of supervisors kept on a temporary file.
+     *
+     * @param file The temporary file.
+     * @return The repository, loaded from the file.
+     */
+    private static Repository<Supervisor> createTemporaryRepository(Path file) {
+        Repository<Supervisor> repository = new Repository<>() {
+            @Override
+            public String getFilePath() {
+                return file.toString();
+            }
+
+            @Override
+            protected Supervisor newMappableObject(CharSequence chars, int start, int end) {
+                return new Supervisor();
+            }
+        };
+        repository.load();
+        return repository;
+    }
+}
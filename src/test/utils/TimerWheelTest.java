@@ -0,0 +1,85 @@
+package test.utils;
+
+import main.utils.scheduling.TimerWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the {@link TimerWheel} class.
+ */
+public class TimerWheelTest {
+    /**
+     * The length of a tick in milliseconds.
+     */
+    private static final long TICK_MILLIS = 10;
+
+    /**
+     * The number of ticks that the wheel covers.
+     */
+    private static final int WHEEL_SIZE = 4;
+
+    /**
+     * Test that keys are given back once their deadline has passed, in order of deadline, and only once.
+     */
+    @Test
+    @DisplayName("Keys are due in order of deadline")
+    public void advanceTest() {
+        TimerWheel<String> timerWheel = new TimerWheel<>(TICK_MILLIS, WHEEL_SIZE, 0);
+        timerWheel.schedule("B", 25);
+        timerWheel.schedule("A", 12);
+        timerWheel.schedule("C", 30);
+
+        assertEquals(List.of(), timerWheel.advance(19));
+        assertEquals(List.of("A"), timerWheel.advance(20));
+        assertEquals(List.of("B", "C"), timerWheel.advance(35));
+        assertEquals(List.of(), timerWheel.advance(100));
+        assertFalse(timerWheel.isScheduled("A"));
+    }
+
+    /**
+     * Test that keys due later than the wheel covers are kept aside and come up at their deadline,
+     * even when the wheel is turned past many empty ticks at once.
+     */
+    @Test
+    @DisplayName("Keys beyond the wheel are due at their deadline")
+    public void keptAsideTest() {
+        TimerWheel<String> timerWheel = new TimerWheel<>(TICK_MILLIS, WHEEL_SIZE, 0);
+        timerWheel.schedule("far", 1000);
+        timerWheel.schedule("farther", 5000);
+
+        assertEquals(List.of(), timerWheel.advance(990));
+        assertTrue(timerWheel.isScheduled("far"));
+        assertEquals(List.of("far"), timerWheel.advance(1000));
+        assertEquals(List.of("farther"), timerWheel.advance(1_000_000));
+    }
+
+    /**
+     * Test that a cancelled key is not given back, that a key scheduled again is due at its new deadline only,
+     * and that a deadline that has already passed is due at the next tick.
+     */
+    @Test
+    @DisplayName("Cancel and schedule again")
+    public void cancelAndRescheduleTest() {
+        TimerWheel<String> timerWheel = new TimerWheel<>(TICK_MILLIS, WHEEL_SIZE, 100);
+        timerWheel.schedule("A", 120);
+        timerWheel.schedule("B", 500);
+        timerWheel.schedule("C", 50);
+
+        assertTrue(timerWheel.cancel("A"));
+        assertFalse(timerWheel.cancel("A"));
+        timerWheel.schedule("B", 130);
+
+        assertEquals(List.of("C"), timerWheel.advance(110));
+        assertEquals(List.of("B"), timerWheel.advance(130));
+        assertEquals(List.of(), timerWheel.advance(600));
+
+        timerWheel.schedule("D", 700);
+        timerWheel.clear();
+        assertFalse(timerWheel.isScheduled("D"));
+        assertEquals(List.of(), timerWheel.advance(800));
+    }
+}